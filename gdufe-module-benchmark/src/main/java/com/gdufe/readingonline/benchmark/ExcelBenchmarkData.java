@@ -0,0 +1,258 @@
+package com.gdufe.readingonline.benchmark;
+
+import com.gdufe.readingonline.service.excelUploadAndPrase.reader.ExcelSheetRow;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Excel解析基准测试的数据生成器
+ * 按畅想之星和京东两种表格格式生成固定随机种子的图书数据，可以生成行数据、内存中的工作簿或磁盘上的xlsx文件，
+ * 同样的参数每次生成的内容相同，不同运行之间的结果可以直接比较
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public final class ExcelBenchmarkData {
+    
+    /**
+     * 畅想之星格式
+     */
+    public static final String CHANGXIANG = "changxiang";
+    
+    /**
+     * 京东格式
+     */
+    public static final String JINGDONG = "jingdong";
+    
+    private static final String[] CHANGXIANG_HEADER = {
+        "主题名", "第一责任者", "第二责任者", "出版社", "ISBN", "中图法分类", "学科分类", "简介", "URL", "出版时间"
+    };
+    
+    private static final String[] JINGDONG_HEADER = {
+        "书名", "ISBN", "著者", "出版社", "一级分类", "二级分类", "出版时间", "URL链接", "简介"
+    };
+    
+    private static final String[] TITLES = {
+        "经济学原理", "管理学", "会计学基础", "货币金融学", "统计学", "民法学", "中国近代史纲要", "现代汉语",
+        "数据结构与算法分析", "市场营销学", "财务管理", "国际贸易实务", "计量经济学", "审计学", "人力资源管理"
+    };
+    
+    private static final String[] AUTHORS = {
+        "曼昆", "周三多", "陈国辉", "米什金", "贾俊平", "王利明", "李宗桂", "黄伯荣", "马克·艾伦·维斯", "科特勒", "荆新", "黎孝先"
+    };
+    
+    private static final String[] PRESSES = {
+        "北京大学出版社", "高等教育出版社", "中国人民大学出版社", "机械工业出版社", "清华大学出版社", "东北财经大学出版社"
+    };
+    
+    private static final String[] CLASSIFICATIONS = {
+        "F0", "C93", "F230", "F820", "C8", "D923", "K25", "H102", "TP311.12", "F713.50", "F275", "F740.4"
+    };
+    
+    private static final String[] SUBJECTS = {
+        "经济学", "管理学", "法学", "历史学", "文学", "工学"
+    };
+    
+    private static final String[] PRIMARY_CATEGORIES = {
+        "社会科学", "小说", "教材教辅", "科学新知", "文学", "经济管理", "少儿", "进口原版", "计算机", "生活休闲", "成功励志",
+        "历史考古", "艺术摄影", "外语学习", "政治军事", "人物传记", "家教育儿", "中外名著", "漫画杂志", "职场进阶", "互联网+", "影视原著"
+    };
+    
+    private static final String[] SECONDARY_CATEGORIES = {
+        "经济学理论", "企业管理", "会计", "金融投资", "统计", "法律", "中国史", "语言文字", "程序设计", "市场营销"
+    };
+    
+    private static final String INTRODUCTION =
+        "本书系统介绍了该学科的基本概念、基本理论和基本方法，结合大量案例说明理论在实践中的应用，"
+        + "每章附有思考题和延伸阅读，适合高等院校相关专业本科生和研究生作为教材使用，也可供相关从业人员参考。";
+    
+    private ExcelBenchmarkData() {
+    }
+    
+    /**
+     * 获取标题行
+     * 
+     * @param layout 表格格式（changxiang、jingdong）
+     * @return 标题行各列的值
+     */
+    public static String[] header(String layout) {
+        return (CHANGXIANG.equals(layout) ? CHANGXIANG_HEADER : JINGDONG_HEADER).clone();
+    }
+    
+    /**
+     * 生成数据行（不含标题行）
+     * 出版时间在畅想之星格式中是读取器转换后的yyyy-MM-dd，在京东格式中混合了三种常见写法
+     * 
+     * @param layout 表格格式（changxiang、jingdong）
+     * @param rowCount 行数
+     * @return 每行各列的值
+     */
+    public static String[][] rows(String layout, int rowCount) {
+        Random random = new Random(20250101L + rowCount);
+        String[][] rows = new String[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = CHANGXIANG.equals(layout) ? changxiangRow(random, i) : jingdongRow(random, i);
+        }
+        return rows;
+    }
+    
+    /**
+     * 生成与读取器输出相同的行对象，第0行为标题行
+     * 
+     * @param layout 表格格式（changxiang、jingdong）
+     * @param rowCount 数据行数
+     * @return 标题行和数据行
+     */
+    public static List<ExcelSheetRow> sheetRows(String layout, int rowCount) {
+        List<ExcelSheetRow> sheetRows = new ArrayList<>(rowCount + 1);
+        sheetRows.add(new ExcelSheetRow(0, header(layout)));
+        String[][] rows = rows(layout, rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            sheetRows.add(new ExcelSheetRow(i + 1, rows[i]));
+        }
+        return sheetRows;
+    }
+    
+    /**
+     * 生成内存中的xlsx工作簿
+     * 
+     * @param layout 表格格式（changxiang、jingdong）
+     * @param rowCount 数据行数
+     * @return 只有一个工作表的工作簿
+     */
+    public static XSSFWorkbook workbook(String layout, int rowCount) {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        fillSheet(workbook, layout, rowCount);
+        return workbook;
+    }
+    
+    /**
+     * 以流式方式生成xlsx文件，生成过程中只在内存中保留少量行
+     * 
+     * @param layout 表格格式（changxiang、jingdong）
+     * @param rowCount 数据行数
+     * @return 临时文件路径，使用完毕后由调用方删除
+     * @throws IOException 写入失败
+     */
+    public static Path writeWorkbook(String layout, int rowCount) throws IOException {
+        Path path = Files.createTempFile("gdufe-benchmark-" + layout + "-" + rowCount + "-", ".xlsx");
+        SXSSFWorkbook workbook = new SXSSFWorkbook(1000);
+        try (OutputStream out = Files.newOutputStream(path)) {
+            fillSheet(workbook, layout, rowCount);
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+        return path;
+    }
+    
+    /**
+     * 写入标题行和数据行
+     * 畅想之星格式的出版时间写成日期单元格，ISBN每隔几行写成数值单元格，与实际导出文件一致
+     */
+    private static void fillSheet(Workbook workbook, String layout, int rowCount) {
+        Sheet sheet = workbook.createSheet("Sheet1");
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+        boolean changxiang = CHANGXIANG.equals(layout);
+        int isbnColumn = changxiang ? 4 : 1;
+        int dateColumn = changxiang ? 9 : -1;
+        
+        String[] header = header(layout);
+        Row headerRow = sheet.createRow(0);
+        for (int col = 0; col < header.length; col++) {
+            headerRow.createCell(col).setCellValue(header[col]);
+        }
+        
+        String[][] rows = rows(layout, rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            Row row = sheet.createRow(i + 1);
+            String[] values = rows[i];
+            for (int col = 0; col < values.length; col++) {
+                String value = values[col];
+                if (value == null) {
+                    continue;
+                }
+                Cell cell = row.createCell(col);
+                if (col == dateColumn) {
+                    cell.setCellValue(LocalDate.parse(value));
+                    cell.setCellStyle(dateStyle);
+                } else if (col == isbnColumn && i % 4 == 0) {
+                    cell.setCellValue(Double.parseDouble(value));
+                } else {
+                    cell.setCellValue(value);
+                }
+            }
+        }
+    }
+    
+    private static String[] changxiangRow(Random random, int index) {
+        String[] row = new String[CHANGXIANG_HEADER.length];
+        row[0] = pick(random, TITLES) + "（第" + (1 + random.nextInt(12)) + "版）";
+        row[1] = pick(random, AUTHORS);
+        // 约三分之一的图书有第二责任者
+        row[2] = random.nextInt(3) == 0 ? pick(random, AUTHORS) + "译" : null;
+        row[3] = pick(random, PRESSES);
+        row[4] = isbn(index);
+        row[5] = pick(random, CLASSIFICATIONS);
+        row[6] = pick(random, SUBJECTS);
+        row[7] = introduction(random);
+        row[8] = "https://www.cxstar.com/Book/Detail?ruid=" + (1_000_000 + index);
+        row[9] = publishDate(random).toString();
+        return row;
+    }
+    
+    private static String[] jingdongRow(Random random, int index) {
+        String[] row = new String[JINGDONG_HEADER.length];
+        row[0] = pick(random, TITLES) + "（第" + (1 + random.nextInt(12)) + "版）";
+        row[1] = isbn(index);
+        row[2] = pick(random, AUTHORS);
+        row[3] = pick(random, PRESSES);
+        // 少数行的一级分类写成数字
+        row[4] = random.nextInt(10) == 0 ? String.valueOf(1 + random.nextInt(22)) : pick(random, PRIMARY_CATEGORIES);
+        row[5] = pick(random, SECONDARY_CATEGORIES);
+        LocalDate date = publishDate(random);
+        switch (random.nextInt(3)) {
+            case 0 -> row[6] = date.toString();
+            case 1 -> row[6] = date.getYear() + "/" + date.getMonthValue() + "/" + date.getDayOfMonth();
+            default -> row[6] = date.getYear() + "年" + date.getMonthValue() + "月" + date.getDayOfMonth() + "日";
+        }
+        row[7] = "https://e.jd.com/" + (30_000_000 + index) + ".html";
+        row[8] = introduction(random);
+        return row;
+    }
+    
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+    
+    private static String isbn(int index) {
+        return "978" + String.format("%010d", 7_300_000_000L + index);
+    }
+    
+    private static LocalDate publishDate(Random random) {
+        return LocalDate.of(1995 + random.nextInt(30), 1 + random.nextInt(12), 1 + random.nextInt(28));
+    }
+    
+    /**
+     * 简介长度在原文的一半到全部之间，每行都是新的字符串
+     */
+    private static String introduction(Random random) {
+        return INTRODUCTION.substring(0, INTRODUCTION.length() / 2 + random.nextInt(INTRODUCTION.length() / 2));
+    }
+}
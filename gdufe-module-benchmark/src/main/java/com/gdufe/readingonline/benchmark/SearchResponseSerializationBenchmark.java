@@ -0,0 +1,139 @@
+package com.gdufe.readingonline.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.gdufe.readingonline.controller.admin.vo.ApiResponseVO;
+import com.gdufe.readingonline.controller.admin.vo.BookListItemVO;
+import com.gdufe.readingonline.controller.admin.vo.PageDataVO;
+import com.gdufe.readingonline.controller.admin.vo.PageInfoVO;
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按书名搜索的响应构建和序列化基准测试
+ * 对比原来逐行构建HashMap的方式和record VO的方式（分别使用默认ObjectMapper和注册了Blackbird的ObjectMapper）
+ * 
+ * 运行方式：mvn -pl gdufe-module-benchmark -am package，然后执行
+ * java -jar gdufe-module-benchmark/target/benchmarks.jar SearchResponseSerializationBenchmark -prof gc
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchResponseSerializationBenchmark {
+    
+    /**
+     * 每页图书数量
+     */
+    @Param({"10", "100"})
+    private int pageSize;
+    
+    private List<GdufeLibraryEbookDO> records;
+    
+    private ObjectMapper defaultMapper;
+    
+    private ObjectMapper blackbirdMapper;
+    
+    @Setup
+    public void setUp() {
+        records = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            GdufeLibraryEbookDO book = new GdufeLibraryEbookDO();
+            book.setId((long) i + 1);
+            book.setBookName("经济学原理（第" + (i + 1) + "版）");
+            book.setBookIsbn(String.format("97873010%05d", i));
+            book.setBookAuthor("曼昆");
+            book.setBookPress("北京大学出版社");
+            book.setBookUrl("https://www.cxstar.com/Book/Detail?ruid=" + (100000 + i));
+            book.setBookSource(i % 2);
+            book.setBookPictureUrl("https://img.cxstar.com/cover/" + (100000 + i) + ".jpg");
+            records.add(book);
+        }
+        defaultMapper = new ObjectMapper();
+        blackbirdMapper = new ObjectMapper().registerModule(new BlackbirdModule());
+    }
+    
+    /**
+     * 原来的方式：每本图书、分页信息和外层结果都构建HashMap
+     */
+    @Benchmark
+    public byte[] mapResponse() throws Exception {
+        List<Map<String, Object>> bookList = new ArrayList<>();
+        for (GdufeLibraryEbookDO book : records) {
+            Map<String, Object> bookInfo = new HashMap<>();
+            bookInfo.put("bookName", book.getBookName());
+            bookInfo.put("bookIsbn", book.getBookIsbn());
+            bookInfo.put("bookAuthor", book.getBookAuthor());
+            bookInfo.put("bookPress", book.getBookPress());
+            bookInfo.put("bookUrl", book.getBookUrl());
+            bookInfo.put("bookSource", book.getBookSource() == 0 ? "畅想之星" : "京东");
+            bookInfo.put("bookPictureUrl", book.getBookPictureUrl());
+            bookList.add(bookInfo);
+        }
+        
+        Map<String, Object> pageInfo = new HashMap<>();
+        pageInfo.put("current", 1L);
+        pageInfo.put("size", (long) pageSize);
+        pageInfo.put("total", 1000L);
+        pageInfo.put("pages", (1000L + pageSize - 1) / pageSize);
+        pageInfo.put("hasNext", true);
+        pageInfo.put("hasPrevious", false);
+        
+        Map<String, Object> data = new HashMap<>();
+        data.put("list", bookList);
+        data.put("pageInfo", pageInfo);
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("code", 200);
+        result.put("message", "搜索成功");
+        result.put("data", data);
+        return defaultMapper.writeValueAsBytes(result);
+    }
+    
+    /**
+     * record VO，默认ObjectMapper
+     */
+    @Benchmark
+    public byte[] recordResponse() throws Exception {
+        return defaultMapper.writeValueAsBytes(buildRecordResponse());
+    }
+    
+    /**
+     * record VO，注册了Blackbird的ObjectMapper（与应用中的配置一致）
+     */
+    @Benchmark
+    public byte[] recordResponseBlackbird() throws Exception {
+        return blackbirdMapper.writeValueAsBytes(buildRecordResponse());
+    }
+    
+    private ApiResponseVO<PageDataVO<BookListItemVO, PageInfoVO>> buildRecordResponse() {
+        List<BookListItemVO> bookList = new ArrayList<>(records.size());
+        for (GdufeLibraryEbookDO book : records) {
+            bookList.add(new BookListItemVO(book.getBookName(), book.getBookIsbn(), book.getBookAuthor(),
+                book.getBookPress(), book.getBookUrl(), book.getBookSource() == 0 ? "畅想之星" : "京东",
+                book.getBookPictureUrl()));
+        }
+        return ApiResponseVO.success("搜索成功", new PageDataVO<>(bookList, PageInfoVO.of(1, pageSize, 1000)));
+    }
+}
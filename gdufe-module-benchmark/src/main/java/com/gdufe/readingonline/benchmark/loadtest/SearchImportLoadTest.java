@@ -0,0 +1,275 @@
+package com.gdufe.readingonline.benchmark.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 搜索与导入混合负载测试
+ * 多个客户端并发请求按书名搜索、按分类查询和随机图书接口，同时另有客户端循环上传Excel导入，
+ * 结束后按接口输出请求数、错误数、吞吐量和延迟分位数
+ * 
+ * 对比虚拟线程模式时，分别以两种方式启动服务并使用相同参数运行本测试：
+ * java -Dspring.threads.virtual.enabled=false -jar gdufe-module-server.jar
+ * java -Dspring.threads.virtual.enabled=true -Djdk.tracePinnedThreads=short -jar gdufe-module-server.jar
+ * 
+ * 运行方式（打包benchmark模块后）：
+ * java -cp gdufe-module-benchmark/target/benchmarks.jar com.gdufe.readingonline.benchmark.loadtest.SearchImportLoadTest \
+ *     --base-url=http://127.0.0.1:8081 --search-clients=400 --duration-seconds=60 \
+ *     --import-clients=2 --import-file=/path/to/books.xlsx --file-source=0
+ * 导入文件的来源（--file-source）为0（畅想之星）或1（京东），需与文件的表头格式一致
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public class SearchImportLoadTest {
+    
+    private static final String[] KEYWORDS = {
+        "经济", "管理", "会计", "金融", "统计", "法律", "历史", "文学", "计算机", "数据", "市场营销", "中国"
+    };
+    
+    private final String baseUrl;
+    private final int searchClients;
+    private final int importClients;
+    private final Path importFile;
+    private final String fileSource;
+    private final long durationMillis;
+    private final HttpClient httpClient;
+    
+    public SearchImportLoadTest(String baseUrl, int searchClients, int importClients, Path importFile, String fileSource,
+                                long durationSeconds) {
+        this.baseUrl = baseUrl;
+        this.searchClients = searchClients;
+        this.importClients = importFile == null ? 0 : importClients;
+        this.importFile = importFile;
+        this.fileSource = fileSource;
+        this.durationMillis = durationSeconds * 1000;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String importFile = options.get("import-file");
+        SearchImportLoadTest loadTest = new SearchImportLoadTest(
+            options.getOrDefault("base-url", "http://127.0.0.1:8081"),
+            Integer.parseInt(options.getOrDefault("search-clients", "200")),
+            Integer.parseInt(options.getOrDefault("import-clients", "1")),
+            importFile == null ? null : Path.of(importFile),
+            options.getOrDefault("file-source", "0"),
+            Long.parseLong(options.getOrDefault("duration-seconds", "60")));
+        loadTest.run();
+    }
+    
+    /**
+     * 运行测试并输出结果
+     */
+    public void run() throws Exception {
+        System.out.printf("目标：%s，搜索客户端：%d，导入客户端：%d，持续：%ds%n",
+            baseUrl, searchClients, importClients, durationMillis / 1000);
+        
+        byte[] importBytes = importFile == null ? null : Files.readAllBytes(importFile);
+        long deadline = System.currentTimeMillis() + durationMillis;
+        
+        // 每个客户端一个虚拟线程，客户端自身不会成为瓶颈
+        List<Future<Map<String, Recorder>>> futures = new ArrayList<>();
+        long startNanos = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < searchClients; i++) {
+                futures.add(clients.submit(() -> runSearchClient(deadline)));
+            }
+            for (int i = 0; i < importClients; i++) {
+                futures.add(clients.submit(() -> runImportClient(deadline, importBytes)));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        
+        Map<String, Recorder> merged = new HashMap<>();
+        for (Future<Map<String, Recorder>> future : futures) {
+            future.get().forEach((name, recorder) -> merged.computeIfAbsent(name, key -> new Recorder()).merge(recorder));
+        }
+        
+        System.out.printf("%-10s %8s %7s %9s %9s %9s %9s %9s%n",
+            "接口", "请求数", "错误数", "吞吐(/s)", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+        merged.keySet().stream().sorted().forEach(name -> merged.get(name).print(name, elapsedSeconds));
+    }
+    
+    /**
+     * 搜索客户端：依次随机请求按书名搜索、按分类查询和随机图书接口
+     */
+    private Map<String, Recorder> runSearchClient(long deadline) {
+        Map<String, Recorder> recorders = new HashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.currentTimeMillis() < deadline) {
+            String name;
+            String path;
+            int choice = random.nextInt(10);
+            if (choice < 6) {
+                name = "name";
+                String keyword = KEYWORDS[random.nextInt(KEYWORDS.length)];
+                path = "/gdufeReadingOnline/search/books/name?name=" + URLEncoder.encode(keyword, StandardCharsets.UTF_8)
+                    + "&page=" + (1 + random.nextInt(20)) + "&size=10";
+            } else if (choice < 9) {
+                name = "category";
+                path = "/gdufeReadingOnline/search/books/category?category=" + random.nextInt(23)
+                    + "&page=" + (1 + random.nextInt(20)) + "&size=10";
+            } else {
+                name = "random";
+                path = "/gdufeReadingOnline/search/books/random";
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+            send(request, recorders.computeIfAbsent(name, key -> new Recorder()));
+        }
+        return recorders;
+    }
+    
+    /**
+     * 导入客户端：循环以同步方式上传同一个Excel文件
+     */
+    private Map<String, Recorder> runImportClient(long deadline, byte[] importBytes) {
+        Map<String, Recorder> recorders = new HashMap<>();
+        Recorder recorder = recorders.computeIfAbsent("import", key -> new Recorder());
+        String fileName = importFile.getFileName().toString();
+        while (System.currentTimeMillis() < deadline) {
+            String boundary = "----gdufe-load-test-" + UUID.randomUUID();
+            Map<String, String> fields = new HashMap<>();
+            fields.put("fileName", fileName);
+            fields.put("fileSize", String.valueOf(importBytes.length));
+            fields.put("fileSource", fileSource);
+            fields.put("excelCategory", "0");
+            fields.put("async", "false");
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/gdufeReadingOnline/manage/upload-excel"))
+                .timeout(Duration.ofMinutes(10))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                    buildMultipartBody(boundary, fields, "excelFile", fileName, importBytes)))
+                .build();
+            send(request, recorder);
+        }
+        return recorders;
+    }
+    
+    private void send(HttpRequest request, Recorder recorder) {
+        long startNanos = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        recorder.record(System.nanoTime() - startNanos, success);
+    }
+    
+    private static byte[] buildMultipartBody(String boundary, Map<String, String> fields,
+                                             String fileField, String fileName, byte[] fileBytes) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(fileBytes.length + 1024);
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            writeString(body, "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + field.getKey() + "\"\r\n\r\n"
+                + field.getValue() + "\r\n");
+        }
+        writeString(body, "--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"" + fileField + "\"; filename=\"" + fileName + "\"\r\n"
+            + "Content-Type: " + excelContentType(fileName) + "\r\n\r\n");
+        body.writeBytes(fileBytes);
+        writeString(body, "\r\n--" + boundary + "--\r\n");
+        return body.toByteArray();
+    }
+    
+    /**
+     * 上传接口只接受Excel的Content-Type，按扩展名设置
+     */
+    private static String excelContentType(String fileName) {
+        return fileName.toLowerCase().endsWith(".xls")
+            ? "application/vnd.ms-excel"
+            : "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    }
+    
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        out.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("参数格式应为--name=value：" + arg);
+            }
+            int index = arg.indexOf('=');
+            options.put(arg.substring(2, index), arg.substring(index + 1));
+        }
+        return options;
+    }
+    
+    /**
+     * 单个客户端、单个接口的延迟记录，只由一个线程写入
+     */
+    private static class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        
+        void record(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+        
+        void merge(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+        
+        void print(String name, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-10s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name, count, errors, count / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+        
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.benchmark.ExcelBenchmarkData;
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.dal.mysqlmapper.GdufeLibraryEbookMapper;
+import com.gdufe.readingonline.service.excelUploadAndPrase.reader.ExcelSheetRow;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量写入方式基准测试
+ * 在真实的MySQL上比较两种写入方式（gdufe.import.write-mode）：multi-values每批拼接成一条多行INSERT，
+ * jdbc-batch逐条添加单行语句由驱动的rewriteBatchedStatements合并发送；
+ * 每次操作按导入的默认批次大小（5000条）调用ExcelParseServiceImpl.upsertEbooks写入10万或100万条记录，结果为整次写入的耗时
+ * 
+ * insert场景每次写入前清空表，全部是新增；update场景表中已有相同ISBN的记录，每次写入的书名不同，全部走ON DUPLICATE KEY UPDATE
+ * 
+ * 默认使用Testcontainers启动MySQL 8.0（需要Docker）；也可以用-Dgdufe.benchmark.jdbc-url（及jdbc-username、jdbc-password）
+ * 指定一个已有的数据库，基准测试会在其中创建并清空gdufe_library_ebook表，不要指向业务库
+ * 
+ * 运行方式：mvn -pl gdufe-module-benchmark -am package，然后执行
+ * java -jar gdufe-module-benchmark/target/benchmarks.jar EbookWriteModeBenchmark
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class EbookWriteModeBenchmark {
+    
+    /**
+     * 与gdufe.import.batch-size的默认值一致
+     */
+    private static final int BATCH_SIZE = 5000;
+    
+    private static final EbookColumnPlan.FieldIssueListener IGNORE_FIELD_ISSUES = (rowNumber, reason, detail) -> {
+    };
+    
+    /**
+     * 与导入连接池的驱动参数一致
+     */
+    private static final String DRIVER_PROPERTIES = "rewriteBatchedStatements=true&cachePrepStmts=true"
+        + "&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048&useSSL=false&allowPublicKeyRetrieval=true";
+    
+    /**
+     * 写入方式
+     */
+    @Param({"multi-values", "jdbc-batch"})
+    private String writeMode;
+    
+    /**
+     * 写入的记录数
+     */
+    @Param({"100000", "1000000"})
+    private int rowCount;
+    
+    /**
+     * 场景：insert（空表）或update（已有相同ISBN的记录）
+     */
+    @Param({"insert", "update"})
+    private String scenario;
+    
+    private MySQLContainer<?> mysql;
+    
+    private HikariDataSource dataSource;
+    
+    private ExcelParseServiceImpl service;
+    
+    /**
+     * 一个批次的数据，写入时依次替换ISBN，复用同一批对象，100万行也不占用大量堆内存
+     */
+    private List<GdufeLibraryEbookDO> batch;
+    
+    private int invocation;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String jdbcUrl = System.getProperty("gdufe.benchmark.jdbc-url");
+        String username = System.getProperty("gdufe.benchmark.jdbc-username", "root");
+        String password = System.getProperty("gdufe.benchmark.jdbc-password", "root");
+        if (jdbcUrl == null) {
+            mysql = new MySQLContainer<>("mysql:8.0");
+            mysql.start();
+            jdbcUrl = mysql.getJdbcUrl();
+            username = mysql.getUsername();
+            password = mysql.getPassword();
+        }
+        
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + DRIVER_PROPERTIES);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(2);
+        execute(readResource("sql/gdufe_library_ebook.sql"));
+        
+        SqlSessionFactory sqlSessionFactory = sqlSessionFactory(dataSource);
+        service = new ExcelParseServiceImpl();
+        inject(service, "ebookMapper", new SqlSessionTemplate(sqlSessionFactory).getMapper(GdufeLibraryEbookMapper.class));
+        inject(service, "sqlSessionFactory", sqlSessionFactory);
+        inject(service, "writeMode", writeMode);
+        batch = parseBatch(service);
+        
+        execute("TRUNCATE TABLE gdufe_library_ebook");
+        if ("update".equals(scenario)) {
+            writeAll();
+        }
+    }
+    
+    @Setup(Level.Invocation)
+    public void prepareInvocation() throws Exception {
+        invocation++;
+        if ("insert".equals(scenario)) {
+            execute("TRUNCATE TABLE gdufe_library_ebook");
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+    
+    @Benchmark
+    public int write() {
+        return writeAll();
+    }
+    
+    /**
+     * 按批次写入全部记录，书名带上调用序号，update场景每次都是真正的更新
+     */
+    private int writeAll() {
+        int affectedRows = 0;
+        for (int start = 0; start < rowCount; start += BATCH_SIZE) {
+            int size = Math.min(BATCH_SIZE, rowCount - start);
+            for (int i = 0; i < size; i++) {
+                GdufeLibraryEbookDO ebook = batch.get(i);
+                ebook.setBookIsbn(String.valueOf(9780000000000L + start + i));
+                ebook.setBookName(ebook.getBookName().replaceFirst("#\\d+$", "") + "#" + invocation);
+            }
+            affectedRows += service.upsertEbooks(size == BATCH_SIZE ? batch : batch.subList(0, size));
+        }
+        return affectedRows;
+    }
+    
+    /**
+     * 用生成的畅想之星数据解析出一个批次，字段内容和指纹与实际导入相同
+     */
+    private static List<GdufeLibraryEbookDO> parseBatch(ExcelParseServiceImpl parser) {
+        List<ExcelSheetRow> sheetRows = ExcelBenchmarkData.sheetRows(ExcelBenchmarkData.CHANGXIANG, BATCH_SIZE);
+        EbookColumnPlan columnPlan = parser.parseChangxiangHeaderRow(sheetRows.get(0));
+        List<GdufeLibraryEbookDO> ebooks = new ArrayList<>(BATCH_SIZE);
+        for (ExcelSheetRow row : sheetRows.subList(1, sheetRows.size())) {
+            GdufeLibraryEbookDO ebook = parser.parseEbookRow(row, row.getCellValue(columnPlan.getIsbnColumn()), columnPlan,
+                IGNORE_FIELD_ISSUES);
+            ebook.setIsDeleted(0);
+            ebooks.add(ebook);
+        }
+        return ebooks;
+    }
+    
+    private static SqlSessionFactory sqlSessionFactory(HikariDataSource dataSource) throws Exception {
+        Configuration configuration = new Configuration(new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        String resource = "mapper/GdufeLibraryEbookMapper.xml";
+        try (InputStream inputStream = EbookWriteModeBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        return new SqlSessionFactoryBuilder().build(configuration);
+    }
+    
+    /**
+     * ExcelParseServiceImpl使用字段注入，基准测试不启动Spring容器，直接设置字段
+     */
+    private static void inject(Object target, String fieldName, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+    
+    private void execute(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+    
+    private static String readResource(String resource) throws Exception {
+        try (InputStream inputStream = EbookWriteModeBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.benchmark.ExcelBenchmarkData;
+import com.gdufe.readingonline.service.excelUploadAndPrase.reader.ExcelSheetRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 标题行映射和字段解码基准测试
+ * parseHeaderRow对两种表格格式的标题行调用parseChangxiangHeaderRow或parseJingdongHeaderRow（编译列计划）；
+ * convertCategory对生成的京东数据中的一级分类（分类名称，约一成为数字）逐个调用convertCategoryToInteger；
+ * parseDate对生成的京东数据中的出版时间（yyyy-MM-dd、yyyy/M/d、yyyy年M月d日三种写法混合）逐个调用parseDate
+ * 
+ * 运行方式：mvn -pl gdufe-module-benchmark -am package，然后执行
+ * java -jar gdufe-module-benchmark/target/benchmarks.jar ExcelFieldMappingBenchmark -prof gc
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelFieldMappingBenchmark {
+    
+    /**
+     * 京东格式中一级分类所在的列
+     */
+    private static final int PRIMARY_CATEGORY_COLUMN = 4;
+    
+    /**
+     * 京东格式中出版时间所在的列
+     */
+    private static final int PUBLISH_DATE_COLUMN = 6;
+    
+    /**
+     * 标题行
+     */
+    @State(Scope.Thread)
+    public static class HeaderState {
+        
+        /**
+         * 表格格式
+         */
+        @Param({ExcelBenchmarkData.CHANGXIANG, ExcelBenchmarkData.JINGDONG})
+        private String layout;
+        
+        private ExcelParseServiceImpl parser;
+        
+        private boolean changxiang;
+        
+        private ExcelSheetRow headerRow;
+        
+        @Setup
+        public void setUp() {
+            parser = new ExcelParseServiceImpl();
+            changxiang = ExcelBenchmarkData.CHANGXIANG.equals(layout);
+            headerRow = new ExcelSheetRow(0, ExcelBenchmarkData.header(layout));
+        }
+    }
+    
+    /**
+     * 京东数据中某一列的取值
+     */
+    @State(Scope.Thread)
+    public abstract static class ColumnState {
+        
+        /**
+         * 数据行数
+         */
+        @Param({"10000", "100000"})
+        private int rowCount;
+        
+        private String[] values;
+        
+        private int next;
+        
+        @Setup
+        public void setUp() {
+            String[][] rows = ExcelBenchmarkData.rows(ExcelBenchmarkData.JINGDONG, rowCount);
+            values = new String[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                values[i] = rows[i][column()];
+            }
+        }
+        
+        abstract int column();
+        
+        String nextValue() {
+            String value = values[next];
+            next = next + 1 == values.length ? 0 : next + 1;
+            return value;
+        }
+    }
+    
+    /**
+     * 一级分类取值
+     */
+    public static class CategoryState extends ColumnState {
+        
+        @Override
+        int column() {
+            return PRIMARY_CATEGORY_COLUMN;
+        }
+    }
+    
+    /**
+     * 出版时间取值
+     */
+    public static class DateState extends ColumnState {
+        
+        @Override
+        int column() {
+            return PUBLISH_DATE_COLUMN;
+        }
+    }
+    
+    @Benchmark
+    public EbookColumnPlan parseHeaderRow(HeaderState state) throws Exception {
+        return state.changxiang
+            ? state.parser.parseChangxiangHeaderRow(state.headerRow)
+            : state.parser.parseJingdongHeaderRow(state.headerRow);
+    }
+    
+    @Benchmark
+    public int convertCategory(CategoryState state) {
+        return EbookFieldDecoders.convertCategoryToInteger(state.nextValue());
+    }
+    
+    @Benchmark
+    public LocalDate parseDate(DateState state) {
+        return EbookFieldDecoders.parseDate(state.nextValue());
+    }
+}
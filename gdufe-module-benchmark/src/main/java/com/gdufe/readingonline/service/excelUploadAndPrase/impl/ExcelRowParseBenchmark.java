@@ -0,0 +1,93 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.benchmark.ExcelBenchmarkData;
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.service.excelUploadAndPrase.reader.ExcelSheetRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Excel数据行解析基准测试
+ * 对生成的1万行和10万行数据，按标题行编译出的列计划逐行读取ISBN并调用parseEbookRow（与行处理回调的步骤相同），
+ * 每次操作解析一行，结果的ops/s即每秒解析的行数，配合-prof gc的gc.alloc.rate.norm可以看到每行分配的字节数
+ * 
+ * 解析方法是ExcelParseServiceImpl的包内方法，本类放在同名包下直接调用
+ * 
+ * 运行方式：mvn -pl gdufe-module-benchmark -am package，然后执行
+ * java -jar gdufe-module-benchmark/target/benchmarks.jar ExcelRowParseBenchmark -prof gc
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelRowParseBenchmark {
+    
+    /**
+     * 基准数据中的分类都能识别，不会收到回调
+     */
+    private static final EbookColumnPlan.FieldIssueListener IGNORE_FIELD_ISSUES = (rowNumber, reason, detail) -> {
+    };
+    
+    /**
+     * 表格格式
+     */
+    @Param({ExcelBenchmarkData.CHANGXIANG, ExcelBenchmarkData.JINGDONG})
+    private String layout;
+    
+    /**
+     * 数据行数
+     */
+    @Param({"10000", "100000"})
+    private int rowCount;
+    
+    private ExcelParseServiceImpl parser;
+    
+    private ExcelSheetRow[] rows;
+    
+    private EbookColumnPlan columnPlan;
+    
+    private int nextRow;
+    
+    @Setup
+    public void setUp() throws Exception {
+        parser = new ExcelParseServiceImpl();
+        List<ExcelSheetRow> sheetRows = ExcelBenchmarkData.sheetRows(layout, rowCount);
+        columnPlan = ExcelBenchmarkData.CHANGXIANG.equals(layout)
+            ? parser.parseChangxiangHeaderRow(sheetRows.get(0))
+            : parser.parseJingdongHeaderRow(sheetRows.get(0));
+        rows = sheetRows.subList(1, sheetRows.size()).toArray(new ExcelSheetRow[0]);
+    }
+    
+    /**
+     * 依次取下一行，到末尾后从头开始
+     */
+    private ExcelSheetRow nextRow() {
+        ExcelSheetRow row = rows[nextRow];
+        nextRow = nextRow + 1 == rows.length ? 0 : nextRow + 1;
+        return row;
+    }
+    
+    @Benchmark
+    public GdufeLibraryEbookDO parseRow() {
+        ExcelSheetRow row = nextRow();
+        String isbn = row.getCellValue(columnPlan.getIsbnColumn());
+        return parser.parseEbookRow(row, isbn, columnPlan, IGNORE_FIELD_ISSUES);
+    }
+}
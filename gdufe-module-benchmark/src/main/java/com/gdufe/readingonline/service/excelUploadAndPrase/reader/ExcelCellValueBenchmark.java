@@ -0,0 +1,93 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.reader;
+
+import com.gdufe.readingonline.benchmark.ExcelBenchmarkData;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单元格取值基准测试
+ * 在内存中生成1万行和10万行的工作簿，对所有数据单元格逐个调用getCellStringValue，每次操作读取一个单元格；
+ * 单元格包含字符串、数值（ISBN）和日期格式的数值（畅想之星的出版时间）三种类型
+ * 
+ * 10万行的XSSF工作簿在内存中约占1GB，测试进程使用4GB堆
+ * 
+ * 运行方式：mvn -pl gdufe-module-benchmark -am package，然后执行
+ * java -jar gdufe-module-benchmark/target/benchmarks.jar ExcelCellValueBenchmark -prof gc
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExcelCellValueBenchmark {
+    
+    /**
+     * 表格格式
+     */
+    @Param({ExcelBenchmarkData.CHANGXIANG, ExcelBenchmarkData.JINGDONG})
+    private String layout;
+    
+    /**
+     * 数据行数
+     */
+    @Param({"10000", "100000"})
+    private int rowCount;
+    
+    private XSSFWorkbook workbook;
+    
+    private Cell[] cells;
+    
+    private int nextCell;
+    
+    @Setup
+    public void setUp() {
+        workbook = ExcelBenchmarkData.workbook(layout, rowCount);
+        Sheet sheet = workbook.getSheetAt(0);
+        List<Cell> cellList = new ArrayList<>();
+        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+            Row row = sheet.getRow(i);
+            for (int j = 0; j < row.getLastCellNum(); j++) {
+                Cell cell = row.getCell(j);
+                if (cell != null) {
+                    cellList.add(cell);
+                }
+            }
+        }
+        cells = cellList.toArray(new Cell[0]);
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        workbook.close();
+    }
+    
+    @Benchmark
+    public String getCellStringValue() {
+        Cell cell = cells[nextCell];
+        nextCell = nextCell + 1 == cells.length ? 0 : nextCell + 1;
+        return ExcelWorkbook.getCellStringValue(cell);
+    }
+}
@@ -0,0 +1,84 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.reader;
+
+import com.gdufe.readingonline.benchmark.ExcelBenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * xlsx工作表读取基准测试
+ * 生成1万行和10万行的xlsx文件，分别测量打开工作簿（读取共享字符串表和样式）和以SAX事件模式读取整个工作表的耗时，
+ * 每次操作处理一个文件
+ * 
+ * 运行方式：mvn -pl gdufe-module-benchmark -am package，然后执行
+ * java -jar gdufe-module-benchmark/target/benchmarks.jar ExcelSheetReadBenchmark -prof gc
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExcelSheetReadBenchmark {
+    
+    /**
+     * 表格格式
+     */
+    @Param({ExcelBenchmarkData.CHANGXIANG, ExcelBenchmarkData.JINGDONG})
+    private String layout;
+    
+    /**
+     * 数据行数
+     */
+    @Param({"10000", "100000"})
+    private int rowCount;
+    
+    private Path path;
+    
+    private String fileName;
+    
+    private ExcelWorkbook workbook;
+    
+    @Setup
+    public void setUp() throws IOException {
+        path = ExcelBenchmarkData.writeWorkbook(layout, rowCount);
+        fileName = path.getFileName().toString();
+        workbook = new ExcelWorkbook(path, fileName, null);
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        workbook.close();
+        Files.deleteIfExists(path);
+    }
+    
+    @Benchmark
+    public int openWorkbook() throws IOException {
+        try (ExcelWorkbook opened = new ExcelWorkbook(path, fileName, null)) {
+            return opened.getSheetCount();
+        }
+    }
+    
+    @Benchmark
+    public void readSheet(Blackhole blackhole) throws IOException {
+        workbook.readSheet(0, blackhole::consume);
+    }
+}
@@ -4,10 +4,12 @@ import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @MapperScan("com.gdufe.readingonline.dal.mysqlmapper")
 @SpringBootApplication
 @ComponentScan(basePackages = "com.gdufe.readingonline")
+@EnableScheduling
 public class GdufeReadingOnlineApplication {
     public static void main(String[] args) {
         SpringApplication.run(GdufeReadingOnlineApplication.class, args);
@@ -0,0 +1,63 @@
+package com.gdufe.readingonline.config;
+
+import com.gdufe.readingonline.dal.datasource.DataSourceType;
+import com.gdufe.readingonline.dal.datasource.RoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 数据源配置类
+ * OLTP连接池和导入连接池使用相同的数据库地址和账号，分别配置大小、超时和驱动参数：
+ * spring.datasource.url只放两个连接池共用的基本参数，批量写入相关的驱动参数（rewriteBatchedStatements、预编译语句缓存）
+ * 和LOAD DATA LOCAL的读取目录只配置在gdufe.datasource.import.data-source-properties中，不影响在线请求的连接；
+ * MyBatis和事务管理器使用的主数据源按当前线程的数据源类型路由到其中一个连接池
+ * 
+ * 连接池指标（活跃、空闲、等待连接数和获取连接耗时）以hikaricp.connections.*发布到/actuator/prometheus，按pool标签区分
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Configuration
+public class DataSourceConfig {
+    
+    /**
+     * OLTP连接池，配置项：spring.datasource.hikari.*
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource oltpDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    /**
+     * 导入连接池，配置项：gdufe.datasource.import.*，驱动参数：gdufe.datasource.import.data-source-properties.*
+     */
+    @Bean
+    @ConfigurationProperties("gdufe.datasource.import")
+    public HikariDataSource importDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("oltpDataSource") DataSource oltpDataSource,
+                                 @Qualifier("importDataSource") DataSource importDataSource) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(DataSourceType.OLTP, oltpDataSource);
+        targetDataSources.put(DataSourceType.IMPORT, importDataSource);
+        
+        RoutingDataSource dataSource = new RoutingDataSource();
+        dataSource.setTargetDataSources(targetDataSources);
+        dataSource.setDefaultTargetDataSource(oltpDataSource);
+        return dataSource;
+    }
+}
@@ -1,11 +1,19 @@
 package com.gdufe.readingonline.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.MultipartConfigFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.unit.DataSize;
 
 import jakarta.servlet.MultipartConfigElement;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * 文件上传配置类
@@ -16,12 +24,51 @@ import jakarta.servlet.MultipartConfigElement;
 @Configuration
 public class FileUploadConfig {
     
+    private static final Logger logger = LoggerFactory.getLogger(FileUploadConfig.class);
+    
+    /**
+     * 上传文件写入磁盘的阈值，超过该大小的文件由容器直接写入临时目录，不占用堆内存
+     */
+    @Value("${gdufe.upload.file-size-threshold:1MB}")
+    private DataSize fileSizeThreshold;
+    
+    /**
+     * 上传文件临时目录，导入时转存的文件也放在该目录下
+     */
+    @Value("${gdufe.upload.location:${java.io.tmpdir}/gdufe-upload}")
+    private String uploadLocation;
+    
+    /**
+     * Spring Boot的multipart临时目录配置，本类自定义了MultipartConfigElement，该配置不生效
+     */
+    @Value("${spring.servlet.multipart.location:}")
+    private String multipartLocation;
+    
+    /**
+     * 上传文件临时目录
+     * 与容器的multipart临时目录是同一个目录，转存上传文件时只需重命名，不会再复制一遍文件内容
+     */
+    @Bean(name = "uploadSpoolDirectory")
+    public Path uploadSpoolDirectory() {
+        Path directory = Paths.get(uploadLocation).toAbsolutePath();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法创建上传文件临时目录：" + directory, e);
+        }
+        if (!multipartLocation.isEmpty() && !Paths.get(multipartLocation).toAbsolutePath().equals(directory)) {
+            logger.warn("spring.servlet.multipart.location（{}）不生效，上传文件临时目录为gdufe.upload.location：{}", 
+                multipartLocation, directory);
+        }
+        return directory;
+    }
+    
     /**
      * 配置文件上传参数
      * 设置更大的文件上传限制
      */
     @Bean
-    public MultipartConfigElement multipartConfigElement() {
+    public MultipartConfigElement multipartConfigElement(Path uploadSpoolDirectory) {
         MultipartConfigFactory factory = new MultipartConfigFactory();
         
         // 设置单个文件最大大小
@@ -30,10 +77,11 @@ public class FileUploadConfig {
         // 设置整个请求最大大小
         factory.setMaxRequestSize(DataSize.ofMegabytes(200));
         
-        // 设置文件写入磁盘的阈值 - 设置为0表示所有文件都保存在内存中，不写入临时文件
-        factory.setFileSizeThreshold(DataSize.ofBytes(0));
+        // 设置文件写入磁盘的阈值 - 超过阈值的文件写入临时目录，多个大文件同时上传也不会占满堆内存
+        factory.setFileSizeThreshold(fileSizeThreshold);
         
-        // 不设置临时文件存储位置，让系统使用内存处理
+        // 设置临时文件存储位置 - 与转存目录相同，转存上传文件时在同一文件系统内重命名
+        factory.setLocation(uploadSpoolDirectory.toString());
         
         return factory.createMultipartConfig();
     }
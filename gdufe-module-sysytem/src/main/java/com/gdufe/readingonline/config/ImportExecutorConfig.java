@@ -0,0 +1,91 @@
+package com.gdufe.readingonline.config;
+
+import com.gdufe.readingonline.dal.datasource.DataSourceContextHolder;
+import com.gdufe.readingonline.dal.datasource.DataSourceType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Excel导入线程池配置类
+ * spring.threads.virtual.enabled为true时，写库线程池和异步导入任务线程池改用虚拟线程；
+ * 线程数和排队方式不变，仍然限制同时写库的线程数。解析线程池是CPU密集型，始终使用平台线程
+ * 
+ * 写库线程池和异步导入任务线程池中的任务使用导入连接池（DataSourceType.IMPORT）
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Configuration
+public class ImportExecutorConfig {
+    
+    /**
+     * 导入写库线程池
+     * 每次导入占用writer-threads个线程，并发导入时排队，从而限制同时写库的线程数
+     */
+    @Bean(name = "importWriterExecutor")
+    public ThreadPoolTaskExecutor importWriterExecutor(
+            @Value("${gdufe.import.writer-threads:1}") int writerThreads,
+            @Value("${gdufe.import.max-concurrent-writers:4}") int maxConcurrentWriters,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(writerThreads, maxConcurrentWriters));
+        executor.setMaxPoolSize(Math.max(writerThreads, maxConcurrentWriters));
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("excel-import-writer-");
+        executor.setTaskDecorator(task -> DataSourceContextHolder.wrap(DataSourceType.IMPORT, task));
+        useVirtualThreads(executor, virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+    
+    /**
+     * 异步导入任务线程池
+     * 线程数和排队数都有上限，超出时拒绝新任务，避免大文件导入占满服务器资源
+     */
+    @Bean(name = "importJobExecutor")
+    public ThreadPoolTaskExecutor importJobExecutor(
+            @Value("${gdufe.import.job-threads:2}") int jobThreads,
+            @Value("${gdufe.import.job-queue-capacity:10}") int jobQueueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobThreads);
+        executor.setMaxPoolSize(jobThreads);
+        executor.setQueueCapacity(jobQueueCapacity);
+        executor.setThreadNamePrefix("excel-import-job-");
+        executor.setTaskDecorator(task -> DataSourceContextHolder.wrap(DataSourceType.IMPORT, task));
+        useVirtualThreads(executor, virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+    
+    /**
+     * 多工作表、多文件导入的解析线程池
+     * 每个工作表一个任务，解析是CPU密集型操作，线程数默认等于CPU核数；写库仍由importWriterExecutor限制
+     */
+    @Bean(name = "importParseExecutor")
+    public ThreadPoolTaskExecutor importParseExecutor(
+            @Value("${gdufe.import.parse-threads:0}") int parseThreads) {
+        int poolSize = parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("excel-import-parser-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+    
+    /**
+     * 改用虚拟线程执行任务，线程名沿用线程池的前缀
+     */
+    private static void useVirtualThreads(ThreadPoolTaskExecutor executor, boolean virtualThreads) {
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name(executor.getThreadNamePrefix(), 1).factory());
+        }
+    }
+}
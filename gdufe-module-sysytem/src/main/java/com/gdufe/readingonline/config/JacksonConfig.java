@@ -0,0 +1,25 @@
+package com.gdufe.readingonline.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson配置类
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Configuration
+public class JacksonConfig {
+    
+    /**
+     * Blackbird模块：用LambdaMetafactory生成属性访问器代替反射调用，加快响应VO的序列化
+     * Spring Boot会把容器中的Module注册到自动配置的ObjectMapper
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
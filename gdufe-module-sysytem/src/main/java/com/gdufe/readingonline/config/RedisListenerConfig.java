@@ -0,0 +1,26 @@
+package com.gdufe.readingonline.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis消息监听配置类
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Configuration
+public class RedisListenerConfig {
+    
+    /**
+     * Redis发布/订阅的监听容器，用于在多个节点之间同步缓存失效
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -1,12 +1,17 @@
 package com.gdufe.readingonline.controller.admin.controller;
 
+import com.gdufe.readingonline.controller.admin.vo.ApiResponseVO;
+import com.gdufe.readingonline.controller.admin.vo.BookDetailVO;
+import com.gdufe.readingonline.controller.admin.vo.FullTextBookItemVO;
+import com.gdufe.readingonline.controller.admin.vo.PageDataVO;
+import com.gdufe.readingonline.controller.admin.vo.PageInfoVO;
+import com.gdufe.readingonline.controller.admin.vo.RandomBookItemVO;
 import com.gdufe.readingonline.service.search.BookSearchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 /**
  * 图书搜索管理Controller
@@ -26,24 +31,26 @@ public class BookSearchController {
      * 按书名模糊搜索图书接口
      * 
      * @param name 搜索关键词
-     * @param page 页码（从1开始）
+     * @param page 页码（从1开始，页码分页时使用）
      * @param size 每页大小
+     * @param paging 分页方式（page:页码分页, cursor:游标分页）
+     * @param cursor 游标分页时上一页返回的nextCursor（第一页不传）
+     * @param count 游标分页时的总数统计方式（exact:精确统计, estimate:使用缓存的总数, none:不统计）
      * @return 搜索结果
      */
     @GetMapping("/name")
-    public ResponseEntity<Map<String, Object>> searchBooksByName(
+    public ResponseEntity<ApiResponseVO<?>> searchBooksByName(
             @RequestParam("name") String name,
             @RequestParam(value = "page", defaultValue = "1") Integer page,
-            @RequestParam(value = "size", defaultValue = "10") Integer size) {
+            @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "paging", defaultValue = "page") String paging,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", defaultValue = "estimate") String count) {
         
         try {
             // 参数验证
             if (name == null || name.trim().isEmpty()) {
-                Map<String, Object> errorResult = new HashMap<>();
-                errorResult.put("code", 400);
-                errorResult.put("message", "搜索关键词不能为空");
-                errorResult.put("data", null);
-                return ResponseEntity.badRequest().body(errorResult);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "搜索关键词不能为空"));
             }
             
             // 页码和大小验证
@@ -55,38 +62,83 @@ public class BookSearchController {
             }
             
             // 调用Service进行搜索
-            Map<String, Object> result = bookSearchService.searchBooksByName(name.trim(), page, size);
+            ApiResponseVO<?> result = "cursor".equalsIgnoreCase(paging)
+                ? bookSearchService.searchBooksByNameCursor(name.trim(), cursor, size, count)
+                : bookSearchService.searchBooksByName(name.trim(), page, size);
+            
+            return ResponseEntity.ok(result);
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "搜索失败：" + e.getMessage()));
+        }
+    }
+
+    /**
+     * 全文检索图书接口
+     * 在书名、作者、出版社、简介中检索，按相关度排序，返回命中词的高亮片段
+     * 
+     * @param keyword 搜索关键词
+     * @param page 页码（从1开始）
+     * @param size 每页大小
+     * @return 搜索结果
+     */
+    @GetMapping("/fulltext")
+    public ResponseEntity<ApiResponseVO<PageDataVO<FullTextBookItemVO, PageInfoVO>>> searchBooksFullText(
+            @RequestParam("keyword") String keyword,
+            @RequestParam(value = "page", defaultValue = "1") Integer page,
+            @RequestParam(value = "size", defaultValue = "10") Integer size) {
+        
+        try {
+            // 参数验证
+            if (keyword == null || keyword.trim().isEmpty()) {
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "搜索关键词不能为空"));
+            }
+            
+            // 页码和大小验证
+            if (page < 1) {
+                page = 1;
+            }
+            if (size < 1 || size > 100) {
+                size = 10; // 限制每页最大100条
+            }
+            
+            // 调用Service进行检索
+            ApiResponseVO<PageDataVO<FullTextBookItemVO, PageInfoVO>> result = bookSearchService.searchBooksFullText(keyword.trim(), page, size);
             
             return ResponseEntity.ok(result);
             
         } catch (Exception e) {
-            Map<String, Object> errorResult = new HashMap<>();
-            errorResult.put("code", 500);
-            errorResult.put("message", "搜索失败：" + e.getMessage());
-            errorResult.put("data", null);
-            return ResponseEntity.status(500).body(errorResult);
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "搜索失败：" + e.getMessage()));
         }
     }
 
     /**
-     * 随机获取4本图书接口
+     * 随机获取图书接口（默认4本）
      * 
+     * @param category 图书主分类（0-22，不传时从全部图书中抽取）
+     * @param size 抽取数量（不传时使用默认数量）
      * @return 随机图书列表（包含书名、作者、ISBN、简介）
      */
     @GetMapping("/random")
-    public ResponseEntity<Map<String, Object>> getRandomBooks() {
+    public ResponseEntity<ApiResponseVO<List<RandomBookItemVO>>> getRandomBooks(
+            @RequestParam(value = "category", required = false) Integer category,
+            @RequestParam(value = "size", required = false) Integer size) {
         try {
+            // 参数验证
+            if (category != null && (category < 0 || category > 22)) {
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "分类参数错误，必须在0-22之间"));
+            }
+            
             // 调用Service获取随机图书
-            Map<String, Object> result = bookSearchService.getRandomBooks();
+            if (size != null && (size < 1 || size > 20)) {
+                size = null; // 限制每次最多20本，超出时使用默认数量
+            }
+            ApiResponseVO<List<RandomBookItemVO>> result = bookSearchService.getRandomBooks(category, size);
             
             return ResponseEntity.ok(result);
             
         } catch (Exception e) {
-            Map<String, Object> errorResult = new HashMap<>();
-            errorResult.put("code", 500);
-            errorResult.put("message", "获取随机图书失败：" + e.getMessage());
-            errorResult.put("data", null);
-            return ResponseEntity.status(500).body(errorResult);
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "获取随机图书失败：" + e.getMessage()));
         }
     }
     
@@ -98,33 +150,25 @@ public class BookSearchController {
      * @return 图书详细信息
      */
     @GetMapping("/detail")
-    public ResponseEntity<Map<String, Object>> getBookDetail(
+    public ResponseEntity<ApiResponseVO<BookDetailVO>> getBookDetail(
             @RequestParam("isbn") String isbn,
             @RequestParam("source") Integer source) {
         
         try {
             // 参数验证
             if (isbn == null || isbn.trim().isEmpty()) {
-                Map<String, Object> errorResult = new HashMap<>();
-                errorResult.put("code", 400);
-                errorResult.put("message", "ISBN不能为空");
-                errorResult.put("data", null);
-                return ResponseEntity.badRequest().body(errorResult);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "ISBN不能为空"));
             }
             
             if (source == null || (source != 0 && source != 1)) {
-                Map<String, Object> errorResult = new HashMap<>();
-                errorResult.put("code", 400);
-                errorResult.put("message", "来源参数错误，必须为0（畅想之星）或1（京东）");
-                errorResult.put("data", null);
-                return ResponseEntity.badRequest().body(errorResult);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "来源参数错误，必须为0（畅想之星）或1（京东）"));
             }
             
             // 调用Service进行精确查询
-            Map<String, Object> result = bookSearchService.getBookByIsbnAndSource(isbn.trim(), source);
+            ApiResponseVO<BookDetailVO> result = bookSearchService.getBookByIsbnAndSource(isbn.trim(), source);
             
             // 根据结果code返回相应的HTTP状态码
-            Integer code = (Integer) result.get("code");
+            int code = result.code();
             if (code == 404) {
                 return ResponseEntity.status(404).body(result);
             } else if (code == 500) {
@@ -134,11 +178,7 @@ public class BookSearchController {
             return ResponseEntity.ok(result);
             
         } catch (Exception e) {
-            Map<String, Object> errorResult = new HashMap<>();
-            errorResult.put("code", 500);
-            errorResult.put("message", "查询失败：" + e.getMessage());
-            errorResult.put("data", null);
-            return ResponseEntity.status(500).body(errorResult);
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "查询失败：" + e.getMessage()));
         }
     }
     
@@ -146,33 +186,31 @@ public class BookSearchController {
      * 按分类查询图书接口
      * 
      * @param category 图书主分类（0-22）
-     * @param page 页码（从1开始）
+     * @param page 页码（从1开始，页码分页时使用）
      * @param size 每页大小
+     * @param paging 分页方式（page:页码分页, cursor:游标分页）
+     * @param cursor 游标分页时上一页返回的nextCursor（第一页不传）
+     * @param count 游标分页时的总数统计方式（exact:精确统计, estimate:使用缓存的总数, none:不统计）
      * @return 该分类的图书列表
      */
     @GetMapping("/category")
-    public ResponseEntity<Map<String, Object>> searchBooksByCategory(
+    public ResponseEntity<ApiResponseVO<?>> searchBooksByCategory(
             @RequestParam("category") Integer category,
             @RequestParam(value = "page", defaultValue = "1") Integer page,
-            @RequestParam(value = "size", defaultValue = "10") Integer size) {
+            @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "paging", defaultValue = "page") String paging,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", defaultValue = "estimate") String count) {
         
         try {
             // 参数验证
             if (category == null) {
-                Map<String, Object> errorResult = new HashMap<>();
-                errorResult.put("code", 400);
-                errorResult.put("message", "分类参数不能为空");
-                errorResult.put("data", null);
-                return ResponseEntity.badRequest().body(errorResult);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "分类参数不能为空"));
             }
             
             // 验证分类范围（0-22）
             if (category < 0 || category > 22) {
-                Map<String, Object> errorResult = new HashMap<>();
-                errorResult.put("code", 400);
-                errorResult.put("message", "分类参数错误，必须在0-22之间");
-                errorResult.put("data", null);
-                return ResponseEntity.badRequest().body(errorResult);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "分类参数错误，必须在0-22之间"));
             }
             
             // 页码和大小验证
@@ -184,16 +222,14 @@ public class BookSearchController {
             }
             
             // 调用Service进行查询
-            Map<String, Object> result = bookSearchService.searchBooksByCategory(category, page, size);
+            ApiResponseVO<?> result = "cursor".equalsIgnoreCase(paging)
+                ? bookSearchService.searchBooksByCategoryCursor(category, cursor, size, count)
+                : bookSearchService.searchBooksByCategory(category, page, size);
             
             return ResponseEntity.ok(result);
             
         } catch (Exception e) {
-            Map<String, Object> errorResult = new HashMap<>();
-            errorResult.put("code", 500);
-            errorResult.put("message", "查询失败：" + e.getMessage());
-            errorResult.put("data", null);
-            return ResponseEntity.status(500).body(errorResult);
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "查询失败：" + e.getMessage()));
         }
     }
 }
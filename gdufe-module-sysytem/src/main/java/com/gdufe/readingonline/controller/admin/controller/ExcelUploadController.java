@@ -6,6 +6,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,7 +23,7 @@ public class ExcelUploadController {
     
     @Autowired
     private ExcelUploadService excelUploadService;
-
+    
     /**
      * 上传Excel文件接口
      * 
@@ -31,6 +32,9 @@ public class ExcelUploadController {
      * @param fileSize 文件大小
      * @param fileSource 文件来源
      * @param excelCategory Excel类型（0:图书详情表, 1:封面图详情表）
+     * @param async 是否异步导入（默认true，立即返回任务ID，通过/import-jobs/{id}查询进度；
+     *              false时在请求线程中导入完再返回，大文件会长时间占用请求线程，只用于小文件或脚本调用）
+     * @param importMode 图书详情表的导入方式（upsert:分批插入或更新, bulk-load:LOAD DATA批量装载，用于全量刷新）
      * @return 上传结果
      */
     @PostMapping("/upload-excel")
@@ -39,7 +43,9 @@ public class ExcelUploadController {
             @RequestParam("fileName") String fileName,
             @RequestParam("fileSize") Long fileSize,
             @RequestParam("fileSource") String fileSource,
-            @RequestParam(value = "excelCategory", defaultValue = "0") Integer excelCategory) {
+            @RequestParam(value = "excelCategory", defaultValue = "0") Integer excelCategory,
+            @RequestParam(value = "async", defaultValue = "true") Boolean async,
+            @RequestParam(value = "importMode", defaultValue = "upsert") String importMode) {
         
         try {
             // 参数验证
@@ -65,9 +71,26 @@ public class ExcelUploadController {
                 return ResponseEntity.badRequest().body(errorResult);
             }
             
+            // 异步导入：文件转存后立即返回任务ID，不占用请求线程
+            if (Boolean.TRUE.equals(async)) {
+                Map<String, Object> result = excelUploadService.submitExcelUploadJob(
+                    excelFile, fileName, fileSource, excelCategory, importMode);
+                
+                Integer code = (Integer) result.get("code");
+                if (code != null && code == 202) {
+                    return ResponseEntity.accepted().body(result);
+                } else if (code != null && code == 400) {
+                    return ResponseEntity.badRequest().body(result);
+                } else if (code != null && code == 503) {
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(result);
+                } else {
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);
+                }
+            }
+            
             // 使用Service处理Excel上传
             Map<String, Object> result = excelUploadService.processExcelUpload(
-                excelFile, fileName, fileSize, fileSource, excelCategory);
+                excelFile, fileName, fileSize, fileSource, excelCategory, importMode);
             
             // 检查Service层返回的code字段
             Integer code = (Integer) result.get("code");
@@ -81,7 +104,50 @@ public class ExcelUploadController {
                     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);
                 }
             }
+        
+        } catch (Exception e) {
+            Map<String, Object> errorResult = new HashMap<>();
+            errorResult.put("success", false);
+            errorResult.put("message", "文件上传失败：" + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResult);
+        }
+    }
+    
+    /**
+     * 批量上传Excel文件接口（图书详情表）
+     * 处理所有文件的所有工作表，各工作表并行解析，统计信息合并返回
+     * 
+     * @param excelFiles Excel文件列表
+     * @param fileSource 文件来源
+     * @return 上传结果
+     */
+    @PostMapping("/upload-excels")
+    public ResponseEntity<Map<String, Object>> uploadExcels(
+            @RequestParam("excelFiles") MultipartFile[] excelFiles,
+            @RequestParam("fileSource") String fileSource) {
+        
+        try {
+            // 参数验证
+            if (excelFiles == null || excelFiles.length == 0) {
+                Map<String, Object> errorResult = new HashMap<>();
+                errorResult.put("success", false);
+                errorResult.put("message", "Excel文件不能为空");
+                return ResponseEntity.badRequest().body(errorResult);
+            }
             
+            // 使用Service处理Excel上传
+            Map<String, Object> result = excelUploadService.processExcelFilesUpload(Arrays.asList(excelFiles), fileSource);
+            
+            // 检查Service层返回的code字段
+            Integer code = (Integer) result.get("code");
+            if (code != null && code == 200) {
+                return ResponseEntity.ok(result);
+            } else if (code != null && code == 400) {
+                return ResponseEntity.badRequest().body(result);
+            } else {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);
+            }
+        
         } catch (Exception e) {
             Map<String, Object> errorResult = new HashMap<>();
             errorResult.put("success", false);
@@ -0,0 +1,81 @@
+package com.gdufe.readingonline.controller.admin.controller;
+
+import com.gdufe.readingonline.controller.admin.vo.ApiResponseVO;
+import com.gdufe.readingonline.controller.admin.vo.ImportIssueVO;
+import com.gdufe.readingonline.controller.admin.vo.ImportJobVO;
+import com.gdufe.readingonline.controller.admin.vo.PageDataVO;
+import com.gdufe.readingonline.controller.admin.vo.PageInfoVO;
+import com.gdufe.readingonline.service.importjob.ImportJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Excel异步导入任务Controller
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@RestController
+@RequestMapping("/gdufeReadingOnline/manage/import-jobs")
+@CrossOrigin(origins = "*") // 允许跨域访问
+public class ImportJobController {
+    
+    @Autowired
+    private ImportJobService importJobService;
+    
+    /**
+     * 查询导入任务进度
+     * 
+     * @param jobId 任务ID
+     * @return 任务状态和实时进度（已解析行数、已写入批次数、跳过的行数和原因汇总等，逐行明细通过/{id}/issues查询）
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponseVO<ImportJobVO>> getImportJob(@PathVariable("id") String jobId) {
+        
+        try {
+            ImportJobVO job = importJobService.getJob(jobId);
+            if (job == null) {
+                return ResponseEntity.status(404).body(ApiResponseVO.error(404, "导入任务不存在或已过期"));
+            }
+            return ResponseEntity.ok(ApiResponseVO.success("查询成功", job));
+        
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "查询导入任务失败：" + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 分页查询导入任务中跳过和失败的逐行明细
+     * 
+     * @param jobId 任务ID
+     * @param page 页码
+     * @param size 每页大小
+     * @return 逐行明细（行号、原因、补充说明），按记录的先后顺序排列
+     */
+    @GetMapping("/{id}/issues")
+    public ResponseEntity<ApiResponseVO<PageDataVO<ImportIssueVO, PageInfoVO>>> getImportJobIssues(
+            @PathVariable("id") String jobId,
+            @RequestParam(value = "page", defaultValue = "1") Integer page,
+            @RequestParam(value = "size", defaultValue = "100") Integer size) {
+        
+        try {
+            // 页码和大小验证
+            if (page < 1) {
+                page = 1;
+            }
+            if (size < 1 || size > 1000) {
+                size = 100; // 限制每页最大1000条
+            }
+            
+            PageDataVO<ImportIssueVO, PageInfoVO> issues = importJobService.getJobIssues(jobId, page, size);
+            if (issues == null) {
+                return ResponseEntity.status(404).body(ApiResponseVO.error(404, "导入任务不存在或已过期"));
+            }
+            return ResponseEntity.ok(ApiResponseVO.success("查询成功", issues));
+        
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "查询导入明细失败：" + e.getMessage()));
+        }
+    }
+}
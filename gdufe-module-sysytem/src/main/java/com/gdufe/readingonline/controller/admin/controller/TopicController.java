@@ -1,5 +1,7 @@
 package com.gdufe.readingonline.controller.admin.controller;
 
+import com.gdufe.readingonline.controller.admin.vo.ApiResponseVO;
+import com.gdufe.readingonline.controller.admin.vo.TopicBriefVO;
 import com.gdufe.readingonline.controller.admin.vo.TopicCreateRequestVO;
 import com.gdufe.readingonline.controller.admin.vo.TopicCreateResponseVO;
 import com.gdufe.readingonline.controller.admin.vo.TopicDetailResponseVO;
@@ -10,9 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 图书专题管理Controller
@@ -35,65 +35,40 @@ public class TopicController {
      * @return 创建结果
      */
     @PostMapping("/create")
-    public ResponseEntity<Map<String, Object>> createTopic(
+    public ResponseEntity<ApiResponseVO<TopicCreateResponseVO>> createTopic(
             @RequestBody TopicCreateRequestVO requestVO) {
         
-        Map<String, Object> result = new HashMap<>();
-        
         try {
             // 参数验证
             if (requestVO.getHtmlContent() == null || requestVO.getHtmlContent().trim().isEmpty()) {
-                result.put("code", 400);
-                result.put("message", "HTML文本不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "HTML文本不能为空"));
             }
             
             if (requestVO.getCreator() == null || requestVO.getCreator().trim().isEmpty()) {
-                result.put("code", 400);
-                result.put("message", "创建人不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "创建人不能为空"));
             }
             
             if (requestVO.getTopicTitle() == null || requestVO.getTopicTitle().trim().isEmpty()) {
-                result.put("code", 400);
-                result.put("message", "专题标题不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "专题标题不能为空"));
             }
             
             if (requestVO.getTopicBriefIntroduction() == null || requestVO.getTopicBriefIntroduction().trim().isEmpty()) {
-                result.put("code", 400);
-                result.put("message", "专题简介不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "专题简介不能为空"));
             }
             
             if (requestVO.getTopicCategory() == null) {
-                result.put("code", 400);
-                result.put("message", "专题分类不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "专题分类不能为空"));
             }
             
             // 调用Service创建专题
             TopicCreateResponseVO responseVO = topicService.createTopic(requestVO);
             
             // 构建成功响应
-            result.put("code", 200);
-            result.put("message", "图书专题创建成功");
-            result.put("data", responseVO);
-            
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok(ApiResponseVO.success("图书专题创建成功", responseVO));
             
         } catch (Exception e) {
             // 构建失败响应
-            result.put("code", 500);
-            result.put("message", "图书专题创建失败：" + e.getMessage());
-            result.put("data", null);
-            
-            return ResponseEntity.status(500).body(result);
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "图书专题创建失败：" + e.getMessage()));
         }
     }
     
@@ -104,37 +79,24 @@ public class TopicController {
      * @return 专题详情（包含HTML文本、发布时间、结束时间）
      */
     @GetMapping("/detail/{topicId}")
-    public ResponseEntity<Map<String, Object>> getTopicDetail(
+    public ResponseEntity<ApiResponseVO<TopicDetailResponseVO>> getTopicDetail(
             @PathVariable("topicId") Long topicId) {
         
-        Map<String, Object> result = new HashMap<>();
-        
         try {
             // 参数验证
             if (topicId == null) {
-                result.put("code", 400);
-                result.put("message", "专题ID不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "专题ID不能为空"));
             }
             
             // 调用Service查询专题详情
             TopicDetailResponseVO responseVO = topicService.getTopicById(topicId);
             
             // 构建成功响应
-            result.put("code", 200);
-            result.put("message", "查询成功");
-            result.put("data", responseVO);
-            
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok(ApiResponseVO.success("查询成功", responseVO));
             
         } catch (Exception e) {
             // 构建失败响应
-            result.put("code", 500);
-            result.put("message", "查询专题详情失败：" + e.getMessage());
-            result.put("data", null);
-            
-            return ResponseEntity.status(500).body(result);
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "查询专题详情失败：" + e.getMessage()));
         }
     }
     
@@ -145,28 +107,40 @@ public class TopicController {
      * @return 专题列表
      */
     @GetMapping("/recent")
-    public ResponseEntity<Map<String, Object>> getRecentTopics() {
-        
-        Map<String, Object> result = new HashMap<>();
+    public ResponseEntity<ApiResponseVO<List<TopicListItemVO>>> getRecentTopics() {
         
         try {
             // 调用Service查询最近专题列表
             List<TopicListItemVO> topicList = topicService.getRecentTopics();
             
             // 构建成功响应
-            result.put("code", 200);
-            result.put("message", "查询成功");
-            result.put("data", topicList);
-            
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok(ApiResponseVO.success("查询成功", topicList));
             
         } catch (Exception e) {
             // 构建失败响应
-            result.put("code", 500);
-            result.put("message", "查询最近专题列表失败：" + e.getMessage());
-            result.put("data", null);
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "查询最近专题列表失败：" + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 获取最近发布的专题精简列表
+     * 与/recent相同的专题，但不包含HTML文本，用于列表页
+     * 
+     * @return 专题精简列表
+     */
+    @GetMapping("/recent/brief")
+    public ResponseEntity<ApiResponseVO<List<TopicBriefVO>>> getRecentTopicBriefs() {
+        
+        try {
+            // 调用Service查询最近专题精简列表
+            List<TopicBriefVO> topicList = topicService.getRecentTopicBriefs();
+            
+            // 构建成功响应
+            return ResponseEntity.ok(ApiResponseVO.success("查询成功", topicList));
             
-            return ResponseEntity.status(500).body(result);
+        } catch (Exception e) {
+            // 构建失败响应
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "查询最近专题列表失败：" + e.getMessage()));
         }
     }
     
@@ -177,72 +151,44 @@ public class TopicController {
      * @return 更新结果
      */
     @PostMapping("/update")
-    public ResponseEntity<Map<String, Object>> updateTopic(
+    public ResponseEntity<ApiResponseVO<Boolean>> updateTopic(
             @RequestBody TopicUpdateRequestVO requestVO) {
         
-        Map<String, Object> result = new HashMap<>();
-        
         try {
             // 参数验证
             if (requestVO.getTopicId() == null) {
-                result.put("code", 400);
-                result.put("message", "专题ID不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "专题ID不能为空"));
             }
             
             if (requestVO.getHtmlContent() == null || requestVO.getHtmlContent().trim().isEmpty()) {
-                result.put("code", 400);
-                result.put("message", "HTML文本不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "HTML文本不能为空"));
             }
             
             if (requestVO.getCreator() == null || requestVO.getCreator().trim().isEmpty()) {
-                result.put("code", 400);
-                result.put("message", "创建人不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "创建人不能为空"));
             }
             
             if (requestVO.getTopicTitle() == null || requestVO.getTopicTitle().trim().isEmpty()) {
-                result.put("code", 400);
-                result.put("message", "专题标题不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "专题标题不能为空"));
             }
             
             if (requestVO.getTopicBriefIntroduction() == null || requestVO.getTopicBriefIntroduction().trim().isEmpty()) {
-                result.put("code", 400);
-                result.put("message", "专题简介不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "专题简介不能为空"));
             }
             
             if (requestVO.getTopicCategory() == null) {
-                result.put("code", 400);
-                result.put("message", "专题分类不能为空");
-                result.put("data", null);
-                return ResponseEntity.badRequest().body(result);
+                return ResponseEntity.badRequest().body(ApiResponseVO.error(400, "专题分类不能为空"));
             }
             
             // 调用Service更新专题
             boolean updateSuccess = topicService.updateTopic(requestVO);
             
             // 构建成功响应
-            result.put("code", 200);
-            result.put("message", "图书专题更新成功");
-            result.put("data", updateSuccess);
-            
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok(ApiResponseVO.success("图书专题更新成功", updateSuccess));
             
         } catch (Exception e) {
             // 构建失败响应
-            result.put("code", 500);
-            result.put("message", "图书专题更新失败：" + e.getMessage());
-            result.put("data", null);
-            
-            return ResponseEntity.status(500).body(result);
+            return ResponseEntity.status(500).body(ApiResponseVO.error(500, "图书专题更新失败：" + e.getMessage()));
         }
     }
 }
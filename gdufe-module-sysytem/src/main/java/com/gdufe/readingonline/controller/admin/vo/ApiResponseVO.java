@@ -0,0 +1,36 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 统一响应结构：{code, message, data}
+ * 使用record代替HashMap，字段顺序固定，序列化时不需要逐个写入键值对
+ * 
+ * @param <T> 数据类型
+ * @author gdufe
+ * @date 2025
+ */
+public record ApiResponseVO<T>(int code, String message, T data) {
+    
+    /**
+     * 成功响应
+     */
+    public static <T> ApiResponseVO<T> success(String message, T data) {
+        return new ApiResponseVO<>(200, message, data);
+    }
+    
+    /**
+     * 失败响应（data为null）
+     */
+    public static <T> ApiResponseVO<T> error(int code, String message) {
+        return new ApiResponseVO<>(code, message, null);
+    }
+    
+    /**
+     * 是否成功
+     */
+    @JsonIgnore
+    public boolean isSuccess() {
+        return code == 200;
+    }
+}
@@ -0,0 +1,23 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+import java.time.LocalDate;
+
+/**
+ * 图书详情
+ * 
+ * @param bookName 书名
+ * @param bookIsbn ISBN
+ * @param bookAuthor 作者
+ * @param bookPress 出版社
+ * @param bookPublicationTime 出版时间
+ * @param bookUrl 图书链接
+ * @param bookBriefIntroduction 简介
+ * @param bookPictureUrl 封面图片URL
+ * @param bookSource 来源平台名称（畅想之星、京东）
+ * @author gdufe
+ * @date 2025
+ */
+public record BookDetailVO(String bookName, String bookIsbn, String bookAuthor, String bookPress,
+                           LocalDate bookPublicationTime, String bookUrl, String bookBriefIntroduction,
+                           String bookPictureUrl, String bookSource) {
+}
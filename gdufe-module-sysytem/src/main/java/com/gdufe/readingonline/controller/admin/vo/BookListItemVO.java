@@ -0,0 +1,18 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+/**
+ * 按书名搜索结果中的单本图书
+ * 
+ * @param bookName 书名
+ * @param bookIsbn ISBN
+ * @param bookAuthor 作者
+ * @param bookPress 出版社
+ * @param bookUrl 图书链接
+ * @param bookSource 来源平台名称（畅想之星、京东）
+ * @param bookPictureUrl 封面图片URL
+ * @author gdufe
+ * @date 2025
+ */
+public record BookListItemVO(String bookName, String bookIsbn, String bookAuthor, String bookPress,
+                             String bookUrl, String bookSource, String bookPictureUrl) {
+}
@@ -0,0 +1,18 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+/**
+ * 按分类查询结果中的单本图书
+ * 
+ * @param bookName 书名
+ * @param bookIsbn ISBN
+ * @param bookAuthor 作者
+ * @param bookPress 出版社
+ * @param bookUrl 图书链接
+ * @param bookPictureUrl 封面图片URL
+ * @param bookBriefIntroduction 简介
+ * @author gdufe
+ * @date 2025
+ */
+public record CategoryBookItemVO(String bookName, String bookIsbn, String bookAuthor, String bookPress,
+                                 String bookUrl, String bookPictureUrl, String bookBriefIntroduction) {
+}
@@ -0,0 +1,20 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 游标分页信息
+ * 不统计总数时不返回total和totalEstimated
+ * 
+ * @param size 每页大小
+ * @param hasNext 是否有下一页
+ * @param nextCursor 下一页游标（没有下一页时为null）
+ * @param total 总记录数
+ * @param totalEstimated 总记录数是否为缓存的估算值
+ * @author gdufe
+ * @date 2025
+ */
+public record CursorPageInfoVO(int size, boolean hasNext, String nextCursor,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) Long total,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) Boolean totalEstimated) {
+}
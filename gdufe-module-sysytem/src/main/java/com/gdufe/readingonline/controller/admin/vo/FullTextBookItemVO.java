@@ -0,0 +1,23 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+import java.util.Map;
+
+/**
+ * 全文检索结果中的单本图书，字段与按书名搜索一致，另外包含相关度和高亮片段
+ * 
+ * @param bookName 书名
+ * @param bookIsbn ISBN
+ * @param bookAuthor 作者
+ * @param bookPress 出版社
+ * @param bookUrl 图书链接
+ * @param bookSource 来源平台名称（畅想之星、京东）
+ * @param bookPictureUrl 封面图片URL
+ * @param score 相关度
+ * @param highlights 高亮片段（字段名 -> 片段）
+ * @author gdufe
+ * @date 2025
+ */
+public record FullTextBookItemVO(String bookName, String bookIsbn, String bookAuthor, String bookPress,
+                                 String bookUrl, String bookSource, String bookPictureUrl,
+                                 float score, Map<String, String> highlights) {
+}
@@ -0,0 +1,15 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+/**
+ * 导入问题按工作表和原因的汇总
+ * 
+ * @param sheet 工作表（多文件导入时为"文件名/工作表名"，单个文件导入时为null）
+ * @param reason 原因代码（row-empty、isbn-empty、write-failed等）
+ * @param description 原因说明
+ * @param count 行数
+ * @param rowRanges 行号区间，如"3-50、60"，没有行号时为null
+ * @author gdufe
+ * @date 2025
+ */
+public record ImportIssueSummaryVO(String sheet, String reason, String description, int count, String rowRanges) {
+}
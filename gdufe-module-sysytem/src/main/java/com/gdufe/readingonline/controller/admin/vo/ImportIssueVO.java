@@ -0,0 +1,15 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+/**
+ * 导入过程中跳过或失败的一行
+ * 
+ * @param sheet 工作表（多文件导入时为"文件名/工作表名"，单个文件导入时为null）
+ * @param rowNumber Excel行号（从1开始），写库时定位到的错误数据没有行号，为null
+ * @param reason 原因代码（row-empty、isbn-empty、write-failed等）
+ * @param description 原因说明
+ * @param detail 补充说明（如异常信息），可以为null
+ * @author gdufe
+ * @date 2025
+ */
+public record ImportIssueVO(String sheet, Integer rowNumber, String reason, String description, String detail) {
+}
@@ -0,0 +1,125 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Excel异步导入任务VO
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Data
+public class ImportJobVO {
+    
+    /**
+     * 任务ID
+     */
+    private String jobId;
+    
+    /**
+     * 文件名
+     */
+    private String fileName;
+    
+    /**
+     * 文件来源（0:畅想之星, 1:京东）
+     */
+    private String fileSource;
+    
+    /**
+     * Excel类型（0:图书详情表, 1:封面图详情表）
+     */
+    private Integer excelCategory;
+    
+    /**
+     * 任务状态（PENDING:排队中, RUNNING:导入中, SUCCEEDED:导入成功, FAILED:导入失败）
+     */
+    private String status;
+    
+    /**
+     * 结果说明
+     */
+    private String message;
+    
+    /**
+     * 提交时间
+     */
+    private String submitTime;
+    
+    /**
+     * 开始时间
+     */
+    private String startTime;
+    
+    /**
+     * 结束时间
+     */
+    private String finishTime;
+    
+    /**
+     * 已解析的数据行数
+     */
+    private Integer rowsParsed;
+    
+    /**
+     * 已提交写入的批次数
+     */
+    private Integer batchesSubmitted;
+    
+    /**
+     * 已写入完成的批次数
+     */
+    private Integer batchesCommitted;
+    
+    /**
+     * 已成功写入数据库的记录数
+     */
+    private Integer rowsWritten;
+    
+    /**
+     * 写入数据库失败的记录数
+     */
+    private Integer rowsFailed;
+    
+    /**
+     * 跳过的行数，行号和原因通过/{id}/issues分页查询
+     */
+    private Integer rowsSkipped;
+    
+    /**
+     * 跳过、失败以及字段值无法识别的记录总数
+     */
+    private Integer issueCount;
+    
+    /**
+     * 跳过和失败的原因汇总（按工作表和原因），逐行明细通过/{id}/issues分页查询
+     */
+    private List<ImportIssueSummaryVO> issueSummaries;
+    
+    /**
+     * Excel总行数（任务结束后返回）
+     */
+    private Integer totalRows;
+    
+    /**
+     * 成功处理的记录数（任务结束后返回）
+     */
+    private Integer finishedCount;
+    
+    /**
+     * 新增的记录数（任务结束后返回）
+     */
+    private Integer createdCount;
+    
+    /**
+     * 内容有变化而更新的记录数（任务结束后返回）
+     */
+    private Integer updatedCount;
+    
+    /**
+     * 内容未变化而跳过写入的记录数（任务结束后返回）
+     */
+    private Integer unchangedCount;
+}
@@ -0,0 +1,14 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+import java.util.List;
+
+/**
+ * 分页数据：当前页数据列表和分页信息
+ * 
+ * @param <T> 列表元素类型
+ * @param <P> 分页信息类型（PageInfoVO或CursorPageInfoVO）
+ * @author gdufe
+ * @date 2025
+ */
+public record PageDataVO<T, P>(List<T> list, P pageInfo) {
+}
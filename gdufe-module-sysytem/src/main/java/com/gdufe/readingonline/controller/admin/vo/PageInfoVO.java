@@ -0,0 +1,24 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+/**
+ * 页码分页信息
+ * 
+ * @param current 当前页
+ * @param size 每页大小
+ * @param total 总记录数
+ * @param pages 总页数
+ * @param hasNext 是否有下一页
+ * @param hasPrevious 是否有上一页
+ * @author gdufe
+ * @date 2025
+ */
+public record PageInfoVO(long current, long size, long total, long pages, boolean hasNext, boolean hasPrevious) {
+    
+    /**
+     * 根据当前页、每页大小和总记录数计算分页信息
+     */
+    public static PageInfoVO of(long current, long size, long total) {
+        long pages = size == 0 ? 0 : (total + size - 1) / size;
+        return new PageInfoVO(current, size, total, pages, current < pages, current > 1);
+    }
+}
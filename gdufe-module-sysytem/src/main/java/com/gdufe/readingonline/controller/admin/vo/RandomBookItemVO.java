@@ -0,0 +1,18 @@
+package com.gdufe.readingonline.controller.admin.vo;
+
+/**
+ * 随机图书列表中的单本图书
+ * 
+ * @param bookName 书名
+ * @param bookAuthor 作者
+ * @param bookIsbn ISBN
+ * @param bookPress 出版社
+ * @param bookUrl 图书链接
+ * @param bookSource 来源平台（0-畅想之星, 1-京东）
+ * @param bookPictureUrl 封面图片URL
+ * @author gdufe
+ * @date 2025
+ */
+public record RandomBookItemVO(String bookName, String bookAuthor, String bookIsbn, String bookPress,
+                               String bookUrl, Integer bookSource, String bookPictureUrl) {
+}
@@ -1,10 +1,12 @@
 package com.gdufe.readingonline.dal.dataobject;
 
 import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -86,6 +88,11 @@ public class GdufeLibraryEbookDO {
      */
     private Integer bookSource;
     
+    /**
+     * 内容指纹（导入内容字段的MD5），用于重复导入时跳过内容未变化的记录
+     */
+    private String bookContentHash;
+    
     /**
      * 逻辑删除（0:未删除, 1:已删除）
      */
@@ -100,4 +107,10 @@ public class GdufeLibraryEbookDO {
      * 创建时间
      */
     private LocalDateTime createTime;
+    
+    /**
+     * 全文检索的相关度，只在按相关度游标分页查询时有值，不对应表字段
+     */
+    @TableField(exist = false)
+    private BigDecimal relevance;
 }
@@ -0,0 +1,56 @@
+package com.gdufe.readingonline.dal.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程使用的数据源类型
+ * 未设置时使用OLTP连接池；导入线程池的任务和同步导入请求切换到IMPORT连接池，
+ * 大文件导入最多占满导入连接池，不会占用搜索接口的连接
+ * 
+ * 必须在开启事务或获取连接之前设置，事务内切换不生效
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public final class DataSourceContextHolder {
+    
+    private static final ThreadLocal<DataSourceType> CONTEXT = new ThreadLocal<>();
+    
+    private DataSourceContextHolder() {
+    }
+    
+    /**
+     * 当前线程的数据源类型，未设置时为OLTP
+     */
+    public static DataSourceType get() {
+        DataSourceType type = CONTEXT.get();
+        return type != null ? type : DataSourceType.OLTP;
+    }
+    
+    /**
+     * 使用指定数据源执行，结束后恢复原来的数据源类型
+     */
+    public static <T> T callWith(DataSourceType type, Supplier<T> action) {
+        DataSourceType previous = CONTEXT.get();
+        CONTEXT.set(type);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CONTEXT.remove();
+            } else {
+                CONTEXT.set(previous);
+            }
+        }
+    }
+    
+    /**
+     * 包装任务，使其在执行线程上使用指定数据源
+     */
+    public static Runnable wrap(DataSourceType type, Runnable task) {
+        return () -> callWith(type, () -> {
+            task.run();
+            return null;
+        });
+    }
+}
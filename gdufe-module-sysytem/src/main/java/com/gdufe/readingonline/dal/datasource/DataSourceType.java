@@ -0,0 +1,20 @@
+package com.gdufe.readingonline.dal.datasource;
+
+/**
+ * 数据源类型
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public enum DataSourceType {
+    
+    /**
+     * 在线查询和专题维护等短事务（默认）
+     */
+    OLTP,
+    
+    /**
+     * Excel导入的批量写入
+     */
+    IMPORT
+}
@@ -0,0 +1,17 @@
+package com.gdufe.readingonline.dal.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 按当前线程的数据源类型选择连接池
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return DataSourceContextHolder.get();
+    }
+}
@@ -5,6 +5,9 @@ import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,4 +27,118 @@ public interface GdufeLibraryEbookMapper extends BaseMapper<GdufeLibraryEbookDO>
      * @return 影响的记录数
      */
     int batchInsertOrUpdate(@Param("list") List<GdufeLibraryEbookDO> ebookList);
+    
+    /**
+     * 插入或更新单条电子书数据（基于ISBN）
+     * SQL文本固定，在BATCH执行器中配合rewriteBatchedStatements由驱动合并为多行语句
+     * 
+     * @param ebook 电子书数据
+     * @return 影响的记录数
+     */
+    int insertOrUpdate(GdufeLibraryEbookDO ebook);
+    
+    /**
+     * 批量查询已存在记录的内容指纹
+     * 
+     * @param isbnList 待查询的ISBN列表
+     * @return 已存在的记录，包括已软删除的记录（只包含bookIsbn、bookContentHash和isDeleted字段）
+     */
+    List<GdufeLibraryEbookDO> selectContentHashes(@Param("isbnList") Collection<String> isbnList);
+    
+    /**
+     * 查询指定来源下已存在的ISBN
+     * 
+     * @param bookSource 图书来源（0:畅想之星, 1:京东）
+     * @param isbnList 待查询的ISBN列表
+     * @return 数据库中已存在的ISBN
+     */
+    List<String> selectExistingIsbns(@Param("bookSource") Integer bookSource, 
+                                     @Param("isbnList") Collection<String> isbnList);
+    
+    /**
+     * 批量更新封面图URL（基于ISBN和图书来源）
+     * 一条UPDATE语句关联由ISBN和封面图URL组成的派生表完成整批更新
+     * 
+     * @param coverList 封面图数据列表（只使用bookIsbn和bookPictureUrl字段，ISBN不能重复）
+     * @param bookSource 图书来源（0:畅想之星, 1:京东）
+     * @param updateTime 更新时间
+     * @return 匹配的记录数
+     */
+    int batchUpdateCoverUrl(@Param("list") List<GdufeLibraryEbookDO> coverList, 
+                            @Param("bookSource") Integer bookSource, 
+                            @Param("updateTime") LocalDateTime updateTime);
+    
+    /**
+     * 通过书名全文索引分页检索图书，按相关度排序
+     * 
+     * @param phrase 布尔模式的短语查询（已加双引号）
+     * @param offset 偏移量
+     * @param size 每页大小
+     * @return 图书列表（只包含列表展示需要的字段）
+     */
+    List<GdufeLibraryEbookDO> searchBooksByNameFulltext(@Param("phrase") String phrase, 
+                                                       @Param("offset") long offset, 
+                                                       @Param("size") long size);
+    
+    /**
+     * 统计书名全文索引命中的图书数量
+     * 
+     * @param phrase 布尔模式的短语查询（已加双引号）
+     * @return 命中数量
+     */
+    long countBooksByNameFulltext(@Param("phrase") String phrase);
+    
+    /**
+     * 通过书名全文索引按游标分页检索图书，按相关度降序、主键升序排序
+     * 
+     * 注意：游标只省去了偏移分页扫描并丢弃前面各页的开销，每一页的代价仍与命中总数成正比，而不是与页大小成正比。
+     * InnoDB全文索引不能按相关度顺序读取，也不能从某个相关度开始定位，每次查询都要对所有命中的记录计算相关度，
+     * 再用大小为limit的堆筛选出游标之后的前limit条。常用字、命中几十万条的关键字，每翻一页都要付出一次完整的检索开销，
+     * 这类检索更适合使用/search/books/fulltext接口（Lucene索引，按评分顺序取前N条，并有最大结果窗口限制）
+     * 
+     * @param phrase 布尔模式的短语查询（已加双引号）
+     * @param lastRelevance 上一页最后一条记录的相关度（第一页为null）
+     * @param lastId 上一页最后一条记录的主键
+     * @param limit 查询条数
+     * @return 图书列表（只包含列表展示需要的字段、id和relevance）
+     */
+    List<GdufeLibraryEbookDO> searchBooksByNameFulltextAfter(@Param("phrase") String phrase, 
+                                                            @Param("lastRelevance") BigDecimal lastRelevance, 
+                                                            @Param("lastId") long lastId, 
+                                                            @Param("limit") int limit);
+    
+    /**
+     * 按主键顺序分页查询未删除图书的主键和主分类，用于随机抽样
+     * 
+     * @param afterId 上一页最后一条记录的主键
+     * @param limit 每页大小
+     * @return 图书列表（只包含id和bookPrimaryClassification字段）
+     */
+    List<GdufeLibraryEbookDO> selectLiveIdsAfterId(@Param("afterId") long afterId, @Param("limit") int limit);
+    
+    /**
+     * 按主键查询未删除的图书，用于随机抽样
+     * 
+     * @param idList 主键列表
+     * @return 图书列表（只包含列表展示需要的字段和id，顺序不确定）
+     */
+    List<GdufeLibraryEbookDO> selectRandomSampleByIds(@Param("idList") Collection<Long> idList);
+    
+    /**
+     * 按主键顺序分页查询未删除的图书，用于全量重建搜索索引
+     * 
+     * @param afterId 上一页最后一条记录的主键
+     * @param limit 每页大小
+     * @return 图书列表（只包含搜索索引需要的字段）
+     */
+    List<GdufeLibraryEbookDO> selectIndexDocumentsAfterId(@Param("afterId") long afterId, 
+                                                          @Param("limit") int limit);
+    
+    /**
+     * 按ISBN查询图书（包括已删除的），用于增量更新搜索索引
+     * 
+     * @param isbnList ISBN列表
+     * @return 图书列表（只包含搜索索引需要的字段和isDeleted）
+     */
+    List<GdufeLibraryEbookDO> selectIndexDocumentsByIsbns(@Param("isbnList") Collection<String> isbnList);
 }
@@ -0,0 +1,36 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase;
+
+import java.util.Collection;
+
+/**
+ * 电子书导入完成事件
+ * 导入写库结束后发布，携带本次新增或内容有变化的ISBN，供搜索索引、缓存等下游增量更新
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public class EbookImportedEvent {
+    
+    /**
+     * 本次写入（新增或更新）的ISBN
+     */
+    private final Collection<String> isbns;
+    
+    /**
+     * 是否只更新了封面图
+     */
+    private final boolean coverOnly;
+    
+    public EbookImportedEvent(Collection<String> isbns, boolean coverOnly) {
+        this.isbns = isbns;
+        this.coverOnly = coverOnly;
+    }
+    
+    public Collection<String> getIsbns() {
+        return isbns;
+    }
+    
+    public boolean isCoverOnly() {
+        return coverOnly;
+    }
+}
@@ -19,6 +19,38 @@ public interface ExcelParseService {
      */
     ParseResult parseAndImportExcel(MultipartFile excelFile, String fileSource);
     
+    /**
+     * 解析Excel文件并导入数据库，同时实时更新导入进度
+     * 
+     * @param excelFile Excel文件
+     * @param fileSource 文件来源（0:畅想之星, 1:京东）
+     * @param progress 导入进度
+     * @return 导入结果
+     */
+    ParseResult parseAndImportExcel(MultipartFile excelFile, String fileSource, ImportProgress progress);
+    
+    /**
+     * 并行解析多个Excel文件的所有工作表并导入数据库
+     * 每个工作表单独识别标题行，解析在解析线程池中并行进行，写库共用一条流水线，统计信息合并为一个结果
+     * 
+     * @param excelFiles Excel文件列表
+     * @param fileSource 文件来源（0:畅想之星, 1:京东）
+     * @param progress 导入进度
+     * @return 导入结果
+     */
+    ParseResult parseAndImportExcelFiles(java.util.List<MultipartFile> excelFiles, String fileSource, ImportProgress progress);
+    
+    /**
+     * 解析Excel文件并通过LOAD DATA LOCAL INFILE批量装载到数据库，用于供应商书目的全量刷新
+     * 解析结果先写入临时文件，再一次性装入临时表并按ISBN合并到电子书表
+     * 
+     * @param excelFile Excel文件
+     * @param fileSource 文件来源（0:畅想之星, 1:京东）
+     * @param progress 导入进度
+     * @return 导入结果
+     */
+    ParseResult bulkLoadExcel(MultipartFile excelFile, String fileSource, ImportProgress progress);
+    
     /**
      * 解析封面图Excel文件并更新数据库中的封面图URL
      * 
@@ -28,6 +60,16 @@ public interface ExcelParseService {
      */
     ParseResult parseAndImportCoverImages(MultipartFile excelFile, String fileSource);
     
+    /**
+     * 解析封面图Excel文件并更新数据库中的封面图URL，同时实时更新导入进度
+     * 
+     * @param excelFile Excel文件
+     * @param fileSource 文件来源（0:畅想之星, 1:京东）
+     * @param progress 导入进度
+     * @return 导入结果
+     */
+    ParseResult parseAndImportCoverImages(MultipartFile excelFile, String fileSource, ImportProgress progress);
+    
     /**
      * 解析结果类
      */
@@ -35,9 +77,13 @@ public interface ExcelParseService {
         private boolean success;
         private String message;
         private int totalRows;
-        private int insertedRows;
+        private int insertedRows; // 成功处理的行数（新增 + 更新 + 内容未变化）
+        private int createdRows; // 新增的行数
+        private int updatedRows; // 内容有变化而更新的行数
+        private int unchangedRows; // 内容未变化而跳过写入的行数
         private int skippedRows;
         private java.util.List<Integer> skippedRowsList; // 跳过的行号列表
+        private java.util.Map<String, java.util.List<Integer>> skippedRowsBySheet; // 多工作表导入时按"文件名/工作表名"分组的跳过行号
         
         // Getters and Setters
         public boolean isSuccess() { return success; }
@@ -52,10 +98,22 @@ public interface ExcelParseService {
         public int getInsertedRows() { return insertedRows; }
         public void setInsertedRows(int insertedRows) { this.insertedRows = insertedRows; }
         
+        public int getCreatedRows() { return createdRows; }
+        public void setCreatedRows(int createdRows) { this.createdRows = createdRows; }
+        
+        public int getUpdatedRows() { return updatedRows; }
+        public void setUpdatedRows(int updatedRows) { this.updatedRows = updatedRows; }
+        
+        public int getUnchangedRows() { return unchangedRows; }
+        public void setUnchangedRows(int unchangedRows) { this.unchangedRows = unchangedRows; }
+        
         public int getSkippedRows() { return skippedRows; }
         public void setSkippedRows(int skippedRows) { this.skippedRows = skippedRows; }
         
         public java.util.List<Integer> getSkippedRowsList() { return skippedRowsList; }
         public void setSkippedRowsList(java.util.List<Integer> skippedRowsList) { this.skippedRowsList = skippedRowsList; }
+        
+        public java.util.Map<String, java.util.List<Integer>> getSkippedRowsBySheet() { return skippedRowsBySheet; }
+        public void setSkippedRowsBySheet(java.util.Map<String, java.util.List<Integer>> skippedRowsBySheet) { this.skippedRowsBySheet = skippedRowsBySheet; }
     }
 }
@@ -1,6 +1,7 @@
 package com.gdufe.readingonline.service.excelUploadAndPrase;
 
 import org.springframework.web.multipart.MultipartFile;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,10 +20,34 @@ public interface ExcelUploadService {
      * @param fileSize 文件大小
      * @param fileSource 文件来源
      * @param excelCategory Excel类型（0:图书详情表, 1:封面图详情表）
+     * @param importMode 图书详情表的导入方式（upsert:分批插入或更新, bulk-load:LOAD DATA批量装载）
      * @return 处理结果
      */
     Map<String, Object> processExcelUpload(MultipartFile excelFile, String fileName, 
-                                          Long fileSize, String fileSource, Integer excelCategory);
+                                          Long fileSize, String fileSource, Integer excelCategory, 
+                                          String importMode);
+    
+    /**
+     * 处理多个Excel文件（图书详情表）上传，解析所有工作表并导入数据库
+     * 
+     * @param excelFiles Excel文件列表
+     * @param fileSource 文件来源
+     * @return 处理结果
+     */
+    Map<String, Object> processExcelFilesUpload(List<MultipartFile> excelFiles, String fileSource);
+    
+    /**
+     * 校验Excel文件并提交异步导入任务，立即返回任务ID
+     * 
+     * @param excelFile Excel文件
+     * @param fileName 文件名
+     * @param fileSource 文件来源
+     * @param excelCategory Excel类型（0:图书详情表, 1:封面图详情表）
+     * @param importMode 图书详情表的导入方式（upsert:分批插入或更新, bulk-load:LOAD DATA批量装载）
+     * @return 提交结果，包含任务ID
+     */
+    Map<String, Object> submitExcelUploadJob(MultipartFile excelFile, String fileName, 
+                                            String fileSource, Integer excelCategory, String importMode);
     
     /**
      * 验证Excel文件
@@ -0,0 +1,228 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase;
+
+import com.gdufe.readingonline.controller.admin.vo.ImportIssueSummaryVO;
+import com.gdufe.readingonline.controller.admin.vo.ImportIssueVO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Excel导入问题汇总
+ * 跳过和失败的行不再逐行写日志，而是按工作表和原因汇总为行数和连续的行号区间，导入结束时输出一条汇总日志；
+ * 逐行明细保留在内存中（最多{@value #MAX_ISSUE_DETAILS}条），通过导入任务接口按需分页查询
+ * 
+ * 解析线程和写入线程并发记录，所有方法都是线程安全的
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public class ImportDiagnostics {
+    
+    /**
+     * 每次导入保留的逐行明细条数，超出后只计入汇总
+     */
+    public static final int MAX_ISSUE_DETAILS = 10000;
+    
+    /**
+     * 汇总中每个原因最多列出的行号区间数，完整的行号通过逐行明细查询
+     */
+    private static final int MAX_LISTED_RANGES = 50;
+    
+    /**
+     * 原因代码（与{@link ImportMetrics}的reason标签一致）对应的说明
+     */
+    private static final Map<String, String> REASON_DESCRIPTIONS = Map.of(
+        ImportMetrics.REASON_ROW_EMPTY, "行为空",
+        ImportMetrics.REASON_ISBN_EMPTY, "ISBN号为空",
+        ImportMetrics.REASON_ISBN_COLUMN_MISSING, "Excel文件中缺少ISBN列",
+        ImportMetrics.REASON_REQUIRED_FIELD_MISSING, "书名为空或必填字段缺失",
+        ImportMetrics.REASON_PARSE_ERROR, "解析异常",
+        ImportMetrics.REASON_WRITE_FAILED, "写入数据库失败",
+        ImportMetrics.REASON_COVER_URL_EMPTY, "封面图URL为空",
+        ImportMetrics.REASON_NOT_MATCHED, "未找到匹配记录",
+        ImportMetrics.REASON_LOAD_REJECTED, "装载时数据被截断或无法转换",
+        ImportMetrics.REASON_CATEGORY_UNKNOWN, "一级分类无法识别（已按空白导入）");
+    
+    /**
+     * 工作表+原因 -> 汇总，按首次出现的顺序排列
+     */
+    private final Map<IssueKey, ReasonStats> reasonStats = new LinkedHashMap<>();
+    
+    private final List<ImportIssueVO> issues = new ArrayList<>();
+    
+    private int issueCount;
+    
+    /**
+     * 记录一个跳过或失败的行，或者字段值无法识别、按默认值导入的行
+     * 
+     * @param sheet 工作表（多文件导入时为"文件名/工作表名"，单个文件导入时为null）
+     * @param rowNumber Excel行号（从1开始）
+     * @param reason 原因代码
+     * @param detail 补充说明（如异常信息），可以为null
+     */
+    public synchronized void recordRow(String sheet, int rowNumber, String reason, String detail) {
+        reasonStats.computeIfAbsent(new IssueKey(sheet, reason), key -> new ReasonStats()).addRow(rowNumber);
+        addIssue(new ImportIssueVO(sheet, rowNumber, reason, describe(reason), detail));
+    }
+    
+    /**
+     * 记录一条无法对应到行号的问题（如写库时定位到的错误数据）
+     * 
+     * @param reason 原因代码
+     * @param detail 补充说明，如ISBN、书名和错误详情
+     */
+    public synchronized void recordIssue(String reason, String detail) {
+        reasonStats.computeIfAbsent(new IssueKey(null, reason), key -> new ReasonStats()).count++;
+        addIssue(new ImportIssueVO(null, null, reason, describe(reason), detail));
+    }
+    
+    private void addIssue(ImportIssueVO issue) {
+        issueCount++;
+        if (issues.size() < MAX_ISSUE_DETAILS) {
+            issues.add(issue);
+        }
+    }
+    
+    /**
+     * 问题总数（包括超出明细上限、只计入汇总的部分）
+     */
+    public synchronized int getIssueCount() {
+        return issueCount;
+    }
+    
+    /**
+     * 保留的逐行明细条数
+     */
+    public synchronized int getIssueDetailCount() {
+        return issues.size();
+    }
+    
+    /**
+     * 分页查询逐行明细，按记录的先后顺序排列
+     * 
+     * @param offset 起始位置
+     * @param limit 最多返回的条数
+     * @return 明细列表
+     */
+    public synchronized List<ImportIssueVO> getIssues(int offset, int limit) {
+        if (offset >= issues.size() || limit <= 0) {
+            return List.of();
+        }
+        return new ArrayList<>(issues.subList(offset, Math.min(issues.size(), offset + limit)));
+    }
+    
+    /**
+     * 按工作表和原因汇总
+     */
+    public synchronized List<ImportIssueSummaryVO> getSummaries() {
+        List<ImportIssueSummaryVO> summaries = new ArrayList<>(reasonStats.size());
+        for (Map.Entry<IssueKey, ReasonStats> entry : reasonStats.entrySet()) {
+            IssueKey key = entry.getKey();
+            ReasonStats stats = entry.getValue();
+            summaries.add(new ImportIssueSummaryVO(key.sheet, key.reason, describe(key.reason), stats.count, stats.formatRanges()));
+        }
+        return summaries;
+    }
+    
+    /**
+     * 生成一条汇总日志，如"ISBN号为空 120行（第3-50、60行）；写入数据库失败 2条"
+     * 
+     * @return 汇总内容，没有问题时返回null
+     */
+    public synchronized String formatSummary() {
+        if (reasonStats.isEmpty()) {
+            return null;
+        }
+        
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<IssueKey, ReasonStats> entry : reasonStats.entrySet()) {
+            IssueKey key = entry.getKey();
+            ReasonStats stats = entry.getValue();
+            if (summary.length() > 0) {
+                summary.append("；");
+            }
+            if (key.sheet != null) {
+                summary.append(key.sheet).append(' ');
+            }
+            summary.append(describe(key.reason)).append(' ').append(stats.count);
+            String rowRanges = stats.formatRanges();
+            if (rowRanges == null) {
+                summary.append("条");
+            } else {
+                summary.append("行（第").append(rowRanges).append("行");
+                if (stats.rangeCount > MAX_LISTED_RANGES) {
+                    summary.append("，共").append(stats.rangeCount).append("段");
+                }
+                summary.append('）');
+            }
+        }
+        return summary.toString();
+    }
+    
+    private static String describe(String reason) {
+        return REASON_DESCRIPTIONS.getOrDefault(reason, reason);
+    }
+    
+    /**
+     * 汇总维度：工作表+原因
+     */
+    private record IssueKey(String sheet, String reason) {
+    }
+    
+    /**
+     * 一个原因的行数和行号区间
+     * 同一工作表的行按顺序解析，连续的行号合并为一个区间，整列缺失等情况只占一个区间；
+     * 只保存前{@link #MAX_LISTED_RANGES}个区间，之后的区间只计数
+     */
+    private static class ReasonStats {
+        private int count;
+        // 行号区间，每个元素为{起始行号, 结束行号}
+        private final List<int[]> ranges = new ArrayList<>();
+        private int rangeCount;
+        private int lastRowNumber;
+        
+        void addRow(int rowNumber) {
+            count++;
+            if (rangeCount > 0 && rowNumber == lastRowNumber + 1) {
+                // 接在上一个区间后面，上一个区间已保存时延长它
+                if (ranges.size() == rangeCount) {
+                    ranges.get(ranges.size() - 1)[1] = rowNumber;
+                }
+            } else {
+                rangeCount++;
+                if (ranges.size() < MAX_LISTED_RANGES) {
+                    ranges.add(new int[]{rowNumber, rowNumber});
+                }
+            }
+            lastRowNumber = rowNumber;
+        }
+        
+        /**
+         * 格式化行号区间，如"3-50、60"，区间过多时只列出前面的区间并以"等"结尾
+         * 
+         * @return 行号区间，没有行号时返回null
+         */
+        String formatRanges() {
+            if (ranges.isEmpty()) {
+                return null;
+            }
+            
+            StringBuilder text = new StringBuilder();
+            for (int[] range : ranges) {
+                if (text.length() > 0) {
+                    text.append('、');
+                }
+                text.append(range[0]);
+                if (range[1] != range[0]) {
+                    text.append('-').append(range[1]);
+                }
+            }
+            if (rangeCount > ranges.size()) {
+                text.append('等');
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 导入指标
+ * 记录打开工作簿耗时、解析行数与速率、每批写入耗时分布、二分重试次数、按原因统计的跳过行数和每次导入的堆内存占用，
+ * 通过Actuator的/actuator/prometheus端点以Prometheus格式导出
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Component
+public class ImportMetrics {
+    
+    /**
+     * 导入类型：逐批写入的图书数据导入
+     */
+    public static final String TYPE_EBOOK = "ebook";
+    
+    /**
+     * 导入类型：LOAD DATA批量装载的图书数据导入
+     */
+    public static final String TYPE_BULK_LOAD = "bulk-load";
+    
+    /**
+     * 导入类型：封面图导入
+     */
+    public static final String TYPE_COVER = "cover";
+    
+    /**
+     * 跳过原因：行为空
+     */
+    public static final String REASON_ROW_EMPTY = "row-empty";
+    
+    /**
+     * 跳过原因：ISBN为空
+     */
+    public static final String REASON_ISBN_EMPTY = "isbn-empty";
+    
+    /**
+     * 跳过原因：缺少ISBN列
+     */
+    public static final String REASON_ISBN_COLUMN_MISSING = "isbn-column-missing";
+    
+    /**
+     * 跳过原因：书名为空或必填字段缺失
+     */
+    public static final String REASON_REQUIRED_FIELD_MISSING = "required-field-missing";
+    
+    /**
+     * 跳过原因：解析时抛出异常
+     */
+    public static final String REASON_PARSE_ERROR = "parse-error";
+    
+    /**
+     * 跳过原因：二分重试后仍写入失败
+     */
+    public static final String REASON_WRITE_FAILED = "write-failed";
+    
+    /**
+     * 跳过原因：封面图URL为空
+     */
+    public static final String REASON_COVER_URL_EMPTY = "cover-url-empty";
+    
+    /**
+     * 跳过原因：数据库中没有匹配的记录
+     */
+    public static final String REASON_NOT_MATCHED = "not-matched";
+    
+    /**
+     * 跳过原因：LOAD DATA装入时产生警告（值被截断或转换），该行不参与合并
+     */
+    public static final String REASON_LOAD_REJECTED = "load-rejected";
+    
+    /**
+     * 字段问题：一级分类名称无法识别，该行仍然导入，分类按0（空白）写入
+     */
+    public static final String REASON_CATEGORY_UNKNOWN = "category-unknown";
+    
+    /**
+     * 每解析多少行采样一次堆内存（必须是2的幂）
+     */
+    private static final long HEAP_SAMPLE_INTERVAL_ROWS = 1024;
+    
+    private static final MemoryMXBean MEMORY_MX_BEAN = ManagementFactory.getMemoryMXBean();
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    /**
+     * 按名称和标签缓存的计数器，避免每行都重新构建指标ID
+     */
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    
+    /**
+     * 开始记录一次导入
+     * 
+     * @param type 导入类型
+     * @return 本次导入的指标记录，导入结束时调用{@link ImportRecording#finish(boolean)}
+     */
+    public ImportRecording start(String type) {
+        return new ImportRecording(type);
+    }
+    
+    /**
+     * 记录打开工作簿（转存上传文件、读取工作簿结构和共享字符串表）的耗时
+     * 
+     * @param format 文件格式（xlsx、xls）
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    public void recordWorkbookOpen(String format, long elapsedNanos) {
+        Timer.builder("gdufe.import.workbook.open")
+            .description("打开Excel工作簿的耗时")
+            .tag("format", format)
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * 记录一批数据写入数据库的耗时
+     * 
+     * @param mode 写入方式（multi-values、jdbc-batch、load-data、cover-update）
+     * @param success 是否写入成功（失败时转入二分重试）
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    public void recordBatchWrite(String mode, boolean success, long elapsedNanos) {
+        Timer.builder("gdufe.import.batch.write")
+            .description("每批数据写入数据库的耗时")
+            .tag("mode", mode)
+            .tag("outcome", success ? "success" : "failure")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(5))
+            .maximumExpectedValue(Duration.ofMinutes(5))
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * 记录一次批量写入失败后转入二分重试
+     * 
+     * @param mode 写入方式
+     */
+    public void recordFallback(String mode) {
+        counter("gdufe.import.batch.fallback", "批量写入失败后转入二分重试的批次数", "mode", mode).increment();
+    }
+    
+    /**
+     * 记录二分重试中的一次子批次写入
+     * 
+     * @param mode 写入方式
+     */
+    public void recordFallbackWrite(String mode) {
+        counter("gdufe.import.batch.fallback.writes", "二分重试时子批次的写入次数", "mode", mode).increment();
+    }
+    
+    /**
+     * 记录跳过的行
+     * 
+     * @param type 导入类型
+     * @param reason 跳过原因
+     * @param count 行数
+     */
+    public void recordSkippedRows(String type, String reason, int count) {
+        if (count > 0) {
+            counter("gdufe.import.rows.skipped", "跳过或解析失败的行数", "type", type, "reason", reason).increment(count);
+        }
+    }
+    
+    private Counter counter(String name, String description, String... tags) {
+        return counters.computeIfAbsent(name + "|" + String.join("|", tags),
+            key -> Counter.builder(name).description(description).tags(tags).register(meterRegistry));
+    }
+    
+    private static long heapUsed() {
+        return MEMORY_MX_BEAN.getHeapMemoryUsage().getUsed();
+    }
+    
+    /**
+     * 一次导入的指标记录，可由多个解析线程并发更新
+     * 堆内存在开始时、每解析一定行数时和结束时采样，记录峰值相对开始时的增量；
+     * 同时进行的其他导入和垃圾回收都会影响采样值，只适合观察趋势
+     */
+    public class ImportRecording {
+        
+        private final String type;
+        private final long startNanos = System.nanoTime();
+        private final long startHeapUsed = heapUsed();
+        private final AtomicLong peakHeapUsed = new AtomicLong(startHeapUsed);
+        private final AtomicLong rowsParsed = new AtomicLong();
+        private final Counter rowsParsedCounter;
+        
+        private ImportRecording(String type) {
+            this.type = type;
+            this.rowsParsedCounter = counter("gdufe.import.rows.parsed", "已解析的数据行数", "type", type);
+        }
+        
+        /**
+         * 记录解析了一行数据
+         */
+        public void rowParsed() {
+            rowsParsedCounter.increment();
+            if ((rowsParsed.incrementAndGet() & (HEAP_SAMPLE_INTERVAL_ROWS - 1)) == 0) {
+                sampleHeap();
+            }
+        }
+        
+        /**
+         * 记录跳过了一行数据
+         * 
+         * @param reason 跳过原因
+         */
+        public void rowSkipped(String reason) {
+            recordSkippedRows(type, reason, 1);
+        }
+        
+        /**
+         * 采样当前堆内存占用
+         */
+        public void sampleHeap() {
+            long used = heapUsed();
+            peakHeapUsed.accumulateAndGet(used, Math::max);
+        }
+        
+        /**
+         * 结束记录，写入导入耗时、解析速率和堆内存占用
+         * 
+         * @param success 导入是否成功
+         */
+        public void finish(boolean success) {
+            sampleHeap();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            
+            Timer.builder("gdufe.import.duration")
+                .description("每次导入的总耗时")
+                .tag("type", type)
+                .tag("outcome", success ? "success" : "failure")
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            
+            if (rowsParsed.get() > 0) {
+                DistributionSummary.builder("gdufe.import.parse.rate")
+                    .description("每次导入的解析速率")
+                    .baseUnit("rows_per_second")
+                    .tag("type", type)
+                    .register(meterRegistry)
+                    .record(rowsParsed.get() * 1e9 / Math.max(1, elapsedNanos));
+            }
+            
+            DistributionSummary.builder("gdufe.import.heap.used")
+                .description("每次导入期间堆内存占用峰值相对开始时的增量")
+                .baseUnit("bytes")
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(Math.max(0, peakHeapUsed.get() - startHeapUsed));
+        }
+    }
+}
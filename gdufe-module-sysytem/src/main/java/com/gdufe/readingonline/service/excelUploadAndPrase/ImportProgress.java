@@ -0,0 +1,100 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Excel导入实时进度
+ * 由解析线程和写入线程并发更新，查询接口随时读取
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public class ImportProgress {
+    
+    /**
+     * 已解析的数据行数
+     */
+    private final AtomicInteger rowsParsed = new AtomicInteger();
+    
+    /**
+     * 已提交写入的批次数
+     */
+    private final AtomicInteger batchesSubmitted = new AtomicInteger();
+    
+    /**
+     * 已写入完成的批次数
+     */
+    private final AtomicInteger batchesCommitted = new AtomicInteger();
+    
+    /**
+     * 已成功写入数据库的记录数
+     */
+    private final AtomicInteger rowsWritten = new AtomicInteger();
+    
+    /**
+     * 写入数据库失败的记录数
+     */
+    private final AtomicInteger rowsFailed = new AtomicInteger();
+    
+    /**
+     * 跳过的行数，行号和原因记录在{@link #diagnostics}中
+     */
+    private final AtomicInteger rowsSkipped = new AtomicInteger();
+    
+    /**
+     * 跳过和失败的原因汇总及逐行明细
+     */
+    private final ImportDiagnostics diagnostics = new ImportDiagnostics();
+    
+    public void incrementRowsParsed() {
+        rowsParsed.incrementAndGet();
+    }
+    
+    public void incrementRowsSkipped() {
+        rowsSkipped.incrementAndGet();
+    }
+    
+    public void onBatchSubmitted() {
+        batchesSubmitted.incrementAndGet();
+    }
+    
+    /**
+     * 一个批次写入完成
+     * 
+     * @param writtenCount 成功写入的记录数
+     * @param failedCount 写入失败的记录数
+     */
+    public void onBatchCommitted(int writtenCount, int failedCount) {
+        rowsWritten.addAndGet(writtenCount);
+        rowsFailed.addAndGet(failedCount);
+        batchesCommitted.incrementAndGet();
+    }
+    
+    public int getRowsParsed() {
+        return rowsParsed.get();
+    }
+    
+    public int getBatchesSubmitted() {
+        return batchesSubmitted.get();
+    }
+    
+    public int getBatchesCommitted() {
+        return batchesCommitted.get();
+    }
+    
+    public int getRowsWritten() {
+        return rowsWritten.get();
+    }
+    
+    public int getRowsFailed() {
+        return rowsFailed.get();
+    }
+    
+    public int getRowsSkipped() {
+        return rowsSkipped.get();
+    }
+    
+    public ImportDiagnostics getDiagnostics() {
+        return diagnostics;
+    }
+}
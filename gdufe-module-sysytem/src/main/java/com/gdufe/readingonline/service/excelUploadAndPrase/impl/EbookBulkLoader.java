@@ -0,0 +1,405 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 电子书批量装载器
+ * 全量刷新供应商书目时使用：解析出的数据先写成制表符分隔的文本文件，
+ * 通过LOAD DATA LOCAL INFILE一次性装入临时表，再用一条INSERT ... SELECT ... ON DUPLICATE KEY UPDATE
+ * 按book_ISBN合并到gdufe_library_ebook，数据库交互次数与数据量无关
+ * 
+ * LOAD DATA LOCAL对格式错误的值不报错，而是截断或转换后照常装入并产生警告（相当于IGNORE），
+ * 因此装入后按SHOW WARNINGS中的行号把有警告的行从临时表中删除，不参与合并，作为被拒绝的行返回给调用方
+ * 
+ * 需要数据库开启local_infile；导入连接池的驱动参数allowLoadLocalInfileInPath限定为上传临时目录，
+ * 驱动只允许读取该目录下的文件，装载文件也创建在该目录下，其它连接池和其它目录都不能使用LOAD DATA LOCAL
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Component
+public class EbookBulkLoader {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EbookBulkLoader.class);
+    
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    /**
+     * 临时表，只在当前连接可见，连接归还连接池前删除
+     */
+    private static final String STAGING_TABLE = "gdufe_library_ebook_staging";
+    
+    private static final String COLUMNS = "book_name, book_ISBN, book_author, book_press, book_publication_time, "
+        + "book_url, book_brief_introduction, book_chinese_library_classification, "
+        + "book_subject_classification, book_primary_classification, book_secondary_classification, "
+        + "book_picture_url, book_source, book_content_hash, is_deleted, create_time, update_time";
+    
+    // 从电子书表复制列定义但不复制索引，ISBN重复的行都能装入；row_no记录文件中的行顺序
+    private static final String CREATE_STAGING_SQL = "CREATE TEMPORARY TABLE " + STAGING_TABLE
+        + " SELECT " + COLUMNS + " FROM gdufe_library_ebook LIMIT 0";
+    
+    private static final String ADD_ROW_NO_SQL = "ALTER TABLE " + STAGING_TABLE
+        + " ADD COLUMN row_no INT NOT NULL AUTO_INCREMENT PRIMARY KEY FIRST";
+    
+    // 文件名由驱动按allowLoadLocalInfileInPath校验后读取
+    private static final String LOAD_SQL = "LOAD DATA LOCAL INFILE '%s' INTO TABLE " + STAGING_TABLE
+        + " CHARACTER SET utf8mb4"
+        + " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\'"
+        + " LINES TERMINATED BY '\\n'"
+        + " (" + COLUMNS + ")";
+    
+    // 按行号顺序插入，同一ISBN出现多次时以最后一行为准，与批量写入的行为一致
+    private static final String MERGE_SQL = "INSERT INTO gdufe_library_ebook (" + COLUMNS + ")"
+        + " SELECT " + COLUMNS + " FROM " + STAGING_TABLE + " ORDER BY row_no"
+        + " ON DUPLICATE KEY UPDATE"
+        + " book_name = VALUES(book_name),"
+        + " book_author = VALUES(book_author),"
+        + " book_press = VALUES(book_press),"
+        + " book_publication_time = VALUES(book_publication_time),"
+        + " book_url = VALUES(book_url),"
+        + " book_brief_introduction = VALUES(book_brief_introduction),"
+        + " book_chinese_library_classification = VALUES(book_chinese_library_classification),"
+        + " book_subject_classification = VALUES(book_subject_classification),"
+        + " book_primary_classification = VALUES(book_primary_classification),"
+        + " book_secondary_classification = VALUES(book_secondary_classification),"
+        + " book_picture_url = VALUES(book_picture_url),"
+        + " book_source = VALUES(book_source),"
+        + " book_content_hash = VALUES(book_content_hash),"
+        + " is_deleted = VALUES(is_deleted),"
+        + " update_time = VALUES(update_time)";
+    
+    private static final String DROP_STAGING_SQL = "DROP TEMPORARY TABLE IF EXISTS " + STAGING_TABLE;
+    
+    // 默认只保留64条警告，装载期间调到上限，保证每一条有警告的行都能定位到
+    private static final String RAISE_MAX_ERROR_COUNT_SQL = "SET SESSION max_error_count = 65535";
+    
+    private static final String RESET_MAX_ERROR_COUNT_SQL = "SET SESSION max_error_count = DEFAULT";
+    
+    // 诊断语句不会清空上一条语句的警告
+    private static final String WARNING_COUNT_SQL = "SHOW COUNT(*) WARNINGS";
+    
+    private static final String SHOW_WARNINGS_SQL = "SHOW WARNINGS";
+    
+    /**
+     * 警告信息中的行号，如"Data truncated for column 'book_name' at row 3"、"Row 3 doesn't contain data for all columns"，
+     * 即装载文件中的行号，与临时表的row_no一致
+     */
+    private static final Pattern WARNING_ROW_PATTERN = Pattern.compile("\\brow (\\d+)", Pattern.CASE_INSENSITIVE);
+    
+    @Autowired
+    @Qualifier("importDataSource")
+    private DataSource dataSource;
+    
+    @Autowired
+    @Qualifier("uploadSpoolDirectory")
+    private Path uploadSpoolDirectory;
+    
+    /**
+     * 创建装载文件，解析出的数据逐条追加到文件中，不在内存中累积
+     * 
+     * @return 装载文件
+     * @throws IOException 创建文件失败
+     */
+    public StagingFile createStagingFile() throws IOException {
+        Files.createDirectories(uploadSpoolDirectory);
+        Path path = Files.createTempFile(uploadSpoolDirectory, "gdufe-bulk-load-", ".tsv");
+        return new StagingFile(path);
+    }
+    
+    /**
+     * 把装载文件装入临时表并合并到电子书表
+     * 
+     * @param stagingFile 已写完的装载文件
+     * @return 装载结果
+     * @throws SQLException 数据库操作失败
+     * @throws IOException 读取装载文件失败
+     */
+    public BulkLoadResult load(StagingFile stagingFile) throws SQLException, IOException {
+        stagingFile.close();
+        
+        // 临时表只对创建它的连接可见，整个过程必须使用同一个连接
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            boolean autoCommit = connection.getAutoCommit();
+            try {
+                statement.execute(DROP_STAGING_SQL);
+                statement.execute(CREATE_STAGING_SQL);
+                statement.execute(ADD_ROW_NO_SQL);
+                statement.execute(RAISE_MAX_ERROR_COUNT_SQL);
+                
+                long loadStart = System.currentTimeMillis();
+                int loadedRows = statement.executeUpdate(String.format(LOAD_SQL, quote(stagingFile.getPath())));
+                Map<Integer, String> warnings = readLoadWarnings(statement);
+                if (loadedRows != stagingFile.getRowCount()) {
+                    throw new SQLException("装入临时表的行数与装载文件不一致，已放弃合并 - 文件行数：" + stagingFile.getRowCount() 
+                        + "，装入行数：" + loadedRows);
+                }
+                List<RejectedRow> rejectedRows = rejectWarnedRows(statement, warnings);
+                logger.info("LOAD DATA装入临时表完成 - 行数：{}, 有警告被拒绝：{}, 耗时：{}ms", 
+                    loadedRows, rejectedRows.size(), System.currentTimeMillis() - loadStart);
+                
+                // 合并是一条语句，要么全部生效要么全部不生效
+                long mergeStart = System.currentTimeMillis();
+                connection.setAutoCommit(false);
+                int affectedRows = statement.executeUpdate(MERGE_SQL);
+                connection.commit();
+                logger.info("临时表合并到电子书表完成 - 影响行数：{}, 耗时：{}ms", affectedRows, System.currentTimeMillis() - mergeStart);
+                
+                return new BulkLoadResult(loadedRows - rejectedRows.size(), affectedRows, rejectedRows);
+            } catch (SQLException e) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                statement.execute(RESET_MAX_ERROR_COUNT_SQL);
+                statement.execute(DROP_STAGING_SQL);
+            }
+        }
+    }
+    
+    /**
+     * 装载文件的绝对路径转为SQL字符串字面量的内容
+     */
+    private static String quote(Path path) {
+        return path.toAbsolutePath().toString().replace("\\", "\\\\").replace("'", "''");
+    }
+    
+    /**
+     * 读取LOAD DATA产生的警告，必须紧接在LOAD DATA之后调用
+     * 
+     * @return 装载文件行号 -> 该行的警告信息（多条以"；"分隔）
+     * @throws SQLException 有警告无法对应到行号时，无法判断哪些行的数据被改动，放弃整个装载
+     */
+    private Map<Integer, String> readLoadWarnings(Statement statement) throws SQLException {
+        int warningCount;
+        try (ResultSet resultSet = statement.executeQuery(WARNING_COUNT_SQL)) {
+            warningCount = resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+        if (warningCount == 0) {
+            return Collections.emptyMap();
+        }
+        
+        Map<Integer, String> warnings = new TreeMap<>();
+        int listedCount = 0;
+        try (ResultSet resultSet = statement.executeQuery(SHOW_WARNINGS_SQL)) {
+            while (resultSet.next()) {
+                listedCount++;
+                String message = resultSet.getString("Message");
+                Matcher matcher = WARNING_ROW_PATTERN.matcher(message);
+                if (!matcher.find()) {
+                    throw new SQLException("LOAD DATA产生了无法对应到行的警告，已放弃合并：" + message);
+                }
+                warnings.merge(Integer.parseInt(matcher.group(1)), message, (first, second) -> first + "；" + second);
+            }
+        }
+        if (listedCount < warningCount) {
+            throw new SQLException("LOAD DATA产生的警告过多，无法全部定位，已放弃合并 - 警告数：" + warningCount);
+        }
+        return warnings;
+    }
+    
+    /**
+     * 把有警告的行从临时表中删除，不参与合并
+     * 
+     * @param warnings 装载文件行号 -> 警告信息
+     * @return 被拒绝的行，按行号排列
+     */
+    private List<RejectedRow> rejectWarnedRows(Statement statement, Map<Integer, String> warnings) throws SQLException {
+        if (warnings.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        String rowNos = warnings.keySet().stream().map(String::valueOf).collect(Collectors.joining(","));
+        List<RejectedRow> rejectedRows = new ArrayList<>(warnings.size());
+        try (ResultSet resultSet = statement.executeQuery("SELECT row_no, book_ISBN FROM " + STAGING_TABLE 
+                + " WHERE row_no IN (" + rowNos + ") ORDER BY row_no")) {
+            while (resultSet.next()) {
+                int rowNo = resultSet.getInt(1);
+                rejectedRows.add(new RejectedRow(rowNo, resultSet.getString(2), warnings.get(rowNo)));
+            }
+        }
+        statement.executeUpdate("DELETE FROM " + STAGING_TABLE + " WHERE row_no IN (" + rowNos + ")");
+        return rejectedRows;
+    }
+    
+    /**
+     * 装载文件
+     * 每行一条数据，字段以制表符分隔，NULL写作\N，字段中的反斜杠、制表符和换行符转义
+     */
+    public static class StagingFile implements Closeable {
+        
+        private final Path path;
+        private final BufferedWriter writer;
+        private int rowCount;
+        private boolean closed;
+        
+        StagingFile(Path path) throws IOException {
+            this.path = path;
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        }
+        
+        /**
+         * 追加一条电子书数据
+         * 
+         * @param ebook 电子书数据
+         */
+        public void append(GdufeLibraryEbookDO ebook) {
+            try {
+                writeField(ebook.getBookName(), true);
+                writeField(ebook.getBookIsbn(), true);
+                writeField(ebook.getBookAuthor(), true);
+                writeField(ebook.getBookPress(), true);
+                writeField(ebook.getBookPublicationTime() != null ? ebook.getBookPublicationTime().toString() : null, true);
+                writeField(ebook.getBookUrl(), true);
+                writeField(ebook.getBookBriefIntroduction(), true);
+                writeField(ebook.getBookChineseLibraryClassification(), true);
+                writeField(ebook.getBookSubjectClassification(), true);
+                writeField(ebook.getBookPrimaryClassification() != null ? ebook.getBookPrimaryClassification().toString() : null, true);
+                writeField(ebook.getBookSecondaryClassification(), true);
+                writeField(ebook.getBookPictureUrl(), true);
+                writeField(ebook.getBookSource() != null ? ebook.getBookSource().toString() : null, true);
+                writeField(ebook.getBookContentHash(), true);
+                writeField(ebook.getIsDeleted() != null ? ebook.getIsDeleted().toString() : null, true);
+                writeField(formatDateTime(ebook.getCreateTime()), true);
+                writeField(formatDateTime(ebook.getUpdateTime()), false);
+                writer.write('\n');
+                rowCount++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("写入装载文件失败：" + e.getMessage(), e);
+            }
+        }
+        
+        private void writeField(String value, boolean hasNext) throws IOException {
+            if (value == null) {
+                writer.write("\\N");
+            } else {
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    switch (c) {
+                        case '\\':
+                            writer.write("\\\\");
+                            break;
+                        case '\t':
+                            writer.write("\\t");
+                            break;
+                        case '\n':
+                            writer.write("\\n");
+                            break;
+                        case '\r':
+                            writer.write("\\r");
+                            break;
+                        default:
+                            writer.write(c);
+                    }
+                }
+            }
+            if (hasNext) {
+                writer.write('\t');
+            }
+        }
+        
+        private static String formatDateTime(LocalDateTime time) {
+            return time == null ? null : time.format(DATE_TIME_FORMATTER);
+        }
+        
+        public Path getPath() {
+            return path;
+        }
+        
+        public int getRowCount() {
+            return rowCount;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                writer.close();
+            }
+        }
+        
+        /**
+         * 关闭并删除装载文件
+         */
+        public void delete() throws IOException {
+            close();
+            Files.deleteIfExists(path);
+        }
+    }
+    
+    /**
+     * 装载结果
+     */
+    public static class BulkLoadResult {
+        private final int loadedRows;
+        private final int affectedRows;
+        private final List<RejectedRow> rejectedRows;
+        
+        public BulkLoadResult(int loadedRows, int affectedRows, List<RejectedRow> rejectedRows) {
+            this.loadedRows = loadedRows;
+            this.affectedRows = affectedRows;
+            this.rejectedRows = rejectedRows;
+        }
+        
+        /**
+         * 装入临时表并参与合并的行数（不包括被拒绝的行）
+         */
+        public int getLoadedRows() {
+            return loadedRows;
+        }
+        
+        /**
+         * 合并语句影响的行数（新增记1，更新记2）
+         */
+        public int getAffectedRows() {
+            return affectedRows;
+        }
+        
+        /**
+         * 装入时产生警告、没有参与合并的行
+         */
+        public List<RejectedRow> getRejectedRows() {
+            return rejectedRows;
+        }
+    }
+    
+    /**
+     * 装入时产生警告（值被截断或转换）而被拒绝的行
+     * 
+     * @param fileRow 装载文件中的行号（从1开始，即解析成功的第几条数据）
+     * @param isbn ISBN号
+     * @param warning 警告信息
+     */
+    public record RejectedRow(int fileRow, String isbn, String warning) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.service.excelUploadAndPrase.reader.ExcelSheetRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 电子书表格的列计划
+ * 每个工作表的标题行只解析一次，按表格格式编译成各字段所在的列号和对应的字段解码函数；
+ * 之后每一行按列计划依次读取单元格写入电子书对象，不再按字段名查找Map，也不会装箱列号
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+final class EbookColumnPlan {
+    
+    /**
+     * 标题行中没有该列
+     */
+    static final int MISSING = -1;
+    
+    private final int bookSource;
+    private final int bookNameColumn;
+    private final int isbnColumn;
+    
+    /**
+     * 其他字段所在的列号，与headers、decoders一一对应，按表格格式中声明字段的顺序排列
+     */
+    private final int[] columns;
+    private final String[] headers;
+    private final FieldDecoder[] decoders;
+    
+    private EbookColumnPlan(int bookSource, int bookNameColumn, int isbnColumn, int[] columns, String[] headers,
+                            FieldDecoder[] decoders) {
+        this.bookSource = bookSource;
+        this.bookNameColumn = bookNameColumn;
+        this.isbnColumn = isbnColumn;
+        this.columns = columns;
+        this.headers = headers;
+        this.decoders = decoders;
+    }
+    
+    /**
+     * 按表格格式编译标题行
+     * 标题名与字段名完全相同才匹配，同名的列出现多次时以最后一列为准
+     * 
+     * @param layout 表格格式
+     * @param headerRow 标题行
+     * @return 列计划，标题行中没有的字段不参与解析
+     */
+    static EbookColumnPlan compile(Layout layout, ExcelSheetRow headerRow) {
+        Map<String, Integer> headerColumns = new HashMap<>();
+        for (int i = 0; i < headerRow.getCellCount(); i++) {
+            String headerValue = headerRow.getCellValue(i);
+            if (headerValue != null) {
+                headerColumns.put(headerValue, i);
+            }
+        }
+        
+        List<String> headers = new ArrayList<>(layout.fieldHeaders.size());
+        List<FieldDecoder> decoders = new ArrayList<>(layout.fieldHeaders.size());
+        int[] columns = new int[layout.fieldHeaders.size()];
+        for (int i = 0; i < layout.fieldHeaders.size(); i++) {
+            Integer column = headerColumns.get(layout.fieldHeaders.get(i));
+            if (column != null) {
+                columns[decoders.size()] = column;
+                headers.add(layout.fieldHeaders.get(i));
+                decoders.add(layout.fieldDecoders.get(i));
+            }
+        }
+        
+        return new EbookColumnPlan(layout.bookSource,
+            headerColumns.getOrDefault(layout.bookNameHeader, MISSING),
+            headerColumns.getOrDefault(layout.isbnHeader, MISSING),
+            Arrays.copyOf(columns, decoders.size()),
+            headers.toArray(new String[0]),
+            decoders.toArray(new FieldDecoder[0]));
+    }
+    
+    /**
+     * 标题行中是否有书名列
+     */
+    boolean hasBookNameColumn() {
+        return bookNameColumn != MISSING;
+    }
+    
+    /**
+     * ISBN所在的列号，没有ISBN列时为{@link #MISSING}
+     */
+    int getIsbnColumn() {
+        return isbnColumn;
+    }
+    
+    /**
+     * 按列计划把一行数据映射为电子书对象
+     * 
+     * @param row 数据行
+     * @param isbn 调用方已读取并检查过的ISBN
+     * @param issueListener 字段值无法识别时的回调
+     * @return 电子书对象（不含时间字段和内容指纹），书名为空时返回null
+     */
+    GdufeLibraryEbookDO map(ExcelSheetRow row, String isbn, FieldIssueListener issueListener) {
+        String bookName = row.getCellValue(bookNameColumn);
+        if (bookName == null) {
+            return null;
+        }
+        
+        GdufeLibraryEbookDO ebook = new GdufeLibraryEbookDO();
+        ebook.setBookName(bookName);
+        ebook.setBookIsbn(isbn);
+        for (int i = 0; i < columns.length; i++) {
+            // 读取器已去除首尾空白并把空字符串转换为null，解码函数只会收到非空值
+            String value = row.getCellValue(columns[i]);
+            if (value != null) {
+                String issue = decoders[i].decode(ebook, value);
+                if (issue != null) {
+                    issueListener.onFieldIssue(row.getRowNum() + 1, issue, headers[i] + "=" + value);
+                }
+            }
+        }
+        ebook.setBookSource(bookSource);
+        return ebook;
+    }
+    
+    /**
+     * 创建表格格式
+     * 
+     * @param bookSource 图书来源（0:畅想之星, 1:京东）
+     * @return 表格格式，再依次声明书名列、ISBN列和其他字段
+     */
+    static Layout layout(int bookSource) {
+        return new Layout(bookSource);
+    }
+    
+    /**
+     * 字段解码函数，把单元格的值写入电子书对象
+     */
+    @FunctionalInterface
+    interface FieldDecoder {
+        
+        /**
+         * @param ebook 电子书对象
+         * @param value 单元格值（已去除首尾空白，不为空）
+         * @return 值无法识别、已按默认值写入时返回原因代码，否则返回null
+         */
+        String decode(GdufeLibraryEbookDO ebook, String value);
+    }
+    
+    /**
+     * 字段值无法识别时的回调，该行仍然正常导入
+     */
+    @FunctionalInterface
+    interface FieldIssueListener {
+        
+        /**
+         * @param rowNumber Excel行号（从1开始）
+         * @param reason 原因代码
+         * @param detail 列名和单元格值，如"一级分类=未知分类"
+         */
+        void onFieldIssue(int rowNumber, String reason, String detail);
+    }
+    
+    /**
+     * 表格格式：标题名与字段的对应关系
+     * 字段按声明顺序解码，后声明的字段可以依赖先声明的字段的值（如第二责任者合并到作者）
+     */
+    static final class Layout {
+        private final int bookSource;
+        private String bookNameHeader;
+        private String isbnHeader;
+        private final List<String> fieldHeaders = new ArrayList<>();
+        private final List<FieldDecoder> fieldDecoders = new ArrayList<>();
+        
+        private Layout(int bookSource) {
+            this.bookSource = bookSource;
+        }
+        
+        Layout bookName(String header) {
+            this.bookNameHeader = header;
+            return this;
+        }
+        
+        Layout isbn(String header) {
+            this.isbnHeader = header;
+            return this;
+        }
+        
+        /**
+         * 文本字段：单元格的值原样写入
+         */
+        Layout field(String header, BiConsumer<GdufeLibraryEbookDO, String> setter) {
+            return decodedField(header, (ebook, value) -> {
+                setter.accept(ebook, value);
+                return null;
+            });
+        }
+        
+        /**
+         * 需要解码的字段：由解码函数转换并写入，无法识别的值通过{@link FieldIssueListener}报告
+         */
+        Layout decodedField(String header, FieldDecoder decoder) {
+            fieldHeaders.add(header);
+            fieldDecoders.add(decoder);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportMetrics;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 电子书字段解码函数
+ * 供{@link EbookColumnPlan}逐行调用：出版时间用手写的扫描器解析，分类名称查预先构建的映射表，
+ * 无法解析的值直接忽略或返回默认值，任何一行都不会抛出异常，也不逐行写日志；
+ * 无法识别的分类由解码函数返回原因代码，记入导入问题汇总
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+final class EbookFieldDecoders {
+    
+    /**
+     * 分类名称 -> INT值
+     * 映射关系：0-空白, 1-社会科学, 2-小说, 3-教材教辅, 4-科学新知, 5-文学, 6-经济管理, 7-少儿, 8-进口原版, 9-计算机, 10-生活休闲, 11-成功励志, 12-历史考古, 13-艺术摄影, 14-外语学习, 15-政治军事, 16-人物传记, 17-家教育儿, 18-中外名著, 19-漫画杂志, 20-职场进阶, 21-互联网+, 22-影视原著
+     */
+    private static final String[] CATEGORY_NAMES = {
+        "空白", "社会科学", "小说", "教材教辅", "科学新知", "文学", "经济管理", "少儿", "进口原版", "计算机", "生活休闲", "成功励志",
+        "历史考古", "艺术摄影", "外语学习", "政治军事", "人物传记", "家教育儿", "中外名著", "漫画杂志", "职场进阶", "互联网+", "影视原著"
+    };
+    
+    private static final Map<String, Integer> CATEGORY_TABLE = new HashMap<>();
+    
+    /**
+     * {@link #convertCategoryToInteger}无法识别分类时的返回值
+     */
+    static final int UNKNOWN_CATEGORY = -1;
+    
+    static {
+        for (int i = 0; i < CATEGORY_NAMES.length; i++) {
+            CATEGORY_TABLE.put(CATEGORY_NAMES[i], i);
+        }
+    }
+    
+    /**
+     * Excel 1900日期系统的起点：序列号1为1900-01-01，且Excel把1900年当作闰年，
+     * 从序列号61（1900-03-01）起按1899-12-30加天数计算
+     */
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+    
+    /**
+     * 按Excel序列号解析的取值范围：1927-05-18至9999-12-31；
+     * 4位及以下的纯数字更可能是出版年份，不按序列号处理
+     */
+    private static final int MIN_EXCEL_SERIAL = 10000;
+    private static final int MAX_EXCEL_SERIAL = 2958465;
+    
+    private EbookFieldDecoders() {
+    }
+    
+    /**
+     * 第二责任者：已有第一责任者时合并，否则作为作者
+     */
+    static void appendSecondAuthor(GdufeLibraryEbookDO ebook, String secondAuthor) {
+        String currentAuthor = ebook.getBookAuthor();
+        ebook.setBookAuthor(currentAuthor != null ? currentAuthor + ";" + secondAuthor : secondAuthor);
+    }
+    
+    /**
+     * 出版时间，无法解析时忽略
+     */
+    static void decodePublishDate(GdufeLibraryEbookDO ebook, String dateStr) {
+        LocalDate publishDate = parseDate(dateStr);
+        if (publishDate != null) {
+            ebook.setBookPublicationTime(publishDate);
+        }
+    }
+    
+    /**
+     * 京东一级分类：分类名称或数字转换为INT值，无法识别时按0（空白）写入
+     * 
+     * @return 无法识别时返回{@link ImportMetrics#REASON_CATEGORY_UNKNOWN}，否则返回null
+     */
+    static String decodePrimaryCategory(GdufeLibraryEbookDO ebook, String categoryStr) {
+        int categoryInt = convertCategoryToInteger(categoryStr);
+        if (categoryInt == UNKNOWN_CATEGORY) {
+            ebook.setBookPrimaryClassification(0);
+            return ImportMetrics.REASON_CATEGORY_UNKNOWN;
+        }
+        ebook.setBookPrimaryClassification(categoryInt);
+        return null;
+    }
+    
+    /**
+     * 解析日期
+     * 支持：yyyy-M-d、yyyy/M/d、yyyy.M.d、yyyy年M月d日（月、日为1到2位数字），
+     * 以及没有设置日期格式的单元格读出的Excel序列号（如45292或45292.5，小数部分为时间，忽略）
+     * 
+     * @param dateStr 日期字符串（已去除首尾空白）
+     * @return 日期，无法解析或日期不存在（如2月30日）时返回null
+     */
+    static LocalDate parseDate(String dateStr) {
+        if (dateStr == null || dateStr.isEmpty()) {
+            return null;
+        }
+        
+        int length = dateStr.length();
+        int yearEnd = digitsEnd(dateStr, 0);
+        if (yearEnd == length || dateStr.charAt(yearEnd) == '.' && yearEnd > 4) {
+            return parseExcelSerial(dateStr, yearEnd);
+        }
+        if (yearEnd != 4) {
+            return null;
+        }
+        
+        char separator = dateStr.charAt(4);
+        char monthSeparator;
+        if (separator == '-' || separator == '/' || separator == '.') {
+            monthSeparator = separator;
+        } else if (separator == '年') {
+            monthSeparator = '月';
+        } else {
+            return null;
+        }
+        
+        int monthEnd = digitsEnd(dateStr, 5);
+        if (monthEnd == 5 || monthEnd > 7 || monthEnd == length || dateStr.charAt(monthEnd) != monthSeparator) {
+            return null;
+        }
+        int dayEnd = digitsEnd(dateStr, monthEnd + 1);
+        if (dayEnd == monthEnd + 1 || dayEnd > monthEnd + 3) {
+            return null;
+        }
+        // 年月日格式以"日"结尾，其他格式到数字结束为止
+        int expectedEnd = separator == '年' ? dayEnd + 1 : dayEnd;
+        if (expectedEnd != length || separator == '年' && dateStr.charAt(dayEnd) != '日') {
+            return null;
+        }
+        
+        return toDate(parseDigits(dateStr, 0, 4), parseDigits(dateStr, 5, monthEnd), parseDigits(dateStr, monthEnd + 1, dayEnd));
+    }
+    
+    /**
+     * 将分类名称转换为INT值
+     * 映射关系见{@link #CATEGORY_NAMES}，数字字符串在0到22之间时直接使用
+     * 
+     * @param categoryStr 分类名称或数字字符串
+     * @return 对应的INT值，为空时返回0（空白），无法匹配时返回{@link #UNKNOWN_CATEGORY}
+     */
+    static int convertCategoryToInteger(String categoryStr) {
+        if (categoryStr == null || categoryStr.trim().isEmpty()) {
+            return 0; // 空白
+        }
+        
+        String trimmed = categoryStr.trim();
+        
+        // 如果是数字字符串，直接使用
+        int numericValue = parseCategoryNumber(trimmed);
+        if (numericValue >= 0) {
+            return numericValue;
+        }
+        
+        Integer categoryInt = CATEGORY_TABLE.get(trimmed);
+        return categoryInt == null ? UNKNOWN_CATEGORY : categoryInt;
+    }
+    
+    /**
+     * 解析分类数字（可带正负号）
+     * 
+     * @return 0到22之间的分类值，不是数字或超出范围时返回-1
+     */
+    private static int parseCategoryNumber(String value) {
+        int start = value.charAt(0) == '+' || value.charAt(0) == '-' ? 1 : 0;
+        int end = digitsEnd(value, start);
+        if (end == start || end != value.length()) {
+            return -1;
+        }
+        
+        int number = 0;
+        for (int i = start; i < end; i++) {
+            number = number * 10 + (value.charAt(i) - '0');
+            if (number > CATEGORY_NAMES.length - 1) {
+                return -1;
+            }
+        }
+        return value.charAt(0) == '-' && number != 0 ? -1 : number;
+    }
+    
+    /**
+     * Excel序列号转换为日期（1900日期系统）
+     * 
+     * @param integerEnd 整数部分结束的位置，之后只能是小数点加数字
+     */
+    private static LocalDate parseExcelSerial(String value, int integerEnd) {
+        if (integerEnd < 5 || integerEnd > 7) {
+            return null;
+        }
+        if (integerEnd < value.length() && digitsEnd(value, integerEnd + 1) != value.length()) {
+            return null;
+        }
+        
+        int serial = parseDigits(value, 0, integerEnd);
+        if (serial < MIN_EXCEL_SERIAL || serial > MAX_EXCEL_SERIAL) {
+            return null;
+        }
+        return EXCEL_EPOCH.plusDays(serial);
+    }
+    
+    /**
+     * 校验年月日后创建日期，日期不存在时返回null
+     */
+    private static LocalDate toDate(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        int monthLength = switch (month) {
+            case 2 -> Year.isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+        return day > monthLength ? null : LocalDate.of(year, month, day);
+    }
+    
+    /**
+     * 从start开始连续ASCII数字的结束位置
+     */
+    private static int digitsEnd(String value, int start) {
+        int i = start;
+        while (i < value.length() && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+    
+    /**
+     * 解析[start, end)之间的ASCII数字，调用方保证不超过7位
+     */
+    private static int parseDigits(String value, int start, int end) {
+        int number = 0;
+        for (int i = start; i < end; i++) {
+            number = number * 10 + (value.charAt(i) - '0');
+        }
+        return number;
+    }
+}
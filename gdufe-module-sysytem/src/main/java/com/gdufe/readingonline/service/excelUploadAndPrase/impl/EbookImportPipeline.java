@@ -0,0 +1,321 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 电子书导入流水线
+ * 解析线程（生产者）按批次把数据放入有界队列，写入线程（消费者）从队列取批次写库，
+ * 队列满时解析线程阻塞等待（背压），使解析和写库并行进行，导入耗时接近两者中的较大值而不是两者之和
+ * 
+ * 每次导入创建一个实例，不可复用
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public class EbookImportPipeline {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EbookImportPipeline.class);
+    
+    /**
+     * 队列结束标记
+     */
+    private static final QueuedBatch END_OF_STREAM = new QueuedBatch(0, new ArrayList<>(0));
+    
+    /**
+     * 批次写入器
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        
+        /**
+         * 写入一个批次
+         * 
+         * @param batch 批次数据
+         * @param batchNo 批次号（从1开始）
+         * @return 写入结果
+         */
+        BatchWriteResult write(List<GdufeLibraryEbookDO> batch, int batchNo);
+    }
+    
+    /**
+     * 批次写入结果
+     */
+    public static class BatchWriteResult {
+        private final int createdCount;
+        private final int updatedCount;
+        private final int unchangedCount;
+        private final int skippedCount;
+        private final List<String> writtenIsbns;
+        
+        public BatchWriteResult(int processedCount, int skippedCount) {
+            this(0, processedCount, 0, skippedCount, Collections.emptyList());
+        }
+        
+        public BatchWriteResult(int createdCount, int updatedCount, int unchangedCount, int skippedCount, 
+                                List<String> writtenIsbns) {
+            this.createdCount = createdCount;
+            this.updatedCount = updatedCount;
+            this.unchangedCount = unchangedCount;
+            this.skippedCount = skippedCount;
+            this.writtenIsbns = writtenIsbns;
+        }
+        
+        /**
+         * 成功处理的记录数（新增 + 更新 + 内容未变化）
+         */
+        public int getProcessedCount() {
+            return createdCount + updatedCount + unchangedCount;
+        }
+        
+        public int getCreatedCount() {
+            return createdCount;
+        }
+        
+        public int getUpdatedCount() {
+            return updatedCount;
+        }
+        
+        public int getUnchangedCount() {
+            return unchangedCount;
+        }
+        
+        public int getSkippedCount() {
+            return skippedCount;
+        }
+        
+        /**
+         * 实际写入数据库（新增或更新）的ISBN
+         */
+        public List<String> getWrittenIsbns() {
+            return writtenIsbns;
+        }
+    }
+    
+    private final int batchSize;
+    private final int writerCount;
+    private final BatchWriter batchWriter;
+    private final ImportProgress progress;
+    private final BlockingQueue<QueuedBatch> queue;
+    private final CountDownLatch writersFinished;
+    
+    private final AtomicInteger submittedBatches = new AtomicInteger();
+    private final AtomicInteger committedBatches = new AtomicInteger();
+    private final AtomicInteger processedCount = new AtomicInteger();
+    private final AtomicInteger createdCount = new AtomicInteger();
+    private final AtomicInteger updatedCount = new AtomicInteger();
+    private final AtomicInteger unchangedCount = new AtomicInteger();
+    private final Queue<String> writtenIsbns = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger skippedCount = new AtomicInteger();
+    private final AtomicReference<Throwable> writerFailure = new AtomicReference<>();
+    
+    /**
+     * 保护currentBatch，用ReentrantLock代替synchronized：队列满时在锁内阻塞，虚拟线程不会占住载体线程
+     */
+    private final ReentrantLock batchLock = new ReentrantLock();
+    
+    private List<GdufeLibraryEbookDO> currentBatch;
+    private boolean finished;
+    
+    /**
+     * 创建流水线并启动写入线程
+     * 
+     * @param writerExecutor 写入线程池
+     * @param writerCount 写入线程数（大于1时批次的写入顺序不再与Excel行顺序一致）
+     * @param queueCapacity 队列容量（批次数）
+     * @param batchSize 批次大小
+     * @param batchWriter 批次写入器
+     * @param progress 导入进度
+     * @throws RejectedExecutionException 写入线程池拒绝任务，此时已启动的写入线程已收到结束标记
+     */
+    public EbookImportPipeline(Executor writerExecutor, int writerCount, int queueCapacity,
+                               int batchSize, BatchWriter batchWriter, ImportProgress progress) {
+        this.progress = progress;
+        this.batchSize = batchSize;
+        this.writerCount = writerCount;
+        this.batchWriter = batchWriter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writersFinished = new CountDownLatch(writerCount);
+        this.currentBatch = new ArrayList<>(batchSize);
+        
+        int startedWriters = 0;
+        try {
+            for (; startedWriters < writerCount; startedWriters++) {
+                writerExecutor.execute(this::runWriter);
+            }
+        } catch (RejectedExecutionException e) {
+            // 已启动的写入线程在queue.take()上等待，逐个放入结束标记使其退出，否则会永久占用写入线程池
+            for (int i = 0; i < startedWriters; i++) {
+                put(END_OF_STREAM);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * 放入一条解析好的数据，凑满一批后提交到队列，队列满时阻塞
+     * 多个解析线程可以共用同一个流水线
+     * 
+     * @param ebook 电子书数据
+     */
+    public void accept(GdufeLibraryEbookDO ebook) {
+        batchLock.lock();
+        try {
+            currentBatch.add(ebook);
+            if (currentBatch.size() >= batchSize) {
+                submitCurrentBatch();
+            }
+        } finally {
+            batchLock.unlock();
+        }
+    }
+    
+    /**
+     * 提交剩余数据并等待所有批次写入完成
+     * 解析异常时也必须调用，以便写入线程退出
+     */
+    public void finish() {
+        batchLock.lock();
+        try {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            
+            if (!currentBatch.isEmpty()) {
+                submitCurrentBatch();
+            }
+            for (int i = 0; i < writerCount; i++) {
+                put(END_OF_STREAM);
+            }
+            
+            writersFinished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待写入线程结束时被中断", e);
+        } finally {
+            batchLock.unlock();
+        }
+        
+        Throwable failure = writerFailure.get();
+        if (failure != null) {
+            throw new RuntimeException("写入线程异常：" + failure.getMessage(), failure);
+        }
+    }
+    
+    private void submitCurrentBatch() {
+        put(new QueuedBatch(submittedBatches.incrementAndGet(), currentBatch));
+        progress.onBatchSubmitted();
+        currentBatch = new ArrayList<>(batchSize);
+    }
+    
+    private void put(QueuedBatch batch) {
+        try {
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("提交批次时被中断", e);
+        }
+    }
+    
+    private void runWriter() {
+        try {
+            while (true) {
+                QueuedBatch queuedBatch = queue.take();
+                if (queuedBatch == END_OF_STREAM) {
+                    return;
+                }
+                
+                List<GdufeLibraryEbookDO> batch = queuedBatch.ebooks;
+                int batchNo = queuedBatch.batchNo;
+                try {
+                    BatchWriteResult result = batchWriter.write(batch, batchNo);
+                    processedCount.addAndGet(result.getProcessedCount());
+                    createdCount.addAndGet(result.getCreatedCount());
+                    updatedCount.addAndGet(result.getUpdatedCount());
+                    unchangedCount.addAndGet(result.getUnchangedCount());
+                    writtenIsbns.addAll(result.getWrittenIsbns());
+                    skippedCount.addAndGet(result.getSkippedCount());
+                    progress.onBatchCommitted(result.getProcessedCount(), result.getSkippedCount());
+                } catch (Throwable t) {
+                    // 继续消费队列，避免解析线程因队列满而永久阻塞
+                    writerFailure.compareAndSet(null, t);
+                    skippedCount.addAndGet(batch.size());
+                    progress.onBatchCommitted(0, batch.size());
+                    logger.error("写入第 {} 批时发生未处理异常，批次大小：{}，错误详情：{}", batchNo, batch.size(), t.getMessage(), t);
+                } finally {
+                    committedBatches.incrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writerFailure.compareAndSet(null, e);
+        } finally {
+            writersFinished.countDown();
+        }
+    }
+    
+    public int getSubmittedBatches() {
+        return submittedBatches.get();
+    }
+    
+    public int getCommittedBatches() {
+        return committedBatches.get();
+    }
+    
+    public int getProcessedCount() {
+        return processedCount.get();
+    }
+    
+    public int getCreatedCount() {
+        return createdCount.get();
+    }
+    
+    public int getUpdatedCount() {
+        return updatedCount.get();
+    }
+    
+    public int getUnchangedCount() {
+        return unchangedCount.get();
+    }
+    
+    public int getSkippedCount() {
+        return skippedCount.get();
+    }
+    
+    /**
+     * 获取实际写入数据库（新增或更新）的ISBN，写入线程结束后调用
+     */
+    public List<String> getWrittenIsbns() {
+        return new ArrayList<>(writtenIsbns);
+    }
+    
+    /**
+     * 队列中的批次
+     */
+    private static class QueuedBatch {
+        private final int batchNo;
+        private final List<GdufeLibraryEbookDO> ebooks;
+        
+        QueuedBatch(int batchNo, List<GdufeLibraryEbookDO> ebooks) {
+            this.batchNo = batchNo;
+            this.ebooks = ebooks;
+        }
+    }
+}
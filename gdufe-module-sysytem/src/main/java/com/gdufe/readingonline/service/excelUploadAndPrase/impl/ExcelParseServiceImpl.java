@@ -1,46 +1,108 @@
 package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.gdufe.readingonline.service.excelUploadAndPrase.EbookImportedEvent;
 import com.gdufe.readingonline.service.excelUploadAndPrase.ExcelParseService;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportDiagnostics;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportMetrics;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportProgress;
 import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
 import com.gdufe.readingonline.dal.mysqlmapper.GdufeLibraryEbookMapper;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import com.gdufe.readingonline.service.excelUploadAndPrase.reader.ExcelRowHandler;
+import com.gdufe.readingonline.service.excelUploadAndPrase.reader.ExcelSheetReader;
+import com.gdufe.readingonline.service.excelUploadAndPrase.reader.ExcelSheetRow;
+import com.gdufe.readingonline.service.excelUploadAndPrase.reader.ExcelWorkbook;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.time.LocalDate;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Excel解析结果封装类
+ * 解析过程中逐行累加统计信息，跳过和失败的行以及字段值无法识别的行记入导入问题汇总
  */
-class ExcelParseResult {
-    private List<GdufeLibraryEbookDO> ebookList;
+class ExcelParseResult implements EbookColumnPlan.FieldIssueListener {
+    private final Consumer<GdufeLibraryEbookDO> ebookSink; // 解析成功的数据直接交给下游，不在内存中累积
+    private final ImportProgress progress;
+    private final ImportMetrics.ImportRecording metrics;
+    private final String sheetLabel; // 文件名/工作表名，单个文件导入时为null
     private int totalRows;
     private int successCount;
     private int failureCount;
-    private List<Integer> skippedRows; // 跳过的记录行号（ISBN为空的记录）
+    private final List<Integer> skippedRows = new ArrayList<>(); // 跳过的记录行号（ISBN为空的记录）
     
-    public ExcelParseResult(List<GdufeLibraryEbookDO> ebookList, int totalRows, int successCount, int failureCount, List<Integer> skippedRows) {
-        this.ebookList = ebookList;
-        this.totalRows = totalRows;
-        this.successCount = successCount;
-        this.failureCount = failureCount;
-        this.skippedRows = skippedRows;
+    public ExcelParseResult(Consumer<GdufeLibraryEbookDO> ebookSink, ImportProgress progress, 
+                            ImportMetrics.ImportRecording metrics) {
+        this(ebookSink, progress, metrics, null);
     }
     
-    public List<GdufeLibraryEbookDO> getEbookList() {
-        return ebookList;
+    public ExcelParseResult(Consumer<GdufeLibraryEbookDO> ebookSink, ImportProgress progress, 
+                            ImportMetrics.ImportRecording metrics, String sheetLabel) {
+        this.ebookSink = ebookSink;
+        this.progress = progress;
+        this.metrics = metrics;
+        this.sheetLabel = sheetLabel;
+    }
+    
+    public void addEbook(GdufeLibraryEbookDO ebook) {
+        ebookSink.accept(ebook);
+        successCount++;
+    }
+    
+    public void incrementTotalRows() {
+        totalRows++;
+        progress.incrementRowsParsed();
+        metrics.rowParsed();
+    }
+    
+    public void incrementFailureCount(int rowNumber, String reason, String detail) {
+        failureCount++;
+        metrics.rowSkipped(reason);
+        progress.getDiagnostics().recordRow(sheetLabel, rowNumber, reason, detail);
+    }
+    
+    public void addSkippedRow(int rowNumber, String reason) {
+        skippedRows.add(rowNumber);
+        progress.incrementRowsSkipped();
+        metrics.rowSkipped(reason);
+        progress.getDiagnostics().recordRow(sheetLabel, rowNumber, reason, null);
+    }
+    
+    /**
+     * 字段值无法识别、已按默认值导入的行：只记入导入问题汇总，不计为失败
+     */
+    @Override
+    public void onFieldIssue(int rowNumber, String reason, String detail) {
+        progress.getDiagnostics().recordRow(sheetLabel, rowNumber, reason, detail);
     }
     
     public int getTotalRows() {
@@ -58,6 +120,10 @@ class ExcelParseResult {
     public List<Integer> getSkippedRows() {
         return skippedRows;
     }
+    
+    public String getSheetLabel() {
+        return sheetLabel;
+    }
 }
 
 /**
@@ -71,9 +137,92 @@ public class ExcelParseServiceImpl implements ExcelParseService {
     
     private static final Logger logger = LoggerFactory.getLogger(ExcelParseServiceImpl.class);
     
+    /**
+     * 畅想之星表格格式
+     */
+    private static final EbookColumnPlan.Layout CHANGXIANG_LAYOUT = EbookColumnPlan.layout(0)
+        .bookName("主题名")
+        .isbn("ISBN")
+        .field("第一责任者", GdufeLibraryEbookDO::setBookAuthor)
+        .field("第二责任者", EbookFieldDecoders::appendSecondAuthor)
+        .field("出版社", GdufeLibraryEbookDO::setBookPress)
+        .field("中图法分类", GdufeLibraryEbookDO::setBookChineseLibraryClassification)
+        .field("简介", GdufeLibraryEbookDO::setBookBriefIntroduction)
+        .field("URL", GdufeLibraryEbookDO::setBookUrl)
+        .field("学科分类", GdufeLibraryEbookDO::setBookSubjectClassification)
+        .field("出版时间", EbookFieldDecoders::decodePublishDate);
+    
+    /**
+     * 京东表格格式
+     */
+    private static final EbookColumnPlan.Layout JINGDONG_LAYOUT = EbookColumnPlan.layout(1)
+        .bookName("书名")
+        .isbn("ISBN")
+        .field("著者", GdufeLibraryEbookDO::setBookAuthor)
+        .field("出版社", GdufeLibraryEbookDO::setBookPress)
+        .decodedField("一级分类", EbookFieldDecoders::decodePrimaryCategory)
+        .field("二级分类", GdufeLibraryEbookDO::setBookSecondaryClassification)
+        .field("出版时间", EbookFieldDecoders::decodePublishDate)
+        .field("URL链接", GdufeLibraryEbookDO::setBookUrl)
+        .field("简介", GdufeLibraryEbookDO::setBookBriefIntroduction);
+    
+    /**
+     * 计算内容指纹用的MD5摘要，每个解析线程一份，逐行复用
+     */
+    private static final ThreadLocal<ContentDigest> CONTENT_DIGEST = ThreadLocal.withInitial(ContentDigest::new);
+    
     @Autowired
     private GdufeLibraryEbookMapper ebookMapper;
     
+    @Autowired
+    private ExcelSheetReader excelSheetReader;
+    
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+    
+    @Autowired
+    private EbookBulkLoader ebookBulkLoader;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ImportMetrics importMetrics;
+    
+    @Autowired
+    @Qualifier("importWriterExecutor")
+    private Executor importWriterExecutor;
+    
+    @Autowired
+    @Qualifier("importParseExecutor")
+    private Executor importParseExecutor;
+    
+    /**
+     * 每批写入的记录数
+     */
+    @Value("${gdufe.import.batch-size:5000}")
+    private int batchSize;
+    
+    /**
+     * 每次导入的写入线程数
+     */
+    @Value("${gdufe.import.writer-threads:1}")
+    private int writerThreads;
+    
+    /**
+     * 解析与写入之间的队列容量（批次数）
+     */
+    @Value("${gdufe.import.queue-capacity:4}")
+    private int queueCapacity;
+    
+    /**
+     * 批量写入方式
+     * multi-values：每批拼接成一条多行INSERT语句（默认）
+     * jdbc-batch：BATCH执行器逐条添加单行语句，由驱动的rewriteBatchedStatements合并发送
+     */
+    @Value("${gdufe.import.write-mode:multi-values}")
+    private String writeMode;
+    
     /**
      * 解析Excel文件并导入数据库
      * 
@@ -81,562 +230,643 @@ public class ExcelParseServiceImpl implements ExcelParseService {
      * @param fileSource 文件来源（0:畅想之星, 1:京东）
      * @return 导入结果
      */
+    @Override
     public ParseResult parseAndImportExcel(MultipartFile excelFile, String fileSource) {
+        return parseAndImportExcel(excelFile, fileSource, new ImportProgress());
+    }
+    
+    /**
+     * 解析Excel文件并导入数据库，同时实时更新导入进度
+     * 
+     * @param excelFile Excel文件
+     * @param fileSource 文件来源（0:畅想之星, 1:京东）
+     * @param progress 导入进度
+     * @return 导入结果
+     */
+    @Override
+    public ParseResult parseAndImportExcel(MultipartFile excelFile, String fileSource, ImportProgress progress) {
         ParseResult result = new ParseResult();
+        ImportMetrics.ImportRecording metrics = importMetrics.start(ImportMetrics.TYPE_EBOOK);
         
         try {
-            // 根据文件来源选择不同的解析方法
-            ExcelParseResult parseResult;
-            if ("0".equals(fileSource) || "changxiang".equalsIgnoreCase(fileSource)) {
-                // 畅想之星
-                parseResult = parseChangxiangExcelFile(excelFile);
-            } else if ("1".equals(fileSource) || "jingdong".equalsIgnoreCase(fileSource)) {
-                // 京东
-                parseResult = parseJingdongExcelFile(excelFile);
-            } else {
+            boolean isChangxiang = "0".equals(fileSource) || "changxiang".equalsIgnoreCase(fileSource);
+            boolean isJingdong = "1".equals(fileSource) || "jingdong".equalsIgnoreCase(fileSource);
+            if (!isChangxiang && !isJingdong) {
                 result.setSuccess(false);
                 result.setMessage("不支持的文件来源：" + fileSource);
                 return result;
             }
             
-            List<GdufeLibraryEbookDO> ebookList = parseResult.getEbookList();
-            if (ebookList == null || ebookList.isEmpty()) {
-                result.setSuccess(false);
-                result.setMessage("Excel文件中没有有效数据");
-                return result;
-            }
-            
-            // 记录解析统计信息
-            logger.info("Excel解析统计 - 总行数：{}, 解析成功：{}, 解析失败：{}", 
-                parseResult.getTotalRows(), parseResult.getSuccessCount(), parseResult.getFailureCount());
+            logger.info("=== 开始流水线处理Excel数据 === 批次大小：{}，写入线程数：{}，队列容量：{}，写入方式：{}", 
+                batchSize, writerThreads, queueCapacity, writeMode);
+            long startNanos = System.nanoTime();
             
-            // 批量插入数据库
-            int insertedCount = 0;
-            int skippedCount = 0;
+            // 解析与写库并行：解析出的数据按批次进入有界队列，由写入线程批量插入或更新
+            EbookImportPipeline pipeline = new EbookImportPipeline(
+                importWriterExecutor, writerThreads, queueCapacity, batchSize, 
+                (batch, batchNo) -> writeEbookBatch(batch, batchNo, progress.getDiagnostics()), progress);
             
             // 设置公共字段
             LocalDateTime now = LocalDateTime.now();
-            for (GdufeLibraryEbookDO ebook : ebookList) {
+            Consumer<GdufeLibraryEbookDO> ebookSink = ebook -> {
                 ebook.setCreateTime(now);
                 ebook.setUpdateTime(now);
                 ebook.setIsDeleted(0); // 默认未删除
+                pipeline.accept(ebook);
+            };
+            
+            // 根据文件来源选择不同的解析方法
+            ExcelParseResult parseResult;
+            try {
+                if (isChangxiang) {
+                    // 畅想之星
+                    parseResult = parseChangxiangExcelFile(excelFile, ebookSink, progress, metrics);
+                } else {
+                    // 京东
+                    parseResult = parseJingdongExcelFile(excelFile, ebookSink, progress, metrics);
+                }
+            } finally {
+                // 无论解析是否成功都要结束流水线，等待已提交的批次写完
+                pipeline.finish();
             }
             
-            // 分批处理，每批5000条记录
-            int batchSize = 5000;
-            int totalSize = ebookList.size();
-            int totalBatches = (totalSize + batchSize - 1) / batchSize; // 计算总批次数
+            if (parseResult.getSuccessCount() == 0) {
+                result.setSuccess(false);
+                result.setMessage("Excel文件中没有有效数据");
+                return result;
+            }
             
-            logger.info("=== 开始批量处理Excel数据 ===");
-            logger.info("总记录数：{}，批次大小：{}，总批次数：{}", totalSize, batchSize, totalBatches);
+            // 记录解析统计信息
+            logger.info("Excel解析统计 - 总行数：{}, 解析成功：{}, 解析失败：{}", 
+                parseResult.getTotalRows(), parseResult.getSuccessCount(), parseResult.getFailureCount());
             
-            for (int i = 0; i < totalSize; i += batchSize) {
-                int endIndex = Math.min(i + batchSize, totalSize);
-                List<GdufeLibraryEbookDO> batch = ebookList.subList(i, endIndex);
-                int currentBatch = (i/batchSize + 1);
-                
-                logger.info("=== 开始处理第 {}/{} 批 === 批次大小：{}", currentBatch, totalBatches, batch.size());
-                
-                try {
-                    // 使用批量插入或更新（基于ISBN）
-                    int batchProcessed = ebookMapper.batchInsertOrUpdate(batch);
-                    insertedCount += batchProcessed;
-                    
-                    // 成功时显示批次信息，便于监控处理进度
-                    logger.info("=== 批次 {}/{} 处理成功 === 处理记录数：{}，累计成功：{}", 
-                        (i/batchSize + 1), totalBatches, batchProcessed, insertedCount);
-                    
-                } catch (Exception e) {
-                    // 失败时显示详细错误信息
-                    logger.error("批量插入或更新第 {} 批失败，批次大小：{}，错误详情：{}", (i/batchSize + 1), batch.size(), e.getMessage(), e);
-                    
-                    // 如果批量操作失败，尝试逐条插入或更新
-                    for (GdufeLibraryEbookDO ebook : batch) {
-                        try {
-                            // 先查询是否存在
-                            LambdaQueryWrapper<GdufeLibraryEbookDO> queryWrapper = new LambdaQueryWrapper<>();
-                            queryWrapper.eq(GdufeLibraryEbookDO::getBookIsbn, ebook.getBookIsbn());
-                            GdufeLibraryEbookDO existingEbook = ebookMapper.selectOne(queryWrapper);
-                            if (existingEbook != null) {
-                                // 存在则更新
-                                ebook.setId(existingEbook.getId());
-                                ebook.setCreateTime(existingEbook.getCreateTime()); // 保持原创建时间
-                                ebookMapper.updateById(ebook);
-                                // 成功时不显示详细记录
-                            } else {
-                                // 不存在则插入
-                                ebookMapper.insert(ebook);
-                                // 成功时不显示详细记录
-                            }
-                            insertedCount++;
-                        } catch (Exception ex) {
-                            // 失败时显示详细错误信息
-                            logger.error("单条处理失败：ISBN={}, 书名={}, 错误详情：{}", 
-                                ebook.getBookIsbn(), ebook.getBookName(), ex.getMessage(), ex);
-                            skippedCount++;
-                        }
-                    }
-                }
-            }
+            int insertedCount = pipeline.getProcessedCount();
+            int skippedCount = pipeline.getSkippedCount();
+            publishImportedEvent(pipeline.getWrittenIsbns(), false);
             
-            logger.info("=== 批量处理完成 === 总批次数：{}，成功处理：{}条记录", totalBatches, insertedCount);
+            long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+            logger.info("=== 批量处理完成 === 总批次数：{}，成功处理：{}条记录（新增：{}，更新：{}，未变化：{}），耗时：{}ms，吞吐量：{}条/秒，写入方式：{}", 
+                pipeline.getCommittedBatches(), insertedCount, pipeline.getCreatedCount(), pipeline.getUpdatedCount(), 
+                pipeline.getUnchangedCount(), elapsedMillis, insertedCount * 1000L / elapsedMillis, writeMode);
             
             result.setSuccess(true);
             result.setMessage("Excel文件解析并导入完成（基于ISBN进行插入或更新）");
             result.setTotalRows(parseResult.getTotalRows());
             result.setInsertedRows(insertedCount);
+            result.setCreatedRows(pipeline.getCreatedCount());
+            result.setUpdatedRows(pipeline.getUpdatedCount());
+            result.setUnchangedRows(pipeline.getUnchangedCount());
             result.setSkippedRows(skippedCount);
             result.setSkippedRowsList(parseResult.getSkippedRows());
             
-            logger.info("Excel文件处理完成 - 解析统计：总行数={}, 解析成功={}, 解析失败={}, ISBN为空跳过={}, 跳过行号={}, 数据库操作：成功处理={}, 跳过={}", 
+            logger.info("Excel文件处理完成 - 解析统计：总行数={}, 解析成功={}, 解析失败={}, ISBN为空跳过={}, 数据库操作：成功处理={}, 跳过={}", 
                 parseResult.getTotalRows(), parseResult.getSuccessCount(), parseResult.getFailureCount(), 
-                parseResult.getSkippedRows().size(), parseResult.getSkippedRows(), insertedCount, skippedCount);
-            
+                parseResult.getSkippedRows().size(), insertedCount, skippedCount);
+        
         } catch (Exception e) {
             logger.error("Excel文件解析失败：{}", e.getMessage(), e);
             result.setSuccess(false);
             result.setMessage("Excel文件解析失败：" + e.getMessage());
+        } finally {
+            metrics.finish(result.isSuccess());
+            logImportDiagnostics(progress);
         }
         
         return result;
     }
     
-    
     /**
-     * 解析畅想之星Excel文件
+     * 并行解析多个Excel文件的所有工作表并导入数据库
      * 
-     * @param excelFile Excel文件
-     * @return 解析结果包含电子书数据列表和统计信息
+     * @param excelFiles Excel文件列表
+     * @param fileSource 文件来源（0:畅想之星, 1:京东）
+     * @param progress 导入进度
+     * @return 导入结果
      */
-    private ExcelParseResult parseChangxiangExcelFile(MultipartFile excelFile) {
-        List<GdufeLibraryEbookDO> ebookList = new ArrayList<>();
-        List<Integer> skippedRows = new ArrayList<>(); // 记录跳过的行号（ISBN为空的记录）
-        int totalRows = 0;
-        int successCount = 0;
-        int failureCount = 0;
+    @Override
+    public ParseResult parseAndImportExcelFiles(List<MultipartFile> excelFiles, String fileSource, ImportProgress progress) {
+        ParseResult result = new ParseResult();
         
+        boolean isChangxiang = "0".equals(fileSource) || "changxiang".equalsIgnoreCase(fileSource);
+        boolean isJingdong = "1".equals(fileSource) || "jingdong".equalsIgnoreCase(fileSource);
+        if (!isChangxiang && !isJingdong) {
+            result.setSuccess(false);
+            result.setMessage("不支持的文件来源：" + fileSource);
+            return result;
+        }
+        
+        List<ExcelWorkbook> workbooks = new ArrayList<>();
+        ImportMetrics.ImportRecording metrics = importMetrics.start(ImportMetrics.TYPE_EBOOK);
         try {
-            Workbook workbook;
-            String fileName = excelFile.getOriginalFilename();
+            logger.info("=== 开始并行处理多个Excel文件 === 文件数：{}，批次大小：{}，写入线程数：{}，队列容量：{}", 
+                excelFiles.size(), batchSize, writerThreads, queueCapacity);
+            long startNanos = System.nanoTime();
             
-            if (fileName != null && fileName.toLowerCase().endsWith(".xlsx")) {
-                workbook = new XSSFWorkbook(excelFile.getInputStream());
-            } else {
-                workbook = new HSSFWorkbook(excelFile.getInputStream());
+            // 所有工作表共用一条流水线，写库线程数不随工作表数量增加
+            EbookImportPipeline pipeline = new EbookImportPipeline(
+                importWriterExecutor, writerThreads, queueCapacity, batchSize, 
+                (batch, batchNo) -> writeEbookBatch(batch, batchNo, progress.getDiagnostics()), progress);
+            
+            // 设置公共字段
+            LocalDateTime now = LocalDateTime.now();
+            Consumer<GdufeLibraryEbookDO> ebookSink = ebook -> {
+                ebook.setCreateTime(now);
+                ebook.setUpdateTime(now);
+                ebook.setIsDeleted(0); // 默认未删除
+                pipeline.accept(ebook);
+            };
+            
+            // 每个工作表一个解析任务
+            List<SheetParseTask> tasks = new ArrayList<>();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            try {
+                for (MultipartFile excelFile : excelFiles) {
+                    ExcelWorkbook workbook = excelSheetReader.openWorkbook(excelFile);
+                    workbooks.add(workbook);
+                    
+                    for (int sheetIndex = 0; sheetIndex < workbook.getSheetCount(); sheetIndex++) {
+                        String sheetLabel = workbook.getFileName() + "/" + workbook.getSheetNames().get(sheetIndex);
+                        SheetParseTask task = new SheetParseTask(workbook, sheetIndex, 
+                            new ExcelParseResult(ebookSink, progress, metrics, sheetLabel));
+                        tasks.add(task);
+                        futures.add(CompletableFuture.runAsync(() -> parseSheet(task, isChangxiang), importParseExecutor));
+                    }
+                }
+            } finally {
+                // 等待已提交的解析任务结束后再结束流水线
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).handle((v, e) -> null).join();
+                pipeline.finish();
             }
             
-            Sheet sheet = workbook.getSheetAt(0); // 获取第一个工作表
+            // 合并各工作表的统计信息
+            int totalRows = 0;
+            int successCount = 0;
+            int failureCount = 0;
+            List<Integer> skippedRowsList = new ArrayList<>();
+            Map<String, List<Integer>> skippedRowsBySheet = new LinkedHashMap<>();
+            List<String> failedSheets = new ArrayList<>();
+            for (SheetParseTask task : tasks) {
+                ExcelParseResult sheetResult = task.parseResult;
+                totalRows += sheetResult.getTotalRows();
+                successCount += sheetResult.getSuccessCount();
+                failureCount += sheetResult.getFailureCount();
+                skippedRowsList.addAll(sheetResult.getSkippedRows());
+                if (!sheetResult.getSkippedRows().isEmpty()) {
+                    skippedRowsBySheet.put(task.sheetLabel, sheetResult.getSkippedRows());
+                }
+                if (task.errorMessage != null) {
+                    failedSheets.add(task.sheetLabel + "：" + task.errorMessage);
+                }
+            }
             
-            // 解析标题行，获取列索引映射
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) {
-                throw new RuntimeException("Excel文件第一行（标题行）为空");
+            if (successCount == 0) {
+                result.setSuccess(false);
+                result.setMessage(failedSheets.isEmpty() ? "Excel文件中没有有效数据" : "Excel文件中没有有效数据，" + String.join("；", failedSheets));
+                return result;
             }
             
-            Map<String, Integer> columnIndexMap = parseChangxiangHeaderRow(headerRow);
+            int insertedCount = pipeline.getProcessedCount();
+            int skippedCount = pipeline.getSkippedCount();
+            publishImportedEvent(pipeline.getWrittenIsbns(), false);
             
-            // 从第二行开始解析数据
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) {
-                    failureCount++;
-                    logger.warn("畅想之星解析失败 - 行号：{}, 原因：行为空", i + 1);
-                    continue;
-                }
-                
-                totalRows++;
-                
+            long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+            logger.info("=== 多文件批量处理完成 === 工作表数：{}，总批次数：{}，成功处理：{}条记录（新增：{}，更新：{}，未变化：{}），耗时：{}ms，吞吐量：{}条/秒", 
+                tasks.size(), pipeline.getCommittedBatches(), insertedCount, pipeline.getCreatedCount(), 
+                pipeline.getUpdatedCount(), pipeline.getUnchangedCount(), elapsedMillis, insertedCount * 1000L / elapsedMillis);
+            
+            result.setSuccess(true);
+            result.setMessage(failedSheets.isEmpty()
+                ? "Excel文件解析并导入完成（基于ISBN进行插入或更新）"
+                : "Excel文件解析并导入完成（基于ISBN进行插入或更新），以下工作表未导入：" + String.join("；", failedSheets));
+            result.setTotalRows(totalRows);
+            result.setInsertedRows(insertedCount);
+            result.setCreatedRows(pipeline.getCreatedCount());
+            result.setUpdatedRows(pipeline.getUpdatedCount());
+            result.setUnchangedRows(pipeline.getUnchangedCount());
+            result.setSkippedRows(skippedCount);
+            result.setSkippedRowsList(skippedRowsList);
+            result.setSkippedRowsBySheet(skippedRowsBySheet);
+            
+            logger.info("多文件处理完成 - 解析统计：总行数={}, 解析成功={}, 解析失败={}, 跳过={}, 数据库操作：成功处理={}, 跳过={}", 
+                totalRows, successCount, failureCount, skippedRowsList.size(), insertedCount, skippedCount);
+        
+        } catch (Exception e) {
+            logger.error("多个Excel文件解析失败：{}", e.getMessage(), e);
+            result.setSuccess(false);
+            result.setMessage("Excel文件解析失败：" + e.getMessage());
+        } finally {
+            metrics.finish(result.isSuccess());
+            logImportDiagnostics(progress);
+            for (ExcelWorkbook workbook : workbooks) {
                 try {
-                    // 先检查ISBN是否为空，如果为空则跳过该记录
-                    Integer isbnIndex = columnIndexMap.get("isbn");
-                    if (isbnIndex != null) {
-                        Cell isbnCell = row.getCell(isbnIndex);
-                        String isbn = getCellStringValue(isbnCell);
-                        if (isbn == null || isbn.trim().isEmpty()) {
-                            skippedRows.add(i + 1); // 记录跳过的行号
-                            logger.warn("畅想之星跳过记录 - 行号：{}, 原因：ISBN号为空", i + 1);
-                            continue;
-                        }
-                    } else {
-                        skippedRows.add(i + 1); // 记录跳过的行号
-                        logger.warn("畅想之星跳过记录 - 行号：{}, 原因：Excel文件中缺少ISBN列", i + 1);
-                        continue;
-                    }
-                    
-                    GdufeLibraryEbookDO ebook = parseChangxiangRow(row, columnIndexMap);
-                    if (ebook != null) {
-                        ebookList.add(ebook);
-                        successCount++;
-                    } else {
-                        failureCount++;
-                        logger.warn("畅想之星解析失败 - 行号：{}, 原因：书名为空或必填字段缺失", i + 1);
-                    }
-                } catch (Exception e) {
-                    failureCount++;
-                    logger.error("畅想之星解析失败 - 行号：{}, 原因：{}", i + 1, e.getMessage());
+                    workbook.close();
+                } catch (IOException e) {
+                    logger.warn("关闭Excel文件失败：{}", workbook.getFileName(), e);
                 }
             }
-            
-            workbook.close();
-            
-        } catch (IOException e) {
-            logger.error("读取畅想之星Excel文件失败：{}", e.getMessage(), e);
         }
         
-        logger.info("畅想之星Excel解析完成 - 总行数：{}, 成功：{}, 失败：{}, 跳过：{}", totalRows, successCount, failureCount, skippedRows.size());
-        
-        return new ExcelParseResult(ebookList, totalRows, successCount, failureCount, skippedRows);
+        return result;
     }
     
     /**
-     * 解析畅想之星Excel标题行，获取列索引映射
+     * 解析一个工作表，在解析线程池中执行
+     * 标题行缺失或读取失败时只记录该工作表的错误，不影响其他工作表
      * 
-     * @param headerRow 标题行
-     * @return 列名到列索引的映射
+     * @param task 工作表解析任务
+     * @param isChangxiang 是否畅想之星格式（否则为京东格式）
      */
-    private Map<String, Integer> parseChangxiangHeaderRow(Row headerRow) {
-        Map<String, Integer> columnIndexMap = new HashMap<>();
+    private void parseSheet(SheetParseTask task, boolean isChangxiang) {
+        AtomicReference<EbookColumnPlan> columnPlanHolder = new AtomicReference<>();
+        ExcelRowHandler handler = isChangxiang
+            ? changxiangRowHandler(task.parseResult, columnPlanHolder)
+            : jingdongRowHandler(task.parseResult, columnPlanHolder);
         
-        // 遍历标题行的所有单元格
-        for (int i = 0; i < headerRow.getLastCellNum(); i++) {
-            Cell cell = headerRow.getCell(i);
-            if (cell == null) continue;
-            
-            String headerValue = getCellStringValue(cell).trim();
-            if (headerValue.isEmpty()) continue;
-            
-            // 根据畅想之星固定的字段名进行匹配
-            if (headerValue.equals("主题名")) {
-                columnIndexMap.put("bookName", i);
-            } else if (headerValue.equals("第一责任者")) {
-                columnIndexMap.put("author", i);
-            } else if (headerValue.equals("第二责任者")) {
-                columnIndexMap.put("secondAuthor", i);
-            } else if (headerValue.equals("出版社")) {
-                columnIndexMap.put("publisher", i);
-            } else if (headerValue.equals("ISBN")) {
-                columnIndexMap.put("isbn", i);
-            } else if (headerValue.equals("中图法分类")) {
-                columnIndexMap.put("category", i);
-            } else if (headerValue.equals("学科分类")) {
-                columnIndexMap.put("subjectCategory", i);
-            } else if (headerValue.equals("简介")) {
-                columnIndexMap.put("description", i);
-            } else if (headerValue.equals("URL")) {
-                columnIndexMap.put("ebookFileUrl", i);
-            } else if (headerValue.equals("出版时间")) {
-                columnIndexMap.put("publishDate", i);
+        try {
+            task.workbook.readSheet(task.sheetIndex, handler);
+            if (columnPlanHolder.get() == null) {
+                task.errorMessage = "工作表为空";
             }
+        } catch (UncheckedIOException e) {
+            task.errorMessage = e.getCause().getMessage();
+        } catch (Exception e) {
+            task.errorMessage = e.getMessage();
         }
         
-        // 验证必要的列是否存在
-        if (!columnIndexMap.containsKey("bookName")) {
-            throw new RuntimeException("畅想之星Excel文件中缺少书名列，请检查标题行");
+        if (task.errorMessage != null) {
+            logger.warn("工作表未导入 - {}，原因：{}", task.sheetLabel, task.errorMessage);
+        } else {
+            ExcelParseResult sheetResult = task.parseResult;
+            logger.info("工作表解析完成 - {}，总行数：{}, 成功：{}, 失败：{}, 跳过：{}", task.sheetLabel, sheetResult.getTotalRows(), 
+                sheetResult.getSuccessCount(), sheetResult.getFailureCount(), sheetResult.getSkippedRows().size());
         }
-        
-        return columnIndexMap;
     }
     
     /**
-     * 解析畅想之星Excel行数据为电子书对象
+     * 解析Excel文件并通过LOAD DATA LOCAL INFILE批量装载到数据库
      * 
-     * @param row Excel行数据
-     * @param columnIndexMap 列索引映射
-     * @return 电子书对象
+     * @param excelFile Excel文件
+     * @param fileSource 文件来源（0:畅想之星, 1:京东）
+     * @param progress 导入进度
+     * @return 导入结果
      */
-    private GdufeLibraryEbookDO parseChangxiangRow(Row row, Map<String, Integer> columnIndexMap) {
-        GdufeLibraryEbookDO ebook = new GdufeLibraryEbookDO();
+    @Override
+    public ParseResult bulkLoadExcel(MultipartFile excelFile, String fileSource, ImportProgress progress) {
+        ParseResult result = new ParseResult();
+        
+        boolean isChangxiang = "0".equals(fileSource) || "changxiang".equalsIgnoreCase(fileSource);
+        boolean isJingdong = "1".equals(fileSource) || "jingdong".equalsIgnoreCase(fileSource);
+        if (!isChangxiang && !isJingdong) {
+            result.setSuccess(false);
+            result.setMessage("不支持的文件来源：" + fileSource);
+            return result;
+        }
         
+        EbookBulkLoader.StagingFile stagingFile = null;
+        ImportMetrics.ImportRecording metrics = importMetrics.start(ImportMetrics.TYPE_BULK_LOAD);
         try {
-            // 使用动态列索引读取数据
-            
-            // 书名（必填）
-            Integer bookNameIndex = columnIndexMap.get("bookName");
-            if (bookNameIndex != null) {
-                Cell bookNameCell = row.getCell(bookNameIndex);
-                String bookName = getCellStringValue(bookNameCell);
-                if (bookName != null && !bookName.trim().isEmpty()) {
-                    ebook.setBookName(bookName.trim());
-                } else {
-                    // 书名为空，跳过该行
-                    return null;
-                }
-            } else {
-                throw new RuntimeException("找不到书名列");
-            }
-            
-            // 第一责任人（作者）
-            Integer authorIndex = columnIndexMap.get("author");
-            if (authorIndex != null) {
-                Cell authorCell = row.getCell(authorIndex);
-                String author = getCellStringValue(authorCell);
-                if (author != null && !author.trim().isEmpty()) {
-                    ebook.setBookAuthor(author.trim());
-                }
-            }
-            
-            // 第二责任人
-            Integer secondAuthorIndex = columnIndexMap.get("secondAuthor");
-            if (secondAuthorIndex != null) {
-                Cell secondAuthorCell = row.getCell(secondAuthorIndex);
-                String secondAuthor = getCellStringValue(secondAuthorCell);
-                if (secondAuthor != null && !secondAuthor.trim().isEmpty()) {
-                    // 如果已有第一责任人，则合并；否则设置为作者
-                    String currentAuthor = ebook.getBookAuthor();
-                    if (currentAuthor != null && !currentAuthor.trim().isEmpty()) {
-                        ebook.setBookAuthor(currentAuthor + ";" + secondAuthor.trim());
-                    } else {
-                        ebook.setBookAuthor(secondAuthor.trim());
-                    }
-                }
-            }
-            
-            // 出版社
-            Integer publisherIndex = columnIndexMap.get("publisher");
-            if (publisherIndex != null) {
-                Cell publisherCell = row.getCell(publisherIndex);
-                String publisher = getCellStringValue(publisherCell);
-                if (publisher != null && !publisher.trim().isEmpty()) {
-                    ebook.setBookPress(publisher.trim());
-                }
-            }
+            logger.info("=== 开始批量装载Excel数据（LOAD DATA LOCAL INFILE） ===");
+            long startNanos = System.nanoTime();
             
-            // ISBN
-            Integer isbnIndex = columnIndexMap.get("isbn");
-            if (isbnIndex != null) {
-                Cell isbnCell = row.getCell(isbnIndex);
-                String isbn = getCellStringValue(isbnCell);
-                if (isbn != null && !isbn.trim().isEmpty()) {
-                    ebook.setBookIsbn(isbn.trim());
-                }
-            }
+            // 解析结果逐条写入装载文件
+            EbookBulkLoader.StagingFile file = ebookBulkLoader.createStagingFile();
+            stagingFile = file;
+            LocalDateTime now = LocalDateTime.now();
+            List<String> loadedIsbns = new ArrayList<>();
+            Consumer<GdufeLibraryEbookDO> ebookSink = ebook -> {
+                ebook.setCreateTime(now);
+                ebook.setUpdateTime(now);
+                ebook.setIsDeleted(0); // 默认未删除
+                file.append(ebook);
+                loadedIsbns.add(ebook.getBookIsbn());
+            };
             
-            // 分类
-            Integer categoryIndex = columnIndexMap.get("category");
-            if (categoryIndex != null) {
-                Cell categoryCell = row.getCell(categoryIndex);
-                String category = getCellStringValue(categoryCell);
-                if (category != null && !category.trim().isEmpty()) {
-                    ebook.setBookChineseLibraryClassification(category.trim());
-                }
+            ExcelParseResult parseResult;
+            if (isChangxiang) {
+                // 畅想之星
+                parseResult = parseChangxiangExcelFile(excelFile, ebookSink, progress, metrics);
+            } else {
+                // 京东
+                parseResult = parseJingdongExcelFile(excelFile, ebookSink, progress, metrics);
             }
             
-            // 描述
-            Integer descriptionIndex = columnIndexMap.get("description");
-            if (descriptionIndex != null) {
-                Cell descriptionCell = row.getCell(descriptionIndex);
-                String description = getCellStringValue(descriptionCell);
-                if (description != null && !description.trim().isEmpty()) {
-                    ebook.setBookBriefIntroduction(description.trim());
-                }
+            if (parseResult.getSuccessCount() == 0) {
+                result.setSuccess(false);
+                result.setMessage("Excel文件中没有有效数据");
+                return result;
             }
             
-            // 电子书文件URL
-            Integer ebookFileIndex = columnIndexMap.get("ebookFileUrl");
-            if (ebookFileIndex != null) {
-                Cell ebookFileUrlCell = row.getCell(ebookFileIndex);
-                String ebookFileUrl = getCellStringValue(ebookFileUrlCell);
-                if (ebookFileUrl != null && !ebookFileUrl.trim().isEmpty()) {
-                    ebook.setBookUrl(ebookFileUrl.trim());
-                }
-            }
+            logger.info("Excel解析统计 - 总行数：{}, 解析成功：{}, 解析失败：{}", 
+                parseResult.getTotalRows(), parseResult.getSuccessCount(), parseResult.getFailureCount());
             
-            // 学科分类
-            Integer subjectCategoryIndex = columnIndexMap.get("subjectCategory");
-            if (subjectCategoryIndex != null) {
-                Cell subjectCategoryCell = row.getCell(subjectCategoryIndex);
-                String subjectCategory = getCellStringValue(subjectCategoryCell);
-                if (subjectCategory != null && !subjectCategory.trim().isEmpty()) {
-                    ebook.setBookSubjectClassification(subjectCategory.trim());
-                }
+            // 整个文件作为一个批次装载
+            progress.onBatchSubmitted();
+            metrics.sampleHeap();
+            long loadStartNanos = System.nanoTime();
+            EbookBulkLoader.BulkLoadResult loadResult;
+            try {
+                loadResult = ebookBulkLoader.load(file);
+            } catch (Exception e) {
+                importMetrics.recordBatchWrite("load-data", false, System.nanoTime() - loadStartNanos);
+                throw e;
             }
-            
-            // 出版日期
-            Integer publishDateIndex = columnIndexMap.get("publishDate");
-            if (publishDateIndex != null) {
-                Cell publishDateCell = row.getCell(publishDateIndex);
-                if (publishDateCell != null) {
-                    try {
-                        if (publishDateCell.getCellType() == CellType.NUMERIC) {
-                            if (DateUtil.isCellDateFormatted(publishDateCell)) {
-                                ebook.setBookPublicationTime(publishDateCell.getDateCellValue().toInstant()
-                                    .atZone(java.time.ZoneId.systemDefault()).toLocalDate());
-                            }
-                        } else {
-                            String dateStr = getCellStringValue(publishDateCell);
-                            if (dateStr != null && !dateStr.trim().isEmpty()) {
-                                // 尝试解析日期字符串
-                                try {
-                                    ebook.setBookPublicationTime(LocalDate.parse(dateStr.trim()));
-                                } catch (Exception e) {
-                                    // 忽略日期解析错误
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        // 忽略日期解析错误
-                    }
-                }
+            importMetrics.recordBatchWrite("load-data", true, System.nanoTime() - loadStartNanos);
+            for (EbookBulkLoader.RejectedRow rejectedRow : loadResult.getRejectedRows()) {
+                progress.getDiagnostics().recordIssue(ImportMetrics.REASON_LOAD_REJECTED, String.format("装载文件第%d行, ISBN=%s, 警告：%s", 
+                    rejectedRow.fileRow(), rejectedRow.isbn(), rejectedRow.warning()));
             }
+            importMetrics.recordSkippedRows(ImportMetrics.TYPE_BULK_LOAD, ImportMetrics.REASON_LOAD_REJECTED, 
+                loadResult.getRejectedRows().size());
+            int loadedRows = loadResult.getLoadedRows();
+            int skippedCount = parseResult.getSuccessCount() - loadedRows;
+            progress.onBatchCommitted(loadedRows, skippedCount);
+            publishImportedEvent(loadedIsbns, false);
             
+            long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+            logger.info("=== 批量装载完成 === 装载：{}条记录，合并影响行数：{}，耗时：{}ms，吞吐量：{}条/秒", 
+                loadedRows, loadResult.getAffectedRows(), elapsedMillis, loadedRows * 1000L / elapsedMillis);
             
-            // 设置来源
-            ebook.setBookSource(0); // 畅想之星
-            
-            return ebook;
-            
-        } catch (Exception e) {
-            logger.warn("解析行数据异常：{}", e.getMessage());
-            return null;
-        }
-    }
-    
-    /**
-     * 获取单元格字符串值
-     */
-    private String getCellStringValue(Cell cell) {
-        if (cell == null) {
-            return null;
-        }
+            result.setSuccess(true);
+            result.setMessage("Excel文件解析并批量装载完成（基于ISBN进行插入或更新）");
+            result.setTotalRows(parseResult.getTotalRows());
+            result.setInsertedRows(loadedRows);
+            result.setSkippedRows(skippedCount);
+            result.setSkippedRowsList(parseResult.getSkippedRows());
         
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue().toString();
-                } else {
-                    // 处理数字类型，避免科学计数法
-                    double numericValue = cell.getNumericCellValue();
-                    if (numericValue == (long) numericValue) {
-                        return String.valueOf((long) numericValue);
-                    } else {
-                        return String.valueOf(numericValue);
-                    }
-                }
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
+        } catch (Exception e) {
+            logger.error("Excel文件批量装载失败：{}", e.getMessage(), e);
+            result.setSuccess(false);
+            result.setMessage("Excel文件批量装载失败：" + e.getMessage());
+        } finally {
+            metrics.finish(result.isSuccess());
+            logImportDiagnostics(progress);
+            if (stagingFile != null) {
                 try {
-                    return cell.getStringCellValue().trim();
-                } catch (Exception e) {
-                    return String.valueOf(cell.getNumericCellValue());
+                    stagingFile.delete();
+                } catch (IOException e) {
+                    logger.warn("删除装载文件失败：{}", stagingFile.getPath(), e);
                 }
-            default:
-                return null;
+            }
         }
+        
+        return result;
     }
     
     /**
-     * 将分类名称转换为INT值
-     * 映射关系：0-空白, 1-社会科学, 2-小说, 3-教材教辅, 4-科学新知, 5-文学, 6-经济管理, 7-少儿, 8-进口原版, 9-计算机, 10-生活休闲, 11-成功励志, 12-历史考古, 13-艺术摄影, 14-外语学习, 15-政治军事, 16-人物传记, 17-家教育儿, 18-中外名著, 19-漫画杂志, 20-职场进阶, 21-互联网+, 22-影视原著
+     * 批量插入或更新一个批次（基于ISBN），由流水线的写入线程调用
+     * 先批量查询本批ISBN在数据库中的内容指纹，只写入新增和内容有变化的记录
      * 
-     * @param categoryStr 分类名称或数字字符串
-     * @return 对应的INT值，如果无法匹配或为空则返回0（空白）
+     * @param batch 批次数据
+     * @param batchNo 批次号
+     * @param diagnostics 导入问题汇总，记录定位到的错误数据
+     * @return 写入结果
      */
-    private Integer convertCategoryToInteger(String categoryStr) {
-        if (categoryStr == null || categoryStr.trim().isEmpty()) {
-            logger.debug("分类为空，返回0（空白）");
-            return 0; // 空白
+    private EbookImportPipeline.BatchWriteResult writeEbookBatch(List<GdufeLibraryEbookDO> batch, int batchNo, 
+                                                                 ImportDiagnostics diagnostics) {
+        logger.info("=== 开始处理第 {} 批 === 批次大小：{}", batchNo, batch.size());
+        
+        // 查询已存在记录的内容指纹，区分新增、变化和未变化的记录
+        Map<String, String> existingHashes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (GdufeLibraryEbookDO existing : ebookMapper.selectContentHashes(
+                batch.stream().map(GdufeLibraryEbookDO::getBookIsbn).distinct().collect(Collectors.toList()))) {
+            // 指纹为空（新增指纹列之前导入的数据）时按内容有变化处理；
+            // 已软删除的记录也按内容有变化处理，重新导入时写入is_deleted=0恢复该图书
+            boolean deleted = existing.getIsDeleted() != null && existing.getIsDeleted() == 1;
+            existingHashes.put(existing.getBookIsbn(), 
+                !deleted && existing.getBookContentHash() != null ? existing.getBookContentHash() : "");
+        }
+        
+        List<GdufeLibraryEbookDO> changedEbooks = new ArrayList<>(batch.size());
+        Set<GdufeLibraryEbookDO> newEbooks = Collections.newSetFromMap(new IdentityHashMap<>());
+        int unchangedCount = 0;
+        for (GdufeLibraryEbookDO ebook : batch) {
+            String existingHash = existingHashes.get(ebook.getBookIsbn());
+            if (existingHash == null) {
+                newEbooks.add(ebook);
+                changedEbooks.add(ebook);
+            } else if (!existingHash.equals(ebook.getBookContentHash())) {
+                changedEbooks.add(ebook);
+            } else {
+                unchangedCount++;
+            }
         }
         
-        String trimmed = categoryStr.trim();
+        if (changedEbooks.isEmpty()) {
+            logger.info("=== 批次 {} 处理成功 === 全部{}条记录内容未变化，无需写入", batchNo, unchangedCount);
+            return new EbookImportPipeline.BatchWriteResult(0, 0, unchangedCount, 0, Collections.emptyList());
+        }
         
-        // 如果是数字字符串，直接转换
+        List<GdufeLibraryEbookDO> failedEbooks = new ArrayList<>();
+        String writeModeTag = writeModeTag();
+        long writeStartNanos = System.nanoTime();
         try {
-            int numericValue = Integer.parseInt(trimmed);
-            // 验证范围在0-22之间
-            if (numericValue >= 0 && numericValue <= 22) {
-                logger.debug("分类为数字：{}，直接返回", numericValue);
-                return numericValue;
-            }
-        } catch (NumberFormatException e) {
-            // 不是数字，继续按名称匹配
+            // 使用批量插入或更新（基于ISBN）
+            upsertEbooks(changedEbooks);
+            importMetrics.recordBatchWrite(writeModeTag, true, System.nanoTime() - writeStartNanos);
+        
+        } catch (Exception e) {
+            importMetrics.recordBatchWrite(writeModeTag, false, System.nanoTime() - writeStartNanos);
+            importMetrics.recordFallback(writeModeTag);
+            
+            // 失败时显示详细错误信息
+            logger.error("批量插入或更新第 {} 批失败，写入记录数：{}，错误详情：{}，开始二分定位错误数据", 
+                batchNo, changedEbooks.size(), e.getMessage(), e);
+            
+            // 批量操作失败时把批次对半拆分后分别重试，正常的数据仍然走批量写入，
+            // 只有定位到的错误数据被跳过，少量错误数据只需O(k·log n)次批量写入即可隔离
+            int half = changedEbooks.size() / 2;
+            bisectWriteEbookBatch(changedEbooks.subList(0, half), batchNo, failedEbooks, diagnostics);
+            bisectWriteEbookBatch(changedEbooks.subList(half, changedEbooks.size()), batchNo, failedEbooks, diagnostics);
         }
         
-        // 按分类名称匹配
-        switch (trimmed) {
-            case "空白":
-                return 0;
-            case "社会科学":
-                return 1;
-            case "小说":
-                return 2;
-            case "教材教辅":
-                return 3;
-            case "科学新知":
-                return 4;
-            case "文学":
-                return 5;
-            case "经济管理":
-                return 6;
-            case "少儿":
-                return 7;
-            case "进口原版":
-                return 8;
-            case "计算机":
-                return 9;
-            case "生活休闲":
-                return 10;
-            case "成功励志":
-                return 11;
-            case "历史考古":
-                return 12;
-            case "艺术摄影":
-                return 13;
-            case "外语学习":
-                return 14;
-            case "政治军事":
-                return 15;
-            case "人物传记":
-                return 16;
-            case "家教育儿":
-                return 17;
-            case "中外名著":
-                return 18;
-            case "漫画杂志":
-                return 19;
-            case "职场进阶":
-                return 20;
-            case "互联网+":
-                return 21;
-            case "影视原著":
-                return 22;
-            default:
-                // 无法匹配，返回0（空白）
-                logger.warn("无法识别的分类名称：{}，将设置为0（空白）", trimmed);
-                return 0;
+        int failedNewCount = 0;
+        for (GdufeLibraryEbookDO failed : failedEbooks) {
+            if (newEbooks.contains(failed)) {
+                failedNewCount++;
+            }
         }
+        Set<GdufeLibraryEbookDO> failedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        failedSet.addAll(failedEbooks);
+        List<String> writtenIsbns = new ArrayList<>(changedEbooks.size());
+        for (GdufeLibraryEbookDO ebook : changedEbooks) {
+            if (!failedSet.contains(ebook)) {
+                writtenIsbns.add(ebook.getBookIsbn());
+            }
+        }
+        importMetrics.recordSkippedRows(ImportMetrics.TYPE_EBOOK, ImportMetrics.REASON_WRITE_FAILED, failedEbooks.size());
+        int insertedCount = newEbooks.size() - failedNewCount;
+        int updatedCount = changedEbooks.size() - newEbooks.size() - (failedEbooks.size() - failedNewCount);
+        
+        // 成功时显示批次信息，便于监控处理进度
+        logger.info("=== 批次 {} 处理完成 === 新增：{}，更新：{}，未变化：{}，跳过：{}", 
+            batchNo, insertedCount, updatedCount, unchangedCount, failedEbooks.size());
+        return new EbookImportPipeline.BatchWriteResult(insertedCount, updatedCount, unchangedCount, failedEbooks.size(), writtenIsbns);
     }
     
     /**
-     * 获取单元格数值
+     * 写入方式的指标标签
      */
-    private double getCellNumericValue(Cell cell) {
-        if (cell == null) {
-            return 0.0;
-        }
+    private String writeModeTag() {
+        return "jdbc-batch".equalsIgnoreCase(writeMode) ? "jdbc-batch" : "multi-values";
+    }
+    
+    /**
+     * 按配置的写入方式批量插入或更新
+     * 包内方法，供写入方式的基准测试直接调用
+     * 
+     * @param batch 批次数据
+     * @return 影响的记录数
+     */
+    int upsertEbooks(List<GdufeLibraryEbookDO> batch) {
+        if (!"jdbc-batch".equalsIgnoreCase(writeMode)) {
+            return ebookMapper.batchInsertOrUpdate(batch);
+        }
         
-        switch (cell.getCellType()) {
-            case NUMERIC:
-                return cell.getNumericCellValue();
-            case STRING:
-                try {
-                    return Double.parseDouble(cell.getStringCellValue().trim());
-                } catch (NumberFormatException e) {
-                    return 0.0;
-                }
-            case BOOLEAN:
-                return cell.getBooleanCellValue() ? 1.0 : 0.0;
-            case FORMULA:
-                try {
-                    return cell.getNumericCellValue();
-                } catch (Exception e) {
-                    return 0.0;
+        // 单行语句的SQL文本与批次大小无关，预编译语句可以被复用
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            GdufeLibraryEbookMapper batchMapper = sqlSession.getMapper(GdufeLibraryEbookMapper.class);
+            for (GdufeLibraryEbookDO ebook : batch) {
+                batchMapper.insertOrUpdate(ebook);
+            }
+            
+            int affectedRows = 0;
+            for (BatchResult batchResult : sqlSession.flushStatements()) {
+                for (int updateCount : batchResult.getUpdateCounts()) {
+                    if (updateCount > 0) {
+                        affectedRows += updateCount;
+                    }
                 }
-            default:
-                return 0.0;
+            }
+            sqlSession.commit();
+            return affectedRows;
+        }
+    }
+    
+    /**
+     * 二分重试批量插入或更新
+     * 插入或更新基于ISBN，是幂等的，失败的子批次即使已有部分数据写入也可以安全地拆分重试
+     * 
+     * @param batch 子批次数据
+     * @param batchNo 批次号
+     * @param failedEbooks 累计定位到的错误数据
+     * @param diagnostics 导入问题汇总
+     */
+    private void bisectWriteEbookBatch(List<GdufeLibraryEbookDO> batch, int batchNo, List<GdufeLibraryEbookDO> failedEbooks, 
+                                       ImportDiagnostics diagnostics) {
+        if (batch.isEmpty()) {
+            return;
         }
+        
+        try {
+            importMetrics.recordFallbackWrite(writeModeTag());
+            upsertEbooks(batch);
+            return;
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                // 定位到错误数据，跳过该条
+                GdufeLibraryEbookDO ebook = batch.get(0);
+                diagnostics.recordIssue(ImportMetrics.REASON_WRITE_FAILED, String.format("批次=%d, ISBN=%s, 书名=%s, 错误详情：%s", 
+                    batchNo, ebook.getBookIsbn(), ebook.getBookName(), e.getMessage()));
+                failedEbooks.add(ebook);
+                return;
+            }
+            logger.debug("第 {} 批的子批次写入失败，继续拆分，子批次大小：{}", batchNo, batch.size());
+        }
+        
+        int half = batch.size() / 2;
+        bisectWriteEbookBatch(batch.subList(0, half), batchNo, failedEbooks, diagnostics);
+        bisectWriteEbookBatch(batch.subList(half, batch.size()), batchNo, failedEbooks, diagnostics);
+    }
+    
+    /**
+     * 计算电子书内容指纹
+     * 对导入时写入的内容字段（不含时间字段）按固定顺序计算MD5，内容相同的记录指纹相同
+     * 
+     * @param ebook 电子书数据
+     * @return 32位十六进制指纹
+     */
+    static String computeContentHash(GdufeLibraryEbookDO ebook) {
+        ContentDigest digest = CONTENT_DIGEST.get();
+        digest.update(ebook.getBookName());
+        digest.update(ebook.getBookIsbn());
+        digest.update(ebook.getBookAuthor());
+        digest.update(ebook.getBookPress());
+        digest.update(ebook.getBookPublicationTime());
+        digest.update(ebook.getBookUrl());
+        digest.update(ebook.getBookBriefIntroduction());
+        digest.update(ebook.getBookChineseLibraryClassification());
+        digest.update(ebook.getBookSubjectClassification());
+        digest.update(ebook.getBookPrimaryClassification());
+        digest.update(ebook.getBookSecondaryClassification());
+        digest.update(ebook.getBookSource());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    /**
+     * 解析畅想之星Excel文件
+     * 
+     * @param excelFile Excel文件
+     * @param ebookSink 解析成功的电子书数据的接收方
+     * @param progress 导入进度
+     * @return 解析统计信息
+     */
+    private ExcelParseResult parseChangxiangExcelFile(MultipartFile excelFile, Consumer<GdufeLibraryEbookDO> ebookSink, 
+                                                      ImportProgress progress, ImportMetrics.ImportRecording metrics) {
+        ExcelParseResult parseResult = new ExcelParseResult(ebookSink, progress, metrics);
+        // 标题行编译出的列计划，在回调中赋值
+        AtomicReference<EbookColumnPlan> columnPlanHolder = new AtomicReference<>();
+        
+        try {
+            excelSheetReader.readFirstSheet(excelFile, changxiangRowHandler(parseResult, columnPlanHolder));
+            
+            if (columnPlanHolder.get() == null) {
+                throw new RuntimeException("Excel文件第一行（标题行）为空");
+            }
+        
+        } catch (IOException e) {
+            logger.error("读取畅想之星Excel文件失败：{}", e.getMessage(), e);
+        }
+        
+        logger.info("畅想之星Excel解析完成 - 总行数：{}, 成功：{}, 失败：{}, 跳过：{}", parseResult.getTotalRows(), 
+            parseResult.getSuccessCount(), parseResult.getFailureCount(), parseResult.getSkippedRows().size());
+        
+        return parseResult;
+    }
+    
+    /**
+     * 解析畅想之星Excel标题行，编译为列计划
+     * 
+     * @param headerRow 标题行
+     * @return 列计划
+     */
+    EbookColumnPlan parseChangxiangHeaderRow(ExcelSheetRow headerRow) {
+        EbookColumnPlan columnPlan = EbookColumnPlan.compile(CHANGXIANG_LAYOUT, headerRow);
+        
+        // 验证必要的列是否存在
+        if (!columnPlan.hasBookNameColumn()) {
+            throw new RuntimeException("畅想之星Excel文件中缺少书名列，请检查标题行");
+        }
+        
+        return columnPlan;
+    }
+    
+    /**
+     * 按列计划解析一行数据为电子书对象，并计算内容指纹
+     * 
+     * @param row Excel行数据
+     * @param isbn 已读取并检查过的ISBN
+     * @param columnPlan 列计划
+     * @param issueListener 字段值无法识别时的回调
+     * @return 电子书对象，书名为空时返回null
+     */
+    GdufeLibraryEbookDO parseEbookRow(ExcelSheetRow row, String isbn, EbookColumnPlan columnPlan,
+                                      EbookColumnPlan.FieldIssueListener issueListener) {
+        GdufeLibraryEbookDO ebook = columnPlan.map(row, isbn, issueListener);
+        if (ebook != null) {
+            // 计算内容指纹，用于导入时跳过内容未变化的记录
+            ebook.setBookContentHash(computeContentHash(ebook));
+        }
+        return ebook;
     }
     
     /**
@@ -648,73 +878,23 @@ public class ExcelParseServiceImpl implements ExcelParseService {
      */
     @Override
     public ParseResult parseAndImportCoverImages(MultipartFile excelFile, String fileSource) {
+        return parseAndImportCoverImages(excelFile, fileSource, new ImportProgress());
+    }
+    
+    /**
+     * 解析封面图Excel文件并更新数据库中的封面图URL，同时实时更新导入进度
+     * 
+     * @param excelFile Excel文件
+     * @param fileSource 文件来源（0:畅想之星, 1:京东）
+     * @param progress 导入进度
+     * @return 导入结果
+     */
+    @Override
+    public ParseResult parseAndImportCoverImages(MultipartFile excelFile, String fileSource, ImportProgress progress) {
         ParseResult result = new ParseResult();
+        ImportMetrics.ImportRecording metrics = importMetrics.start(ImportMetrics.TYPE_COVER);
         
         try {
-            // 解析Excel文件
-            Workbook workbook;
-            String fileName = excelFile.getOriginalFilename();
-            
-            if (fileName != null && fileName.toLowerCase().endsWith(".xlsx")) {
-                workbook = new XSSFWorkbook(excelFile.getInputStream());
-            } else {
-                workbook = new HSSFWorkbook(excelFile.getInputStream());
-            }
-            
-            Sheet sheet = workbook.getSheetAt(0); // 获取第一个工作表
-            
-            // 解析标题行，获取ISBN和封面图URL的列索引
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) {
-                result.setSuccess(false);
-                result.setMessage("Excel文件第一行（标题行）为空");
-                return result;
-            }
-            
-            Integer isbnColumnIndex = null;
-            Integer coverUrlColumnIndex = null;
-            
-            // 遍历标题行查找ISBN和封面图列
-            for (int i = 0; i < headerRow.getLastCellNum(); i++) {
-                Cell cell = headerRow.getCell(i);
-                if (cell == null) continue;
-                
-                String headerValue = getCellStringValue(cell).trim();
-                if (headerValue.isEmpty()) continue;
-                
-                // 匹配ISBN列
-                if (headerValue.equals("ISBN")) {
-                    isbnColumnIndex = i;
-                }
-                // 匹配封面图列
-                else if (headerValue.equals("图书封面")) {
-                    coverUrlColumnIndex = i;
-                }
-            }
-            
-            // 验证必要的列是否存在
-            if (isbnColumnIndex == null) {
-                result.setSuccess(false);
-                result.setMessage("Excel文件中缺少ISBN列");
-                workbook.close();
-                return result;
-            }
-            
-            if (coverUrlColumnIndex == null) {
-                result.setSuccess(false);
-                result.setMessage("Excel文件中缺少图书封面列");
-                workbook.close();
-                return result;
-            }
-            
-            logger.info("封面图Excel列索引 - ISBN列：{}, 封面图列：{}", isbnColumnIndex, coverUrlColumnIndex);
-            
-            // 解析数据行并更新数据库
-            int totalRows = 0;
-            int updatedRows = 0;
-            int skippedRows = 0;
-            List<Integer> skippedRowsList = new ArrayList<>();
-            
             // 确定book_source的值
             Integer bookSource = null;
             if ("0".equals(fileSource) || "changxiang".equalsIgnoreCase(fileSource)) {
@@ -724,81 +904,128 @@ public class ExcelParseServiceImpl implements ExcelParseService {
             } else {
                 result.setSuccess(false);
                 result.setMessage("不支持的文件来源：" + fileSource);
-                workbook.close();
                 return result;
             }
+            final Integer coverBookSource = bookSource;
             
-            // 从第二行开始解析数据
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) {
-                    skippedRows++;
-                    skippedRowsList.add(i + 1);
-                    logger.warn("封面图解析跳过 - 行号：{}, 原因：行为空", i + 1);
-                    continue;
-                }
-                
-                totalRows++;
-                
-                try {
-                    // 读取ISBN
-                    Cell isbnCell = row.getCell(isbnColumnIndex);
-                    String isbn = getCellStringValue(isbnCell);
-                    if (isbn == null || isbn.trim().isEmpty()) {
-                        skippedRows++;
-                        skippedRowsList.add(i + 1);
-                        logger.warn("封面图解析跳过 - 行号：{}, 原因：ISBN为空", i + 1);
-                        continue;
+            // 同一次导入使用同一个更新时间
+            LocalDateTime updateTime = LocalDateTime.now();
+            
+            // 列索引和解析统计在回调中逐行累加
+            CoverImportContext context = new CoverImportContext();
+            List<Integer> skippedRowsList = context.skippedRowsList;
+            
+            try {
+                excelSheetReader.readFirstSheet(excelFile, row -> {
+                    int i = row.getRowNum();
+                    
+                    // 解析标题行，获取ISBN和封面图URL的列索引
+                    if (i == 0) {
+                        if (row.isMissing()) {
+                            throw new CoverHeaderException("Excel文件第一行（标题行）为空");
+                        }
+                        
+                        // 遍历标题行查找ISBN和封面图列
+                        for (int col = 0; col < row.getCellCount(); col++) {
+                            String headerValue = row.getCellValue(col);
+                            if (headerValue == null) continue;
+                            
+                            // 匹配ISBN列
+                            if (headerValue.equals("ISBN")) {
+                                context.isbnColumnIndex = col;
+                            }
+                            // 匹配封面图列
+                            else if (headerValue.equals("图书封面")) {
+                                context.coverUrlColumnIndex = col;
+                            }
+                        }
+                        
+                        // 验证必要的列是否存在
+                        if (context.isbnColumnIndex == null) {
+                            throw new CoverHeaderException("Excel文件中缺少ISBN列");
+                        }
+                        if (context.coverUrlColumnIndex == null) {
+                            throw new CoverHeaderException("Excel文件中缺少图书封面列");
+                        }
+                        
+                        logger.info("封面图Excel列索引 - ISBN列：{}, 封面图列：{}", context.isbnColumnIndex, context.coverUrlColumnIndex);
+                        return;
                     }
-                    isbn = isbn.trim();
                     
-                    // 读取封面图URL
-                    Cell coverUrlCell = row.getCell(coverUrlColumnIndex);
-                    String coverUrl = getCellStringValue(coverUrlCell);
-                    if (coverUrl == null || coverUrl.trim().isEmpty()) {
-                        skippedRows++;
+                    // 从第二行开始解析数据
+                    if (row.isMissing()) {
+                        context.skippedRows++;
                         skippedRowsList.add(i + 1);
-                        logger.warn("封面图解析跳过 - 行号：{}, 原因：封面图URL为空", i + 1);
-                        continue;
+                        progress.incrementRowsSkipped();
+                        metrics.rowSkipped(ImportMetrics.REASON_ROW_EMPTY);
+                        progress.getDiagnostics().recordRow(null, i + 1, ImportMetrics.REASON_ROW_EMPTY, null);
+                        return;
                     }
-                    coverUrl = coverUrl.trim();
                     
-                    // 根据ISBN和book_source查询数据库
-                    LambdaQueryWrapper<GdufeLibraryEbookDO> queryWrapper = new LambdaQueryWrapper<>();
-                    queryWrapper.eq(GdufeLibraryEbookDO::getBookIsbn, isbn)
-                               .eq(GdufeLibraryEbookDO::getBookSource, bookSource);
+                    context.totalRows++;
+                    progress.incrementRowsParsed();
+                    metrics.rowParsed();
                     
-                    GdufeLibraryEbookDO ebook = ebookMapper.selectOne(queryWrapper);
-                    
-                    if (ebook != null) {
-                        // 找到记录，更新封面图URL
-                        ebook.setBookPictureUrl(coverUrl);
-                        ebook.setUpdateTime(LocalDateTime.now());
+                    try {
+                        // 读取ISBN
+                        String isbn = row.getCellValue(context.isbnColumnIndex);
+                        if (isbn == null) {
+                            context.skippedRows++;
+                            skippedRowsList.add(i + 1);
+                            progress.incrementRowsSkipped();
+                            metrics.rowSkipped(ImportMetrics.REASON_ISBN_EMPTY);
+                            progress.getDiagnostics().recordRow(null, i + 1, ImportMetrics.REASON_ISBN_EMPTY, null);
+                            return;
+                        }
                         
-                        int updateResult = ebookMapper.updateById(ebook);
-                        if (updateResult > 0) {
-                            updatedRows++;
-                            logger.debug("封面图更新成功 - 行号：{}, ISBN：{}, 书名：{}", i + 1, isbn, ebook.getBookName());
-                        } else {
-                            skippedRows++;
+                        // 读取封面图URL
+                        String coverUrl = row.getCellValue(context.coverUrlColumnIndex);
+                        if (coverUrl == null) {
+                            context.skippedRows++;
                             skippedRowsList.add(i + 1);
-                            logger.warn("封面图更新失败 - 行号：{}, ISBN：{}", i + 1, isbn);
+                            progress.incrementRowsSkipped();
+                            metrics.rowSkipped(ImportMetrics.REASON_COVER_URL_EMPTY);
+                            progress.getDiagnostics().recordRow(null, i + 1, ImportMetrics.REASON_COVER_URL_EMPTY, null);
+                            return;
                         }
-                    } else {
-                        // 未找到记录
-                        skippedRows++;
+                        
+                        // 放入待更新批次，凑满一批后统一查询和更新
+                        context.addPendingCover(i + 1, isbn, coverUrl);
+                        if (context.pendingRowCount >= batchSize) {
+                            flushCoverBatch(context, coverBookSource, updateTime, progress);
+                        }
+                    
+                    } catch (Exception e) {
+                        context.skippedRows++;
                         skippedRowsList.add(i + 1);
-                        logger.warn("封面图解析跳过 - 行号：{}, 原因：未找到匹配记录（ISBN：{}, 来源：{}）", i + 1, isbn, bookSource);
+                        progress.incrementRowsSkipped();
+                        metrics.rowSkipped(ImportMetrics.REASON_PARSE_ERROR);
+                        progress.getDiagnostics().recordRow(null, i + 1, ImportMetrics.REASON_PARSE_ERROR, e.toString());
                     }
-                    
-                } catch (Exception e) {
-                    skippedRows++;
-                    skippedRowsList.add(i + 1);
-                    logger.error("封面图解析失败 - 行号：{}, 原因：{}", i + 1, e.getMessage(), e);
-                }
+                });
+                
+                // 更新最后一批
+                flushCoverBatch(context, coverBookSource, updateTime, progress);
+            } catch (CoverHeaderException e) {
+                result.setSuccess(false);
+                result.setMessage(e.getMessage());
+                return result;
+            }
+            
+            if (context.isbnColumnIndex == null) {
+                result.setSuccess(false);
+                result.setMessage("Excel文件第一行（标题行）为空");
+                return result;
             }
             
-            workbook.close();
+            publishImportedEvent(context.updatedIsbns, true);
+            
+            int totalRows = context.totalRows;
+            int updatedRows = context.updatedRows;
+            int skippedRows = context.skippedRows;
+            
+            // 未匹配的行在批次更新时才加入跳过列表，按行号重新排序
+            Collections.sort(skippedRowsList);
             
             result.setSuccess(true);
             result.setMessage("封面图Excel解析并更新完成");
@@ -807,313 +1034,424 @@ public class ExcelParseServiceImpl implements ExcelParseService {
             result.setSkippedRows(skippedRows);
             result.setSkippedRowsList(skippedRowsList);
             
-            logger.info("封面图Excel处理完成 - 总行数：{}, 更新成功：{}, 跳过：{}, 跳过行号：{}", 
-                totalRows, updatedRows, skippedRows, skippedRowsList);
-            
+            logger.info("封面图Excel处理完成 - 总行数：{}, 更新成功：{}, 跳过：{}", totalRows, updatedRows, skippedRows);
+        
         } catch (Exception e) {
             logger.error("封面图Excel文件解析失败：{}", e.getMessage(), e);
             result.setSuccess(false);
             result.setMessage("封面图Excel文件解析失败：" + e.getMessage());
+        } finally {
+            metrics.finish(result.isSuccess());
+            logImportDiagnostics(progress);
         }
         
         return result;
     }
     
     /**
-     * 解析京东Excel文件
-     * 京东Excel格式：书名、ISBN、著者、出版社、一级分类、二级分类、出版时间、URL链接、简介
+     * 发布导入完成事件，通知搜索索引等下游按ISBN增量更新
      * 
-     * @param excelFile Excel文件
-     * @return 解析后的电子书列表
-     * @throws IOException IO异常
+     * @param isbns 本次写入的ISBN
+     * @param coverOnly 是否只更新了封面图
      */
-    private ExcelParseResult parseJingdongExcelFile(MultipartFile excelFile) throws IOException {
-        List<GdufeLibraryEbookDO> ebookList = new ArrayList<>();
-        List<Integer> skippedRows = new ArrayList<>(); // 记录跳过的行号（ISBN为空的记录）
-        int totalRows = 0;
-        int successCount = 0;
-        int failureCount = 0;
+    private void publishImportedEvent(List<String> isbns, boolean coverOnly) {
+        if (isbns.isEmpty()) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(new EbookImportedEvent(isbns, coverOnly));
+        } catch (Exception e) {
+            // 数据已写入数据库，下游更新失败不影响导入结果
+            logger.error("发布导入完成事件失败，ISBN数：{}，错误详情：{}", isbns.size(), e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 输出本次导入跳过和失败的原因汇总，每次导入一条，逐行明细通过导入任务接口查询
+     * 
+     * @param progress 导入进度
+     */
+    private void logImportDiagnostics(ImportProgress progress) {
+        ImportDiagnostics diagnostics = progress.getDiagnostics();
+        String summary = diagnostics.formatSummary();
+        if (summary != null) {
+            logger.warn("导入问题汇总 - 共{}条：{}", diagnostics.getIssueCount(), summary);
+        }
+    }
+    
+    /**
+     * 批量更新封面图URL
+     * 先查询本批ISBN中数据库已存在的部分，再用一条UPDATE语句更新，每批只需两次数据库交互；
+     * 数据库中不存在的ISBN对应的行加入跳过列表
+     * 
+     * @param context 封面图导入上下文
+     * @param bookSource 图书来源
+     * @param updateTime 更新时间
+     * @param progress 导入进度
+     */
+    private void flushCoverBatch(CoverImportContext context, Integer bookSource, 
+                                 LocalDateTime updateTime, ImportProgress progress) {
+        if (context.pendingCovers.isEmpty()) {
+            return;
+        }
+        
+        int batchNo = ++context.batchCount;
+        int rowCount = context.pendingRowCount;
+        int matchedRows = 0;
+        List<Integer> unmatchedRowNumbers = new ArrayList<>();
+        String skipReason = ImportMetrics.REASON_NOT_MATCHED;
+        String skipDetail = "来源：" + bookSource;
+        progress.onBatchSubmitted();
         
-        Workbook workbook = null;
+        long writeStartNanos = System.nanoTime();
         try {
-            // 根据文件扩展名选择工作簿类型
-            String fileName = excelFile.getOriginalFilename();
-            if (fileName != null && fileName.toLowerCase().endsWith(".xlsx")) {
-                workbook = new XSSFWorkbook(excelFile.getInputStream());
-            } else {
-                workbook = new HSSFWorkbook(excelFile.getInputStream());
+            // MySQL默认排序规则不区分大小写，ISBN末位的X/x按同一个处理
+            Set<String> existingIsbns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            existingIsbns.addAll(ebookMapper.selectExistingIsbns(bookSource, context.pendingCovers.keySet()));
+            
+            List<GdufeLibraryEbookDO> coverList = new ArrayList<>(existingIsbns.size());
+            List<String> matchedIsbns = new ArrayList<>(existingIsbns.size());
+            for (Map.Entry<String, String> entry : context.pendingCovers.entrySet()) {
+                List<Integer> rowNumbers = context.pendingRowNumbers.get(entry.getKey());
+                if (existingIsbns.contains(entry.getKey())) {
+                    GdufeLibraryEbookDO cover = new GdufeLibraryEbookDO();
+                    cover.setBookIsbn(entry.getKey());
+                    cover.setBookPictureUrl(entry.getValue());
+                    coverList.add(cover);
+                    matchedIsbns.add(entry.getKey());
+                    matchedRows += rowNumbers.size();
+                } else {
+                    unmatchedRowNumbers.addAll(rowNumbers);
+                }
             }
             
-            Sheet sheet = workbook.getSheetAt(0);
-            if (sheet == null) {
-                logger.warn("京东Excel文件缺少工作表");
-                return new ExcelParseResult(ebookList, totalRows, successCount, failureCount, skippedRows);
+            if (!coverList.isEmpty()) {
+                ebookMapper.batchUpdateCoverUrl(coverList, bookSource, updateTime);
+                context.updatedIsbns.addAll(matchedIsbns);
             }
             
-            // 解析标题行，获取列索引映射
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) {
-                throw new IOException("Excel文件缺少标题行");
+            logger.info("=== 封面图批次 {} 处理完成 === 行数：{}，更新成功：{}，未找到匹配记录：{}", 
+                batchNo, rowCount, matchedRows, unmatchedRowNumbers.size());
+            importMetrics.recordBatchWrite("cover-update", true, System.nanoTime() - writeStartNanos);
+        
+        } catch (Exception e) {
+            importMetrics.recordBatchWrite("cover-update", false, System.nanoTime() - writeStartNanos);
+            
+            // 整批失败时本批所有行都记为跳过
+            logger.error("封面图批量更新第 {} 批失败，批次行数：{}，错误详情：{}", batchNo, rowCount, e.getMessage(), e);
+            matchedRows = 0;
+            skipReason = ImportMetrics.REASON_WRITE_FAILED;
+            skipDetail = "第" + batchNo + "批更新失败：" + e.getMessage();
+            unmatchedRowNumbers.clear();
+            for (List<Integer> rowNumbers : context.pendingRowNumbers.values()) {
+                unmatchedRowNumbers.addAll(rowNumbers);
+            }
+        }
+        
+        context.updatedRows += matchedRows;
+        context.skippedRows += unmatchedRowNumbers.size();
+        context.skippedRowsList.addAll(unmatchedRowNumbers);
+        for (Integer rowNumber : unmatchedRowNumbers) {
+            progress.incrementRowsSkipped();
+            progress.getDiagnostics().recordRow(null, rowNumber, skipReason, skipDetail);
+        }
+        progress.onBatchCommitted(matchedRows, unmatchedRowNumbers.size());
+        importMetrics.recordSkippedRows(ImportMetrics.TYPE_COVER, skipReason, unmatchedRowNumbers.size());
+        
+        context.pendingCovers.clear();
+        context.pendingRowNumbers.clear();
+        context.pendingRowCount = 0;
+    }
+    
+    /**
+     * 创建畅想之星工作表的行处理回调
+     * 第0行解析为标题行，之后的行按标题行的列索引解析为电子书数据
+     * 
+     * @param parseResult 当前工作表的解析统计
+     * @param columnPlanHolder 标题行编译出的列计划，在回调中赋值
+     * @return 行处理回调
+     */
+    private ExcelRowHandler changxiangRowHandler(ExcelParseResult parseResult, 
+                                                 AtomicReference<EbookColumnPlan> columnPlanHolder) {
+        return row -> {
+            int i = row.getRowNum();
+            
+            // 解析标题行，编译为列计划
+            if (i == 0) {
+                if (row.isMissing()) {
+                    throw new RuntimeException("Excel文件第一行（标题行）为空");
+                }
+                columnPlanHolder.set(parseChangxiangHeaderRow(row));
+                return;
             }
             
-            Map<String, Integer> columnIndexMap = parseJingdongHeaderRow(headerRow);
+            // 从第二行开始解析数据
+            EbookColumnPlan columnPlan = columnPlanHolder.get();
+            if (row.isMissing()) {
+                parseResult.incrementFailureCount(i + 1, ImportMetrics.REASON_ROW_EMPTY, null);
+                return;
+            }
             
-            // 从第二行开始读取数据
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) {
-                    failureCount++;
-                    logger.warn("京东解析失败 - 行号：{}, 原因：行为空", i + 1);
-                    continue;
+            parseResult.incrementTotalRows();
+            
+            try {
+                // 先检查ISBN是否为空，如果为空则跳过该记录
+                if (columnPlan.getIsbnColumn() == EbookColumnPlan.MISSING) {
+                    parseResult.addSkippedRow(i + 1, ImportMetrics.REASON_ISBN_COLUMN_MISSING); // 记录跳过的行号
+                    return;
+                }
+                String isbn = row.getCellValue(columnPlan.getIsbnColumn());
+                if (isbn == null) {
+                    parseResult.addSkippedRow(i + 1, ImportMetrics.REASON_ISBN_EMPTY); // 记录跳过的行号
+                    return;
                 }
                 
-                totalRows++;
-                
+                GdufeLibraryEbookDO ebook = parseEbookRow(row, isbn, columnPlan, parseResult);
+                if (ebook != null) {
+                    parseResult.addEbook(ebook);
+                } else {
+                    parseResult.incrementFailureCount(i + 1, ImportMetrics.REASON_REQUIRED_FIELD_MISSING, null);
+                }
+            } catch (Exception e) {
+                parseResult.incrementFailureCount(i + 1, ImportMetrics.REASON_PARSE_ERROR, e.toString());
+            }
+        };
+    }
+    
+    /**
+     * 创建京东工作表的行处理回调
+     * 第0行解析为标题行（标题行缺失时抛出UncheckedIOException），之后的行按标题行的列索引解析为电子书数据
+     * 
+     * @param parseResult 当前工作表的解析统计
+     * @param columnPlanHolder 标题行编译出的列计划，在回调中赋值
+     * @return 行处理回调
+     */
+    private ExcelRowHandler jingdongRowHandler(ExcelParseResult parseResult, 
+                                               AtomicReference<EbookColumnPlan> columnPlanHolder) {
+        return row -> {
+            int i = row.getRowNum();
+            
+            // 解析标题行，编译为列计划
+            if (i == 0) {
                 try {
-                    // 先检查ISBN是否为空，如果为空则跳过该记录
-                    Integer isbnIndex = columnIndexMap.get("isbn");
-                    if (isbnIndex != null) {
-                        Cell isbnCell = row.getCell(isbnIndex);
-                        String isbn = getCellStringValue(isbnCell);
-                        if (isbn == null || isbn.trim().isEmpty()) {
-                            skippedRows.add(i + 1); // 记录跳过的行号
-                            logger.warn("京东跳过记录 - 行号：{}, 原因：ISBN号为空", i + 1);
-                            continue;
-                        }
-                    } else {
-                        skippedRows.add(i + 1); // 记录跳过的行号
-                        logger.warn("京东跳过记录 - 行号：{}, 原因：Excel文件中缺少ISBN列", i + 1);
-                        continue;
+                    if (row.isMissing()) {
+                        throw new IOException("Excel文件缺少标题行");
                     }
-                    
-                    GdufeLibraryEbookDO ebook = parseJingdongRow(row, columnIndexMap);
-                    if (ebook != null) {
-                        ebookList.add(ebook);
-                        successCount++;
-                    } else {
-                        failureCount++;
-                        logger.warn("京东解析失败 - 行号：{}, 原因：书名为空或必填字段缺失", i + 1);
-                    }
-                } catch (Exception e) {
-                    failureCount++;
-                    logger.error("京东解析失败 - 行号：{}, 原因：{}", i + 1, e.getMessage());
+                    columnPlanHolder.set(parseJingdongHeaderRow(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
+                return;
             }
             
-        } finally {
-            if (workbook != null) {
-                workbook.close();
+            // 从第二行开始读取数据
+            EbookColumnPlan columnPlan = columnPlanHolder.get();
+            if (row.isMissing()) {
+                parseResult.incrementFailureCount(i + 1, ImportMetrics.REASON_ROW_EMPTY, null);
+                return;
             }
+            
+            parseResult.incrementTotalRows();
+            
+            try {
+                // 先检查ISBN是否为空，如果为空则跳过该记录
+                if (columnPlan.getIsbnColumn() == EbookColumnPlan.MISSING) {
+                    parseResult.addSkippedRow(i + 1, ImportMetrics.REASON_ISBN_COLUMN_MISSING); // 记录跳过的行号
+                    return;
+                }
+                String isbn = row.getCellValue(columnPlan.getIsbnColumn());
+                if (isbn == null) {
+                    parseResult.addSkippedRow(i + 1, ImportMetrics.REASON_ISBN_EMPTY); // 记录跳过的行号
+                    return;
+                }
+                
+                GdufeLibraryEbookDO ebook = parseEbookRow(row, isbn, columnPlan, parseResult);
+                if (ebook != null) {
+                    parseResult.addEbook(ebook);
+                } else {
+                    parseResult.incrementFailureCount(i + 1, ImportMetrics.REASON_REQUIRED_FIELD_MISSING, null);
+                }
+            } catch (Exception e) {
+                parseResult.incrementFailureCount(i + 1, ImportMetrics.REASON_PARSE_ERROR, e.toString());
+            }
+        };
+    }
+    
+    /**
+     * 解析京东Excel文件
+     * 京东Excel格式：书名、ISBN、著者、出版社、一级分类、二级分类、出版时间、URL链接、简介
+     * 
+     * @param excelFile Excel文件
+     * @param ebookSink 解析成功的电子书数据的接收方
+     * @param progress 导入进度
+     * @return 解析统计信息
+     * @throws IOException IO异常
+     */
+    private ExcelParseResult parseJingdongExcelFile(MultipartFile excelFile, Consumer<GdufeLibraryEbookDO> ebookSink, 
+                                                    ImportProgress progress, ImportMetrics.ImportRecording metrics) throws IOException {
+        ExcelParseResult parseResult = new ExcelParseResult(ebookSink, progress, metrics);
+        // 标题行编译出的列计划，在回调中赋值
+        AtomicReference<EbookColumnPlan> columnPlanHolder = new AtomicReference<>();
+        
+        try {
+            excelSheetReader.readFirstSheet(excelFile, jingdongRowHandler(parseResult, columnPlanHolder));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        if (columnPlanHolder.get() == null) {
+            logger.warn("京东Excel文件缺少工作表或标题行");
         }
         
-        logger.info("京东Excel解析完成 - 总行数：{}, 成功：{}, 失败：{}, 跳过：{}", totalRows, successCount, failureCount, skippedRows.size());
+        logger.info("京东Excel解析完成 - 总行数：{}, 成功：{}, 失败：{}, 跳过：{}", parseResult.getTotalRows(), 
+            parseResult.getSuccessCount(), parseResult.getFailureCount(), parseResult.getSkippedRows().size());
         
-        return new ExcelParseResult(ebookList, totalRows, successCount, failureCount, skippedRows);
+        return parseResult;
     }
     
     /**
-     * 解析京东Excel标题行，获取列索引映射
+     * 解析京东Excel标题行，编译为列计划
      * 只匹配固定的字段名：书名、ISBN、著者、出版社、一级分类、二级分类、出版时间、URL链接、简介
      * 
      * @param headerRow 标题行
-     * @return 列名到列索引的映射
+     * @return 列计划
      * @throws IOException 如果缺少必要的列
      */
-    private Map<String, Integer> parseJingdongHeaderRow(Row headerRow) throws IOException {
-        Map<String, Integer> columnIndexMap = new HashMap<>();
-        
-        // 遍历标题行的所有单元格
-        for (int i = 0; i < headerRow.getLastCellNum(); i++) {
-            Cell cell = headerRow.getCell(i);
-            if (cell != null) {
-                String headerValue = getCellStringValue(cell).trim();
-                
-                // 只匹配固定的字段名
-                if (headerValue.equals("书名")) {
-                    columnIndexMap.put("bookName", i);
-                } else if (headerValue.equals("ISBN")) {
-                    columnIndexMap.put("isbn", i);
-                } else if (headerValue.equals("著者")) {
-                    columnIndexMap.put("author", i);
-                } else if (headerValue.equals("出版社")) {
-                    columnIndexMap.put("publisher", i);
-                } else if (headerValue.equals("一级分类")) {
-                    columnIndexMap.put("primaryCategory", i);
-                } else if (headerValue.equals("二级分类")) {
-                    columnIndexMap.put("secondaryCategory", i);
-                } else if (headerValue.equals("出版时间")) {
-                    columnIndexMap.put("publishDate", i);
-                } else if (headerValue.equals("URL链接")) {
-                    columnIndexMap.put("url", i);
-                } else if (headerValue.equals("简介")) {
-                    columnIndexMap.put("description", i);
-                }
-            }
-        }
+    EbookColumnPlan parseJingdongHeaderRow(ExcelSheetRow headerRow) throws IOException {
+        EbookColumnPlan columnPlan = EbookColumnPlan.compile(JINGDONG_LAYOUT, headerRow);
         
         // 验证必要的列是否存在
-        if (!columnIndexMap.containsKey("bookName")) {
+        if (!columnPlan.hasBookNameColumn()) {
             throw new IOException("Excel文件缺少必要的列：书名");
         }
         
-        return columnIndexMap;
+        return columnPlan;
     }
     
     /**
-     * 解析京东Excel行数据
-     * 根据列索引映射动态读取数据
-     * 
-     * @param row Excel行
-     * @param columnIndexMap 列索引映射
-     * @return 电子书对象
+     * 内容指纹摘要
+     * 把各字段按UTF-8编码后直接写入MD5，字段之间用\u0001分隔，null写作\u0000，避免不同字段内容拼接后产生相同的结果；
+     * 编码结果与先拼接成字符串再getBytes(UTF_8)完全相同（无法配对的代理字符同样写作'?'），但不再为每行创建拼接字符串和字节数组
      */
-    private GdufeLibraryEbookDO parseJingdongRow(Row row, Map<String, Integer> columnIndexMap) {
-        GdufeLibraryEbookDO ebook = new GdufeLibraryEbookDO();
+    private static final class ContentDigest {
+        private static final int BUFFER_SIZE = 1024;
         
-        try {
-            // 书名 - 必填字段
-            Integer bookNameIndex = columnIndexMap.get("bookName");
-            if (bookNameIndex != null) {
-                Cell bookNameCell = row.getCell(bookNameIndex);
-                if (bookNameCell != null) {
-                    String bookName = getCellStringValue(bookNameCell).trim();
-                    if (!bookName.isEmpty()) {
-                        ebook.setBookName(bookName);
-                    } else {
-                        // 书名为空，跳过此行
-                        return null;
-                    }
-                } else {
-                    // 书名为空，跳过此行
-                    return null;
-                }
-            } else {
-                // 缺少书名列，跳过此行
-                return null;
-            }
-            
-            // ISBN（已在主循环中验证不为空）
-            Integer isbnIndex = columnIndexMap.get("isbn");
-            if (isbnIndex != null) {
-                Cell isbnCell = row.getCell(isbnIndex);
-                if (isbnCell != null) {
-                    String isbn = getCellStringValue(isbnCell);
-                    if (isbn != null && !isbn.trim().isEmpty()) {
-                        ebook.setBookIsbn(isbn.trim());
-                    }
-                }
-            }
-            
-            // 著者
-            Integer authorIndex = columnIndexMap.get("author");
-            if (authorIndex != null) {
-                Cell authorCell = row.getCell(authorIndex);
-                if (authorCell != null) {
-                    ebook.setBookAuthor(getCellStringValue(authorCell).trim());
-                }
-            }
-            
-            // 出版社
-            Integer publisherIndex = columnIndexMap.get("publisher");
-            if (publisherIndex != null) {
-                Cell publisherCell = row.getCell(publisherIndex);
-                if (publisherCell != null) {
-                    ebook.setBookPress(getCellStringValue(publisherCell).trim());
-                }
-            }
-            
-            // 一级分类
-            Integer primaryCategoryIndex = columnIndexMap.get("primaryCategory");
-            if (primaryCategoryIndex != null) {
-                Cell primaryCategoryCell = row.getCell(primaryCategoryIndex);
-                if (primaryCategoryCell != null) {
-                    String categoryStr = getCellStringValue(primaryCategoryCell);
-                    if (categoryStr != null && !categoryStr.trim().isEmpty()) {
-                        Integer categoryInt = convertCategoryToInteger(categoryStr);
-                        ebook.setBookPrimaryClassification(categoryInt);
-                        logger.debug("一级分类转换：{} -> {}", categoryStr, categoryInt);
-                    }
-                }
-            }
-            
-            // 二级分类
-            Integer secondaryCategoryIndex = columnIndexMap.get("secondaryCategory");
-            if (secondaryCategoryIndex != null) {
-                Cell secondaryCategoryCell = row.getCell(secondaryCategoryIndex);
-                if (secondaryCategoryCell != null) {
-                    ebook.setBookSecondaryClassification(getCellStringValue(secondaryCategoryCell).trim());
-                }
+        private final MessageDigest md5;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        
+        ContentDigest() {
+            try {
+                md5 = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("不支持MD5算法", e);
             }
-            
-            // 出版时间
-            Integer publishDateIndex = columnIndexMap.get("publishDate");
-            if (publishDateIndex != null) {
-                Cell publishDateCell = row.getCell(publishDateIndex);
-                if (publishDateCell != null) {
-                    try {
-                        if (publishDateCell.getCellType() == CellType.NUMERIC) {
-                            if (DateUtil.isCellDateFormatted(publishDateCell)) {
-                                ebook.setBookPublicationTime(publishDateCell.getDateCellValue().toInstant()
-                                    .atZone(java.time.ZoneId.systemDefault()).toLocalDate());
-                            }
-                        } else if (publishDateCell.getCellType() == CellType.STRING) {
-                            // 尝试解析字符串格式的日期
-                            String dateStr = publishDateCell.getStringCellValue().trim();
-                            if (!dateStr.isEmpty()) {
-                                try {
-                                    // 支持多种日期格式
-                                    if (dateStr.matches("\\d{4}-\\d{1,2}-\\d{1,2}")) {
-                                        ebook.setBookPublicationTime(LocalDate.parse(dateStr));
-                                    } else if (dateStr.matches("\\d{4}/\\d{1,2}/\\d{1,2}")) {
-                                        ebook.setBookPublicationTime(LocalDate.parse(dateStr.replace("/", "-")));
-                                    } else if (dateStr.matches("\\d{4}年\\d{1,2}月\\d{1,2}日")) {
-                                        String cleanDate = dateStr.replace("年", "-").replace("月", "-").replace("日", "");
-                                        ebook.setBookPublicationTime(LocalDate.parse(cleanDate));
-                                    }
-                                } catch (Exception e) {
-                                    // 忽略日期解析错误
-                                }
-                            }
+        }
+        
+        void update(Object value) {
+            if (value == null) {
+                ensureCapacity(1);
+                buffer[position++] = 0;
+            } else {
+                String text = value instanceof String string ? string : value.toString();
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    // 一个字符最多编码为4个字节（代理对）
+                    ensureCapacity(4);
+                    if (c < 0x80) {
+                        buffer[position++] = (byte) c;
+                    } else if (c < 0x800) {
+                        buffer[position++] = (byte) (0xC0 | (c >> 6));
+                        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                    } else if (Character.isSurrogate(c)) {
+                        if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                            int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                            buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                        } else {
+                            buffer[position++] = '?';
                         }
-                    } catch (Exception e) {
-                        // 忽略日期解析错误
+                    } else {
+                        buffer[position++] = (byte) (0xE0 | (c >> 12));
+                        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                        buffer[position++] = (byte) (0x80 | (c & 0x3F));
                     }
                 }
             }
-            
-            // URL链接
-            Integer urlIndex = columnIndexMap.get("url");
-            if (urlIndex != null) {
-                Cell urlCell = row.getCell(urlIndex);
-                if (urlCell != null) {
-                    ebook.setBookUrl(getCellStringValue(urlCell).trim());
-                }
-            }
-            
-            // 简介
-            Integer descriptionIndex = columnIndexMap.get("description");
-            if (descriptionIndex != null) {
-                Cell descriptionCell = row.getCell(descriptionIndex);
-                if (descriptionCell != null) {
-                    ebook.setBookBriefIntroduction(getCellStringValue(descriptionCell).trim());
-                }
-            }
-            
-            // 设置京东来源
-            ebook.setBookSource(1); // 京东
-            
-            // 验证必填字段
-            if (ebook.getBookName() == null || ebook.getBookName().trim().isEmpty()) {
-                return null; // 书名为空则跳过
+            ensureCapacity(1);
+            buffer[position++] = 1;
+        }
+        
+        /**
+         * 取出摘要并重置，供下一行使用
+         */
+        byte[] digest() {
+            md5.update(buffer, 0, position);
+            position = 0;
+            return md5.digest();
+        }
+        
+        private void ensureCapacity(int length) {
+            if (position + length > BUFFER_SIZE) {
+                md5.update(buffer, 0, position);
+                position = 0;
             }
-            
-            return ebook;
-            
-        } catch (Exception e) {
-            // 解析行数据出错，返回null跳过该行
-            return null;
         }
     }
     
+    /**
+     * 封面图导入过程中的列索引和统计信息
+     */
+    private static class CoverImportContext {
+        private Integer isbnColumnIndex;
+        private Integer coverUrlColumnIndex;
+        private int totalRows;
+        private int updatedRows;
+        private int skippedRows;
+        private final List<Integer> skippedRowsList = new ArrayList<>();
+        // 已更新封面图的ISBN
+        private final List<String> updatedIsbns = new ArrayList<>();
+        
+        // 待更新批次：ISBN -> 封面图URL，同一ISBN出现多次时以最后一行为准
+        private final Map<String, String> pendingCovers = new LinkedHashMap<>();
+        // 待更新批次：ISBN -> 对应的Excel行号
+        private final Map<String, List<Integer>> pendingRowNumbers = new HashMap<>();
+        private int pendingRowCount;
+        private int batchCount;
+        
+        void addPendingCover(int rowNumber, String isbn, String coverUrl) {
+            pendingCovers.put(isbn, coverUrl);
+            pendingRowNumbers.computeIfAbsent(isbn, key -> new ArrayList<>()).add(rowNumber);
+            pendingRowCount++;
+        }
+    }
+    
+    /**
+     * 多工作表导入中的单个工作表解析任务
+     */
+    private static class SheetParseTask {
+        private final ExcelWorkbook workbook;
+        private final int sheetIndex;
+        private final String sheetLabel; // 文件名/工作表名
+        private final ExcelParseResult parseResult;
+        private volatile String errorMessage;
+        
+        SheetParseTask(ExcelWorkbook workbook, int sheetIndex, ExcelParseResult parseResult) {
+            this.workbook = workbook;
+            this.sheetIndex = sheetIndex;
+            this.sheetLabel = parseResult.getSheetLabel();
+            this.parseResult = parseResult;
+        }
+    }
     
+    /**
+     * 封面图Excel标题行校验失败
+     */
+    private static class CoverHeaderException extends RuntimeException {
+        CoverHeaderException(String message) {
+            super(message);
+        }
+    }
 }
@@ -1,13 +1,20 @@
 package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
 
+import com.gdufe.readingonline.controller.admin.vo.ImportJobVO;
+import com.gdufe.readingonline.dal.datasource.DataSourceContextHolder;
+import com.gdufe.readingonline.dal.datasource.DataSourceType;
 import com.gdufe.readingonline.service.excelUploadAndPrase.ExcelUploadService;
 import com.gdufe.readingonline.service.excelUploadAndPrase.ExcelParseService;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportProgress;
+import com.gdufe.readingonline.service.importjob.ImportJobService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Excel文件处理服务实现类
@@ -21,9 +28,13 @@ public class ExcelUploadServiceImpl implements ExcelUploadService {
     @Autowired
     private ExcelParseService excelParseService;
     
+    @Autowired
+    private ImportJobService importJobService;
+    
     @Override
     public Map<String, Object> processExcelUpload(MultipartFile excelFile, String fileName, 
-                                                  Long fileSize, String fileSource, Integer excelCategory) {
+                                                  Long fileSize, String fileSource, Integer excelCategory, 
+                                                  String importMode) {
         Map<String, Object> result = new HashMap<>();
         
         try {
@@ -35,16 +46,24 @@ public class ExcelUploadServiceImpl implements ExcelUploadService {
                 return result;
             }
             
-            // 根据excelCategory选择不同的处理方式
+            // 根据excelCategory选择不同的处理方式，导入在请求线程上执行，使用导入连接池
             ExcelParseService.ParseResult parseResult;
             if (excelCategory == 0) {
                 // 图书详情表（原有逻辑）
                 System.out.println("开始处理图书详情表Excel...");
-                parseResult = excelParseService.parseAndImportExcel(excelFile, fileSource);
+                if ("bulk-load".equalsIgnoreCase(importMode)) {
+                    // 全量刷新：LOAD DATA批量装载
+                    parseResult = DataSourceContextHolder.callWith(DataSourceType.IMPORT, 
+                        () -> excelParseService.bulkLoadExcel(excelFile, fileSource, new ImportProgress()));
+                } else {
+                    parseResult = DataSourceContextHolder.callWith(DataSourceType.IMPORT, 
+                        () -> excelParseService.parseAndImportExcel(excelFile, fileSource));
+                }
             } else if (excelCategory == 1) {
                 // 封面图详情表（新增逻辑）
                 System.out.println("开始处理封面图详情表Excel...");
-                parseResult = excelParseService.parseAndImportCoverImages(excelFile, fileSource);
+                parseResult = DataSourceContextHolder.callWith(DataSourceType.IMPORT, 
+                    () -> excelParseService.parseAndImportCoverImages(excelFile, fileSource));
             } else {
                 result.put("code", 400);
                 result.put("message", "不支持的Excel类型");
@@ -56,6 +75,9 @@ public class ExcelUploadServiceImpl implements ExcelUploadService {
                 result.put("code", 200);
                 result.put("message", "excel解析并导入成功");
                 result.put("finishedCount", parseResult.getInsertedRows());
+                result.put("createdCount", parseResult.getCreatedRows());
+                result.put("updatedCount", parseResult.getUpdatedRows());
+                result.put("unchangedCount", parseResult.getUnchangedRows());
                 result.put("totalRows", parseResult.getTotalRows());
                 result.put("skippedRows", parseResult.getSkippedRows());
                 result.put("skippedRowsList", parseResult.getSkippedRowsList());
@@ -78,6 +100,91 @@ public class ExcelUploadServiceImpl implements ExcelUploadService {
         }
     }
     
+    @Override
+    public Map<String, Object> processExcelFilesUpload(List<MultipartFile> excelFiles, String fileSource) {
+        Map<String, Object> result = new HashMap<>();
+        
+        try {
+            // 验证文件
+            for (MultipartFile excelFile : excelFiles) {
+                if (!validateExcelFile(excelFile)) {
+                    result.put("code", 400);
+                    result.put("message", "文件验证失败：" + excelFile.getOriginalFilename());
+                    result.put("finishedCount", 0);
+                    return result;
+                }
+            }
+            
+            // 导入在请求线程上执行，使用导入连接池
+            ExcelParseService.ParseResult parseResult = DataSourceContextHolder.callWith(DataSourceType.IMPORT, 
+                () -> excelParseService.parseAndImportExcelFiles(excelFiles, fileSource, new ImportProgress()));
+            
+            if (parseResult.isSuccess()) {
+                result.put("code", 200);
+                result.put("message", "excel解析并导入成功");
+                result.put("finishedCount", parseResult.getInsertedRows());
+                result.put("createdCount", parseResult.getCreatedRows());
+                result.put("updatedCount", parseResult.getUpdatedRows());
+                result.put("unchangedCount", parseResult.getUnchangedRows());
+            } else {
+                result.put("code", 500);
+                result.put("message", "excel解析成功但导入失败");
+                result.put("finishedCount", 0);
+            }
+            result.put("detail", parseResult.getMessage());
+            result.put("totalRows", parseResult.getTotalRows());
+            result.put("skippedRows", parseResult.getSkippedRows());
+            result.put("skippedRowsList", parseResult.getSkippedRowsList());
+            result.put("skippedRowsBySheet", parseResult.getSkippedRowsBySheet());
+            
+            return result;
+            
+        } catch (Exception e) {
+            result.put("code", 500);
+            result.put("message", "文件处理失败：" + e.getMessage());
+            result.put("finishedCount", 0);
+            return result;
+        }
+    }
+    
+    @Override
+    public Map<String, Object> submitExcelUploadJob(MultipartFile excelFile, String fileName, 
+                                                    String fileSource, Integer excelCategory, String importMode) {
+        Map<String, Object> result = new HashMap<>();
+        
+        try {
+            // 验证文件
+            if (!validateExcelFile(excelFile)) {
+                result.put("code", 400);
+                result.put("message", "文件验证失败");
+                return result;
+            }
+            
+            if (excelCategory != 0 && excelCategory != 1) {
+                result.put("code", 400);
+                result.put("message", "不支持的Excel类型");
+                return result;
+            }
+            
+            ImportJobVO job = importJobService.submitJob(excelFile, fileName, fileSource, excelCategory, importMode);
+            
+            result.put("code", 202);
+            result.put("message", "导入任务已提交");
+            result.put("jobId", job.getJobId());
+            result.put("data", job);
+            return result;
+            
+        } catch (RejectedExecutionException e) {
+            result.put("code", 503);
+            result.put("message", "导入任务过多，请稍后再试");
+            return result;
+        } catch (Exception e) {
+            result.put("code", 500);
+            result.put("message", "文件处理失败：" + e.getMessage());
+            return result;
+        }
+    }
+    
     @Override
     public boolean validateExcelFile(MultipartFile excelFile) {
         if (excelFile == null || excelFile.isEmpty()) {
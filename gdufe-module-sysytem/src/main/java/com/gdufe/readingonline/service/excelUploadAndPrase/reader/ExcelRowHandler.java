@@ -0,0 +1,19 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.reader;
+
+/**
+ * Excel行处理回调
+ * 读取器每读到一行就回调一次，行号严格递增，缺失的行以空行回调
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@FunctionalInterface
+public interface ExcelRowHandler {
+    
+    /**
+     * 处理一行数据
+     * 
+     * @param row 行数据（第0行为标题行）
+     */
+    void handleRow(ExcelSheetRow row);
+}
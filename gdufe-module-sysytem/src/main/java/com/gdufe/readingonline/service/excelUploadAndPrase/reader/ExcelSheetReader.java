@@ -0,0 +1,88 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.reader;
+
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Excel工作表读取器
+ * .xlsx文件使用POI的SAX事件模式（XSSFReader + 共享字符串表）逐行读取，不在内存中构建整个工作簿，
+ * 内存占用与文件大小无关；.xls文件行数上限较小，仍使用HSSFWorkbook读取
+ * 两种格式都从磁盘上的文件直接打开，不通过getInputStream()再复制一遍上传内容
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Component
+public class ExcelSheetReader {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExcelSheetReader.class);
+    
+    @Autowired
+    @Qualifier("uploadSpoolDirectory")
+    private Path uploadSpoolDirectory;
+    
+    @Autowired
+    private ImportMetrics importMetrics;
+    
+    /**
+     * 读取Excel文件的第一个工作表，逐行回调
+     * 
+     * @param excelFile Excel文件
+     * @param handler 行处理回调
+     * @throws IOException 读取失败
+     */
+    public void readFirstSheet(MultipartFile excelFile, ExcelRowHandler handler) throws IOException {
+        try (ExcelWorkbook workbook = openWorkbook(excelFile)) {
+            if (workbook.getSheetCount() == 0) {
+                logger.warn("Excel文件中没有工作表：{}", excelFile.getOriginalFilename());
+                return;
+            }
+            workbook.readSheet(0, handler);
+        }
+    }
+    
+    /**
+     * 打开Excel文件，用于读取多个工作表
+     * 
+     * @param excelFile Excel文件
+     * @return 已打开的工作簿，使用完毕后必须关闭
+     * @throws IOException 打开失败
+     */
+    public ExcelWorkbook openWorkbook(MultipartFile excelFile) throws IOException {
+        long startNanos = System.nanoTime();
+        ExcelWorkbook workbook = doOpenWorkbook(excelFile);
+        importMetrics.recordWorkbookOpen(formatOf(excelFile.getOriginalFilename()), System.nanoTime() - startNanos);
+        return workbook;
+    }
+    
+    private ExcelWorkbook doOpenWorkbook(MultipartFile excelFile) throws IOException {
+        // 已转存的文件直接按路径打开
+        if (excelFile instanceof SpooledExcelFile spooledFile) {
+            return new ExcelWorkbook(spooledFile.getPath(), spooledFile.getOriginalFilename(), null);
+        }
+        
+        // 容器已落盘的上传文件转存时只是重命名，内存中的小文件才会真正写一次磁盘
+        SpooledExcelFile spooledFile = SpooledExcelFile.spool(excelFile, uploadSpoolDirectory);
+        try {
+            return new ExcelWorkbook(spooledFile.getPath(), spooledFile.getOriginalFilename(), spooledFile);
+        } catch (IOException | RuntimeException e) {
+            spooledFile.delete();
+            throw e;
+        }
+    }
+    
+    /**
+     * 按文件名判断格式，与ExcelWorkbook选择读取方式的规则一致
+     */
+    private static String formatOf(String fileName) {
+        return fileName != null && fileName.toLowerCase().endsWith(".xlsx") ? "xlsx" : "xls";
+    }
+}
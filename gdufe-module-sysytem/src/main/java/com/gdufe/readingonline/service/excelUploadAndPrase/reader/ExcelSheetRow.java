@@ -0,0 +1,79 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.reader;
+
+/**
+ * Excel行数据
+ * 与POI的Row不同，只保存单元格的字符串值，读取完即可丢弃，不依赖整个工作簿
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public class ExcelSheetRow {
+    
+    private static final String[] EMPTY_CELLS = new String[0];
+    
+    /**
+     * 行号（从0开始，与POI保持一致）
+     */
+    private final int rowNum;
+    
+    /**
+     * 单元格值（已去除首尾空白，空字符串统一为null），行不存在时为null
+     */
+    private final String[] cellValues;
+    
+    public ExcelSheetRow(int rowNum, String[] cellValues) {
+        this.rowNum = rowNum;
+        this.cellValues = cellValues;
+        if (cellValues != null) {
+            for (int i = 0; i < cellValues.length; i++) {
+                String value = cellValues[i];
+                if (value != null) {
+                    value = value.trim();
+                    cellValues[i] = value.isEmpty() ? null : value;
+                }
+            }
+        }
+    }
+    
+    /**
+     * 创建一个空行（Excel中不存在的行）
+     * 
+     * @param rowNum 行号（从0开始）
+     * @return 空行
+     */
+    public static ExcelSheetRow missing(int rowNum) {
+        return new ExcelSheetRow(rowNum, null);
+    }
+    
+    public int getRowNum() {
+        return rowNum;
+    }
+    
+    /**
+     * 该行在Excel中是否不存在
+     */
+    public boolean isMissing() {
+        return cellValues == null;
+    }
+    
+    /**
+     * 获取单元格数量（最后一个非空单元格的列索引+1）
+     */
+    public int getCellCount() {
+        return cellValues == null ? 0 : cellValues.length;
+    }
+    
+    /**
+     * 获取单元格字符串值
+     * 
+     * @param columnIndex 列索引（从0开始）
+     * @return 去除首尾空白后的值，单元格不存在或为空时返回null
+     */
+    public String getCellValue(int columnIndex) {
+        String[] values = cellValues == null ? EMPTY_CELLS : cellValues;
+        if (columnIndex < 0 || columnIndex >= values.length) {
+            return null;
+        }
+        return values[columnIndex];
+    }
+}
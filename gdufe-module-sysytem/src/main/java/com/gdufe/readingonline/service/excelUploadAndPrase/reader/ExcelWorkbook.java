@@ -0,0 +1,326 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.reader;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 已打开的Excel工作簿
+ * .xlsx文件使用POI的SAX事件模式（XSSFReader + 共享字符串表）逐行读取，不在内存中构建整个工作簿，
+ * 共享字符串表和样式表在打开时只加载一次，不同工作表可以在多个线程中同时读取；
+ * 共享字符串表写入临时文件（{@link FileBackedSharedStrings}），堆中只保留每个字符串的位置，
+ * 不随文件中不重复字符串的总长度增长；
+ * .xls文件行数上限较小，仍使用HSSFWorkbook读取，各工作表依次读取
+ * 
+ * 通过{@link ExcelSheetReader#openWorkbook}打开，使用完毕后必须关闭
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public class ExcelWorkbook implements Closeable {
+    
+    private final String fileName;
+    private final List<String> sheetNames = new ArrayList<>();
+    
+    // xlsx
+    private OPCPackage pkg;
+    private FileBackedSharedStrings sharedStrings;
+    private StylesTable styles;
+    private final List<PackagePart> sheetParts = new ArrayList<>();
+    
+    // xls
+    private POIFSFileSystem fileSystem;
+    private HSSFWorkbook hssfWorkbook;
+    private final ReentrantLock hssfLock = new ReentrantLock();
+    
+    /**
+     * 打开工作簿时转存的临时文件，关闭时删除
+     */
+    private final SpooledExcelFile ownedFile;
+    
+    /**
+     * 按路径打开磁盘上的Excel文件
+     * 文件以只读方式打开，由POI按需随机读取，不会整体读入堆内存
+     * 
+     * @param path 文件路径
+     * @param fileName 原始文件名，用于判断文件格式
+     * @param ownedFile 关闭时需要删除的转存文件，没有则为null
+     */
+    ExcelWorkbook(Path path, String fileName, SpooledExcelFile ownedFile) throws IOException {
+        this.fileName = fileName;
+        this.ownedFile = ownedFile;
+        
+        File file = path.toFile();
+        try {
+            if (fileName != null && fileName.toLowerCase().endsWith(".xlsx")) {
+                openXlsx(file);
+            } else {
+                openXls(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+    
+    private void openXlsx(File file) throws IOException {
+        try {
+            // 基于File打开的OPCPackage通过ZipFile随机读取各个部件，不会像InputStream方式那样把整个zip解压到内存
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            sharedStrings = new FileBackedSharedStrings(pkg);
+            styles = xssfReader.getStylesTable();
+            
+            XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+            while (sheetIterator.hasNext()) {
+                // 只记录工作表部件，读取时再各自打开输入流
+                sheetIterator.next().close();
+                sheetNames.add(sheetIterator.getSheetName());
+                sheetParts.add(sheetIterator.getSheetPart());
+            }
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException("无法打开xlsx文件：" + e.getMessage(), e);
+        }
+    }
+    
+    private void openXls(File file) throws IOException {
+        // 只读的POIFSFileSystem通过FileChannel内存映射读取文件
+        fileSystem = new POIFSFileSystem(file, true);
+        hssfWorkbook = new HSSFWorkbook(fileSystem);
+        for (int i = 0; i < hssfWorkbook.getNumberOfSheets(); i++) {
+            sheetNames.add(hssfWorkbook.getSheetName(i));
+        }
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public int getSheetCount() {
+        return sheetNames.size();
+    }
+    
+    public List<String> getSheetNames() {
+        return Collections.unmodifiableList(sheetNames);
+    }
+    
+    /**
+     * 读取指定工作表，逐行回调
+     * xlsx文件的不同工作表可以并发读取
+     * 
+     * @param sheetIndex 工作表索引（从0开始）
+     * @param handler 行处理回调
+     * @throws IOException 读取失败
+     */
+    public void readSheet(int sheetIndex, ExcelRowHandler handler) throws IOException {
+        if (pkg != null) {
+            readXlsxSheet(sheetParts.get(sheetIndex), handler);
+        } else {
+            readXlsSheet(sheetIndex, handler);
+        }
+    }
+    
+    /**
+     * 以SAX事件模式读取xlsx工作表
+     */
+    private void readXlsxSheet(PackagePart sheetPart, ExcelRowHandler handler) throws IOException {
+        try (InputStream sheetStream = sheetPart.getInputStream()) {
+            XMLReader sheetParser = XMLHelper.newXMLReader();
+            // DataFormatter不是线程安全的，每次读取单独创建
+            sheetParser.setContentHandler(new XSSFSheetXMLHandler(
+                styles, sharedStrings, new RowCollector(handler), new ImportDataFormatter(), false));
+            sheetParser.parse(new InputSource(sheetStream));
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException("解析xlsx工作表失败：" + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 以HSSF用户模型读取xls工作表
+     * HSSFWorkbook不是线程安全的，各工作表依次读取（读取行时可能在导入队列上阻塞，用ReentrantLock代替synchronized）
+     */
+    private void readXlsSheet(int sheetIndex, ExcelRowHandler handler) {
+        hssfLock.lock();
+        try {
+            Sheet sheet = hssfWorkbook.getSheetAt(sheetIndex);
+            for (int i = 0; i <= sheet.getLastRowNum(); i++) {
+                Row row = sheet.getRow(i);
+                if (row == null) {
+                    handler.handleRow(ExcelSheetRow.missing(i));
+                    continue;
+                }
+                
+                int cellCount = Math.max(row.getLastCellNum(), 0);
+                String[] cellValues = new String[cellCount];
+                for (int j = 0; j < cellCount; j++) {
+                    cellValues[j] = getCellStringValue(row.getCell(j));
+                }
+                handler.handleRow(new ExcelSheetRow(i, cellValues));
+            }
+        } finally {
+            hssfLock.unlock();
+        }
+    }
+    
+    /**
+     * 关闭工作簿并删除转存的临时文件和共享字符串临时文件
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (sharedStrings != null) {
+                sharedStrings.close();
+            }
+            if (pkg != null) {
+                pkg.revert();
+            }
+            if (hssfWorkbook != null) {
+                hssfWorkbook.close();
+            }
+            if (fileSystem != null) {
+                fileSystem.close();
+            }
+        } finally {
+            if (ownedFile != null) {
+                ownedFile.delete();
+            }
+        }
+    }
+    
+    /**
+     * 获取单元格字符串值
+     * 日期格式的数值单元格统一转换为yyyy-MM-dd，与xlsx事件模式的输出保持一致
+     */
+    static String getCellStringValue(Cell cell) {
+        if (cell == null) {
+            return null;
+        }
+        
+        switch (cell.getCellType()) {
+            case STRING:
+                return cell.getStringCellValue();
+            case NUMERIC:
+                if (DateUtil.isCellDateFormatted(cell)) {
+                    return cell.getLocalDateTimeCellValue().toLocalDate().toString();
+                } else {
+                    return formatNumericValue(cell.getNumericCellValue());
+                }
+            case BOOLEAN:
+                return String.valueOf(cell.getBooleanCellValue());
+            case FORMULA:
+                try {
+                    return cell.getStringCellValue();
+                } catch (Exception e) {
+                    return formatNumericValue(cell.getNumericCellValue());
+                }
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * 处理数字类型，避免科学计数法
+     */
+    private static String formatNumericValue(double numericValue) {
+        if (numericValue == (long) numericValue) {
+            return String.valueOf((long) numericValue);
+        } else {
+            return String.valueOf(numericValue);
+        }
+    }
+    
+    /**
+     * 根据单元格引用（如"AB12"）计算列索引
+     */
+    private static int columnIndexOf(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+    
+    /**
+     * 导入用的数值格式化器
+     * 日期输出yyyy-MM-dd，普通数值避免科学计数法，与HSSF读取方式保持一致
+     */
+    private static class ImportDataFormatter extends DataFormatter {
+        
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return formatNumericValue(value);
+        }
+    }
+    
+    /**
+     * 将SAX单元格事件收集为行，并补齐缺失的行
+     */
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        
+        private final ExcelRowHandler handler;
+        private final List<String> currentCells = new ArrayList<>();
+        private int nextRowNum = 0;
+        
+        RowCollector(ExcelRowHandler handler) {
+            this.handler = handler;
+        }
+        
+        @Override
+        public void startRow(int rowNum) {
+            // 事件模式下不存在的行不会产生事件，按空行补齐，保证行号连续
+            while (nextRowNum < rowNum) {
+                handler.handleRow(ExcelSheetRow.missing(nextRowNum++));
+            }
+            currentCells.clear();
+        }
+        
+        @Override
+        public void endRow(int rowNum) {
+            handler.handleRow(new ExcelSheetRow(rowNum, currentCells.toArray(new String[0])));
+            nextRowNum = rowNum + 1;
+        }
+        
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? columnIndexOf(cellReference) : currentCells.size();
+            while (currentCells.size() < column) {
+                currentCells.add(null);
+            }
+            currentCells.add(formattedValue);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.reader;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 临时文件存储的共享字符串表
+ * POI的ReadOnlySharedStringsTable把所有不重复的字符串都保存在堆中，150～200MB的xlsx文件中简介、书名等几乎都不重复，
+ * 共享字符串表在堆中可达数百MB；本类打开时以SAX方式读取sharedStrings.xml，把每个字符串（长度+UTF-8编码）依次写入临时文件，
+ * 堆中只保留每个字符串在文件中的位置（每个8字节），读取单元格时从只读映射的文件中复制，由操作系统的页缓存缓存文件内容
+ * 
+ * 文本的拼接规则与ReadOnlySharedStringsTable（包含注音文本）一致；只读映射的绝对位置读取不修改共享状态，
+ * 不同工作表可以在多个线程中同时读取，线程被中断也不会影响其它线程
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+class FileBackedSharedStrings extends DefaultHandler implements SharedStrings, Closeable {
+    
+    /**
+     * 每段映射的大小，一个字符串不会跨越两段，写入时在段尾补零
+     */
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+    
+    private File file;
+    private MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    
+    /**
+     * 各字符串在文件中的位置
+     */
+    private long[] offsets = new long[1024];
+    private int size;
+    
+    /**
+     * sst元素上的count、uniqueCount属性
+     */
+    private int count;
+    private int uniqueCount;
+    
+    // 解析状态
+    private DataOutputStream output;
+    private long position;
+    private final StringBuilder characters = new StringBuilder(64);
+    private boolean tIsOpen;
+    
+    /**
+     * 读取工作簿的共享字符串表并写入临时文件
+     * 
+     * @param pkg 已打开的xlsx文件
+     * @throws IOException 读取或写入临时文件失败
+     * @throws SAXException 共享字符串表格式错误
+     */
+    FileBackedSharedStrings(OPCPackage pkg) throws IOException, SAXException {
+        List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        if (parts.isEmpty()) {
+            return;
+        }
+        
+        file = TempFile.createTempFile("gdufe-shared-strings-", ".bin");
+        try {
+            try (InputStream inputStream = parts.get(0).getInputStream();
+                 DataOutputStream dataOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath()), 64 * 1024))) {
+                output = dataOutput;
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(this);
+                parser.parse(new InputSource(inputStream));
+            } catch (ParserConfigurationException e) {
+                throw new IOException("无法创建共享字符串表解析器：" + e.getMessage(), e);
+            } finally {
+                output = null;
+            }
+            mapSegments();
+        } catch (IOException | SAXException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+    
+    private void mapSegments() throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            segments = new MappedByteBuffer[(int) ((fileSize + SEGMENT_SIZE - 1) >>> SEGMENT_BITS)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i << SEGMENT_BITS;
+                // 关闭通道后映射仍然有效
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, fileSize - start));
+            }
+        }
+    }
+    
+    @Override
+    public RichTextString getItemAt(int idx) {
+        Objects.checkIndex(idx, size);
+        long offset = offsets[idx];
+        MappedByteBuffer segment = segments[(int) (offset >>> SEGMENT_BITS)];
+        int index = (int) (offset & (SEGMENT_SIZE - 1));
+        byte[] bytes = new byte[segment.getInt(index)];
+        segment.get(index + Integer.BYTES, bytes);
+        return new XSSFRichTextString(new String(bytes, StandardCharsets.UTF_8));
+    }
+    
+    @Override
+    public int getCount() {
+        return count;
+    }
+    
+    @Override
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+    
+    /**
+     * 删除临时文件
+     * 映射的内存在映射对象被回收时释放，Linux下文件删除后映射仍可读取；无法删除时（如Windows下仍有映射）在进程退出时删除
+     */
+    @Override
+    public void close() {
+        segments = new MappedByteBuffer[0];
+        size = 0;
+        if (file != null && !file.delete() && file.exists()) {
+            file.deleteOnExit();
+        }
+        file = null;
+    }
+    
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        if (uri != null && !uri.equals(XSSFRelation.NS_SPREADSHEETML)) {
+            return;
+        }
+        
+        if ("sst".equals(localName)) {
+            String countValue = attributes.getValue("count");
+            if (countValue != null) {
+                count = (int) Long.parseLong(countValue);
+            }
+            String uniqueCountValue = attributes.getValue("uniqueCount");
+            if (uniqueCountValue != null) {
+                uniqueCount = (int) Long.parseLong(uniqueCountValue);
+            }
+        } else if ("si".equals(localName)) {
+            characters.setLength(0);
+        } else if ("t".equals(localName)) {
+            tIsOpen = true;
+        } else if ("rPh".equals(localName)) {
+            // 注音文本在正文之后，以空格分隔
+            if (characters.length() > 0) {
+                characters.append(' ');
+            }
+        }
+    }
+    
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        if (uri != null && !uri.equals(XSSFRelation.NS_SPREADSHEETML)) {
+            return;
+        }
+        
+        if ("si".equals(localName)) {
+            try {
+                append(characters.toString());
+            } catch (IOException e) {
+                throw new SAXException("写入共享字符串临时文件失败：" + e.getMessage(), e);
+            }
+        } else if ("t".equals(localName)) {
+            tIsOpen = false;
+        }
+    }
+    
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (tIsOpen) {
+            characters.append(ch, start, length);
+        }
+    }
+    
+    /**
+     * 追加一个字符串，写入位置跨段时先补零到下一段的起点
+     */
+    private void append(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long recordSize = Integer.BYTES + (long) bytes.length;
+        long remaining = SEGMENT_SIZE - (position & (SEGMENT_SIZE - 1));
+        if (recordSize > remaining) {
+            if (recordSize > SEGMENT_SIZE) {
+                throw new IOException("共享字符串过长：" + bytes.length + "字节");
+            }
+            for (long i = 0; i < remaining; i++) {
+                output.write(0);
+            }
+            position += remaining;
+        }
+        
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size++] = position;
+        output.writeInt(bytes.length);
+        output.write(bytes);
+        position += recordSize;
+    }
+}
@@ -0,0 +1,115 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.reader;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 已落盘的Excel上传文件
+ * 请求结束后容器会删除上传的临时文件，异步导入需要先把文件转存到本地，再以MultipartFile的形式交给解析服务
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public class SpooledExcelFile implements MultipartFile {
+    
+    private final Path path;
+    private final String originalFilename;
+    private final String contentType;
+    
+    public SpooledExcelFile(Path path, String originalFilename, String contentType) {
+        this.path = path;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+    }
+    
+    /**
+     * 把上传文件转存到临时目录
+     * 使用transferTo(File)：由容器的Part.write处理，已落盘的上传文件在同一文件系统内直接重命名，不会再复制一遍内容
+     * （transferTo(Path)会通过输入流把整个文件再复制一遍），内存中的小文件写一次磁盘；
+     * 转存后原上传文件不可再读取
+     * 
+     * @param excelFile 上传的Excel文件
+     * @param directory 转存目录，为null时使用系统临时目录
+     * @return 转存后的文件
+     * @throws IOException 转存失败
+     */
+    public static SpooledExcelFile spool(MultipartFile excelFile, Path directory) throws IOException {
+        String originalFilename = excelFile.getOriginalFilename();
+        String suffix = originalFilename != null && originalFilename.toLowerCase().endsWith(".xlsx") ? ".xlsx" : ".xls";
+        Path spooledPath;
+        if (directory != null) {
+            Files.createDirectories(directory);
+            spooledPath = Files.createTempFile(directory, "gdufe-import-", suffix);
+        } else {
+            spooledPath = Files.createTempFile("gdufe-import-", suffix);
+        }
+        try {
+            excelFile.transferTo(spooledPath.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooledPath);
+            throw e;
+        }
+        return new SpooledExcelFile(spooledPath, originalFilename, excelFile.getContentType());
+    }
+    
+    public Path getPath() {
+        return path;
+    }
+    
+    /**
+     * 删除转存的文件
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+    
+    @Override
+    public String getName() {
+        return "excelFile";
+    }
+    
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+    
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+    
+    @Override
+    public long getSize() {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+    
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+    
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+    
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,51 @@
+package com.gdufe.readingonline.service.importjob;
+
+import com.gdufe.readingonline.controller.admin.vo.ImportIssueVO;
+import com.gdufe.readingonline.controller.admin.vo.ImportJobVO;
+import com.gdufe.readingonline.controller.admin.vo.PageDataVO;
+import com.gdufe.readingonline.controller.admin.vo.PageInfoVO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * Excel异步导入任务Service接口
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public interface ImportJobService {
+    
+    /**
+     * 提交异步导入任务，文件转存后立即返回，导入在独立线程池中执行
+     * 
+     * @param excelFile Excel文件
+     * @param fileName 文件名
+     * @param fileSource 文件来源（0:畅想之星, 1:京东）
+     * @param excelCategory Excel类型（0:图书详情表, 1:封面图详情表）
+     * @param importMode 图书详情表的导入方式（upsert:分批插入或更新, bulk-load:LOAD DATA批量装载）
+     * @return 任务信息
+     * @throws IOException 文件转存失败
+     * @throws java.util.concurrent.RejectedExecutionException 导入任务已满
+     */
+    ImportJobVO submitJob(MultipartFile excelFile, String fileName, String fileSource, Integer excelCategory, 
+                          String importMode) throws IOException;
+    
+    /**
+     * 查询导入任务进度
+     * 
+     * @param jobId 任务ID
+     * @return 任务信息，任务不存在或已过期时返回null
+     */
+    ImportJobVO getJob(String jobId);
+    
+    /**
+     * 分页查询导入任务中跳过和失败的逐行明细
+     * 
+     * @param jobId 任务ID
+     * @param current 当前页（从1开始）
+     * @param size 每页大小
+     * @return 明细分页数据（总数为保留的明细条数），任务不存在或已过期时返回null
+     */
+    PageDataVO<ImportIssueVO, PageInfoVO> getJobIssues(String jobId, long current, long size);
+}
@@ -0,0 +1,227 @@
+package com.gdufe.readingonline.service.importjob.impl;
+
+import com.gdufe.readingonline.controller.admin.vo.ImportIssueVO;
+import com.gdufe.readingonline.controller.admin.vo.ImportJobVO;
+import com.gdufe.readingonline.controller.admin.vo.PageDataVO;
+import com.gdufe.readingonline.controller.admin.vo.PageInfoVO;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ExcelParseService;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportDiagnostics;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportProgress;
+import com.gdufe.readingonline.service.excelUploadAndPrase.reader.SpooledExcelFile;
+import com.gdufe.readingonline.service.importjob.ImportJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Excel异步导入任务Service实现类
+ * 任务信息保存在内存中，结束后保留一段时间供前端查询结果，过期的任务由定时任务清理
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Service
+public class ImportJobServiceImpl implements ImportJobService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobServiceImpl.class);
+    
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    @Autowired
+    private ExcelParseService excelParseService;
+    
+    @Autowired
+    @Qualifier("importJobExecutor")
+    private Executor importJobExecutor;
+    
+    @Autowired
+    @Qualifier("uploadSpoolDirectory")
+    private Path uploadSpoolDirectory;
+    
+    /**
+     * 任务结束后保留的分钟数
+     */
+    @Value("${gdufe.import.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+    
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    
+    @Override
+    public ImportJobVO submitJob(MultipartFile excelFile, String fileName, String fileSource, Integer excelCategory, 
+                                 String importMode) throws IOException {
+        // 请求结束后容器会删除上传的临时文件，先转存
+        SpooledExcelFile spooledFile = SpooledExcelFile.spool(excelFile, uploadSpoolDirectory);
+        
+        ImportJob job = new ImportJob(UUID.randomUUID().toString().replace("-", ""), fileName, fileSource, excelCategory, 
+            importMode, spooledFile);
+        jobs.put(job.jobId, job);
+        
+        try {
+            importJobExecutor.execute(() -> runJob(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.jobId);
+            spooledFile.delete();
+            logger.warn("导入任务已满，拒绝新任务，文件名：{}", fileName);
+            throw e;
+        }
+        
+        logger.info("导入任务已提交，任务ID：{}, 文件名：{}, 文件来源：{}, Excel类型：{}", job.jobId, fileName, fileSource, excelCategory);
+        return toVO(job);
+    }
+    
+    @Override
+    public ImportJobVO getJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        return job == null ? null : toVO(job);
+    }
+    
+    @Override
+    public PageDataVO<ImportIssueVO, PageInfoVO> getJobIssues(String jobId, long current, long size) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            return null;
+        }
+        
+        ImportDiagnostics diagnostics = job.progress.getDiagnostics();
+        long offset = (current - 1) * size;
+        List<ImportIssueVO> issues = offset > Integer.MAX_VALUE
+            ? List.of()
+            : diagnostics.getIssues((int) offset, (int) size);
+        return new PageDataVO<>(issues, PageInfoVO.of(current, size, diagnostics.getIssueDetailCount()));
+    }
+    
+    /**
+     * 执行导入任务
+     */
+    private void runJob(ImportJob job) {
+        job.status = "RUNNING";
+        job.startTime = LocalDateTime.now();
+        logger.info("导入任务开始执行，任务ID：{}", job.jobId);
+        
+        try {
+            ExcelParseService.ParseResult parseResult;
+            if (job.excelCategory == 1) {
+                parseResult = excelParseService.parseAndImportCoverImages(job.spooledFile, job.fileSource, job.progress);
+            } else if ("bulk-load".equalsIgnoreCase(job.importMode)) {
+                parseResult = excelParseService.bulkLoadExcel(job.spooledFile, job.fileSource, job.progress);
+            } else {
+                parseResult = excelParseService.parseAndImportExcel(job.spooledFile, job.fileSource, job.progress);
+            }
+            
+            job.result = parseResult;
+            job.message = parseResult.getMessage();
+            job.status = parseResult.isSuccess() ? "SUCCEEDED" : "FAILED";
+        
+        } catch (Exception e) {
+            logger.error("导入任务执行失败，任务ID：{}, 错误详情：{}", job.jobId, e.getMessage(), e);
+            job.message = "文件处理失败：" + e.getMessage();
+            job.status = "FAILED";
+        } finally {
+            job.finishTime = LocalDateTime.now();
+            try {
+                job.spooledFile.delete();
+            } catch (IOException e) {
+                logger.warn("删除导入临时文件失败：{}", job.spooledFile.getPath(), e);
+            }
+            logger.info("导入任务结束，任务ID：{}, 状态：{}", job.jobId, job.status);
+        }
+    }
+    
+    /**
+     * 定时清理已过期的任务，没有新任务提交时也能释放过期任务的进度信息和逐行明细
+     */
+    @Scheduled(fixedDelayString = "${gdufe.import.job-eviction-interval-millis:60000}",
+               initialDelayString = "${gdufe.import.job-eviction-interval-millis:60000}")
+    public void removeExpiredJobs() {
+        LocalDateTime expireBefore = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.finishTime != null && job.finishTime.isBefore(expireBefore));
+        int removed = before - jobs.size();
+        if (removed > 0) {
+            logger.info("已清理过期的导入任务，数量：{}", removed);
+        }
+    }
+    
+    private ImportJobVO toVO(ImportJob job) {
+        ImportJobVO vo = new ImportJobVO();
+        vo.setJobId(job.jobId);
+        vo.setFileName(job.fileName);
+        vo.setFileSource(job.fileSource);
+        vo.setExcelCategory(job.excelCategory);
+        vo.setStatus(job.status);
+        vo.setMessage(job.message);
+        vo.setSubmitTime(format(job.submitTime));
+        vo.setStartTime(format(job.startTime));
+        vo.setFinishTime(format(job.finishTime));
+        
+        ImportProgress progress = job.progress;
+        vo.setRowsParsed(progress.getRowsParsed());
+        vo.setBatchesSubmitted(progress.getBatchesSubmitted());
+        vo.setBatchesCommitted(progress.getBatchesCommitted());
+        vo.setRowsWritten(progress.getRowsWritten());
+        vo.setRowsFailed(progress.getRowsFailed());
+        vo.setRowsSkipped(progress.getRowsSkipped());
+        vo.setIssueCount(progress.getDiagnostics().getIssueCount());
+        vo.setIssueSummaries(progress.getDiagnostics().getSummaries());
+        
+        ExcelParseService.ParseResult result = job.result;
+        if (result != null) {
+            vo.setTotalRows(result.getTotalRows());
+            vo.setFinishedCount(result.getInsertedRows());
+            vo.setCreatedCount(result.getCreatedRows());
+            vo.setUpdatedCount(result.getUpdatedRows());
+            vo.setUnchangedCount(result.getUnchangedRows());
+        }
+        return vo;
+    }
+    
+    private static String format(LocalDateTime time) {
+        return time == null ? null : time.format(TIME_FORMATTER);
+    }
+    
+    /**
+     * 导入任务
+     */
+    private static class ImportJob {
+        private final String jobId;
+        private final String fileName;
+        private final String fileSource;
+        private final Integer excelCategory;
+        private final String importMode;
+        private final SpooledExcelFile spooledFile;
+        private final ImportProgress progress = new ImportProgress();
+        private final LocalDateTime submitTime = LocalDateTime.now();
+        
+        private volatile String status = "PENDING";
+        private volatile String message;
+        private volatile LocalDateTime startTime;
+        private volatile LocalDateTime finishTime;
+        private volatile ExcelParseService.ParseResult result;
+        
+        ImportJob(String jobId, String fileName, String fileSource, Integer excelCategory, String importMode, 
+                  SpooledExcelFile spooledFile) {
+            this.jobId = jobId;
+            this.fileName = fileName;
+            this.fileSource = fileSource;
+            this.excelCategory = excelCategory;
+            this.importMode = importMode;
+            this.spooledFile = spooledFile;
+        }
+    }
+}
@@ -1,6 +1,16 @@
 package com.gdufe.readingonline.service.search;
 
-import java.util.Map;
+import com.gdufe.readingonline.controller.admin.vo.ApiResponseVO;
+import com.gdufe.readingonline.controller.admin.vo.BookDetailVO;
+import com.gdufe.readingonline.controller.admin.vo.BookListItemVO;
+import com.gdufe.readingonline.controller.admin.vo.CategoryBookItemVO;
+import com.gdufe.readingonline.controller.admin.vo.CursorPageInfoVO;
+import com.gdufe.readingonline.controller.admin.vo.FullTextBookItemVO;
+import com.gdufe.readingonline.controller.admin.vo.PageDataVO;
+import com.gdufe.readingonline.controller.admin.vo.PageInfoVO;
+import com.gdufe.readingonline.controller.admin.vo.RandomBookItemVO;
+
+import java.util.List;
 
 /**
  * 图书搜索服务接口
@@ -18,14 +28,23 @@ public interface BookSearchService {
      * @param size 每页大小
      * @return 搜索结果，包含分页信息
      */
-    Map<String, Object> searchBooksByName(String name, Integer page, Integer size);
+    ApiResponseVO<PageDataVO<BookListItemVO, PageInfoVO>> searchBooksByName(String name, Integer page, Integer size);
     
     /**
      * 随机获取图书
      * 
      * @return 随机图书列表（包含书名、作者、ISBN、简介）
      */
-    Map<String, Object> getRandomBooks();
+    ApiResponseVO<List<RandomBookItemVO>> getRandomBooks();
+    
+    /**
+     * 随机获取指定数量的图书，可以限定主分类
+     * 
+     * @param category 图书主分类（0-22，为null时从全部图书中抽取）
+     * @param size 抽取数量（为null时使用默认数量）
+     * @return 随机图书列表（包含书名、作者、ISBN、简介）
+     */
+    ApiResponseVO<List<RandomBookItemVO>> getRandomBooks(Integer category, Integer size);
     
     /**
      * 根据ISBN和来源精确查询图书
@@ -34,7 +53,7 @@ public interface BookSearchService {
      * @param source 图书来源（0-畅想之星, 1-京东）
      * @return 图书详细信息
      */
-    Map<String, Object> getBookByIsbnAndSource(String isbn, Integer source);
+    ApiResponseVO<BookDetailVO> getBookByIsbnAndSource(String isbn, Integer source);
     
     /**
      * 按分类查询图书
@@ -44,5 +63,39 @@ public interface BookSearchService {
      * @param size 每页大小
      * @return 该分类的图书列表，包含分页信息
      */
-    Map<String, Object> searchBooksByCategory(Integer category, Integer page, Integer size);
+    ApiResponseVO<PageDataVO<CategoryBookItemVO, PageInfoVO>> searchBooksByCategory(Integer category, Integer page, Integer size);
+    
+    /**
+     * 按书名搜索图书（游标分页）
+     * 全文索引检索时按(相关度, 主键)定位，LIKE匹配时按主键定位，翻页耗时不随页数增加
+     * 
+     * @param name 搜索关键词
+     * @param cursor 上一页返回的nextCursor（第一页为空）
+     * @param size 每页大小
+     * @param countMode 总数统计方式（exact:精确统计, estimate:使用缓存的总数, none:不统计）
+     * @return 搜索结果，pageInfo中包含nextCursor
+     */
+    ApiResponseVO<PageDataVO<BookListItemVO, CursorPageInfoVO>> searchBooksByNameCursor(String name, String cursor, Integer size, String countMode);
+    
+    /**
+     * 按分类查询图书（游标分页）
+     * 按(主分类, 主键)定位，每页只需一次索引范围扫描
+     * 
+     * @param category 图书主分类（0-22）
+     * @param cursor 上一页返回的nextCursor（第一页为空）
+     * @param size 每页大小
+     * @param countMode 总数统计方式（exact:精确统计, estimate:使用缓存的总数, none:不统计）
+     * @return 该分类的图书列表，pageInfo中包含nextCursor
+     */
+    ApiResponseVO<PageDataVO<CategoryBookItemVO, CursorPageInfoVO>> searchBooksByCategoryCursor(Integer category, String cursor, Integer size, String countMode);
+    
+    /**
+     * 在书名、作者、出版社、简介中全文检索图书，按相关度排序，并返回命中词的高亮片段
+     * 
+     * @param keyword 搜索关键词
+     * @param page 页码（从1开始）
+     * @param size 每页大小
+     * @return 搜索结果，包含分页信息
+     */
+    ApiResponseVO<PageDataVO<FullTextBookItemVO, PageInfoVO>> searchBooksFullText(String keyword, Integer page, Integer size);
 }
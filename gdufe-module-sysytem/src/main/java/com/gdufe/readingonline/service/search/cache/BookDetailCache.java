@@ -0,0 +1,158 @@
+package com.gdufe.readingonline.service.search.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.service.excelUploadAndPrase.EbookImportedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 图书详情缓存
+ * 按(ISBN, 来源)在Redis中缓存图书详情，未命中时查询数据库并写入缓存（read-through）；
+ * 数据库中不存在的图书也缓存一个空标记（较短的有效期），避免反复查询不存在的ISBN
+ * 
+ * 每次导入完成后删除本次写入的ISBN对应的缓存；Redis不可用时直接查询数据库
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Component
+public class BookDetailCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BookDetailCache.class);
+    
+    private static final String KEY_PREFIX = "gdufe:book:detail:";
+    
+    /**
+     * 图书不存在时缓存的空标记
+     */
+    private static final String NOT_FOUND = "";
+    
+    /**
+     * 图书来源（0:畅想之星, 1:京东），按ISBN删除缓存时两个来源都要删除
+     */
+    private static final int[] BOOK_SOURCES = {0, 1};
+    
+    /**
+     * 每次删除的最大键数
+     */
+    private static final int DELETE_BATCH_SIZE = 1000;
+    
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${gdufe.cache.book-detail.enabled:true}")
+    private boolean enabled;
+    
+    /**
+     * 图书详情的缓存有效期（秒），实际有效期随机增加最多10%，避免同时过期
+     */
+    @Value("${gdufe.cache.book-detail.ttl-seconds:3600}")
+    private long ttlSeconds;
+    
+    /**
+     * 图书不存在时空标记的缓存有效期（秒）
+     */
+    @Value("${gdufe.cache.book-detail.negative-ttl-seconds:60}")
+    private long negativeTtlSeconds;
+    
+    /**
+     * 查询图书详情，优先从缓存读取
+     * 
+     * @param isbn 图书ISBN号
+     * @param source 图书来源（0-畅想之星, 1-京东）
+     * @param loader 缓存未命中时查询数据库
+     * @return 图书详情，不存在时返回null
+     */
+    public GdufeLibraryEbookDO get(String isbn, Integer source, Supplier<GdufeLibraryEbookDO> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        
+        String key = key(isbn, source);
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                return NOT_FOUND.equals(cached) ? null : objectMapper.readValue(cached, GdufeLibraryEbookDO.class);
+            }
+        } catch (Exception e) {
+            // 缓存读取失败不影响查询，直接查询数据库
+            logger.warn("读取图书详情缓存失败，键：{}，错误详情：{}", key, e.getMessage());
+            return loader.get();
+        }
+        
+        GdufeLibraryEbookDO book = loader.get();
+        try {
+            if (book == null) {
+                redisTemplate.opsForValue().set(key, NOT_FOUND, Duration.ofSeconds(negativeTtlSeconds));
+            } else {
+                long jitter = ThreadLocalRandom.current().nextLong(ttlSeconds / 10 + 1);
+                redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(book), Duration.ofSeconds(ttlSeconds + jitter));
+            }
+        } catch (JsonProcessingException e) {
+            logger.warn("序列化图书详情失败，ISBN：{}，错误详情：{}", isbn, e.getMessage());
+        } catch (Exception e) {
+            logger.warn("写入图书详情缓存失败，键：{}，错误详情：{}", key, e.getMessage());
+        }
+        return book;
+    }
+    
+    /**
+     * 导入完成后删除本次写入的ISBN对应的缓存（包括不存在标记，新增的图书因此可以立即查到）
+     */
+    @EventListener
+    public void onEbookImported(EbookImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        
+        List<String> keys = new ArrayList<>(DELETE_BATCH_SIZE);
+        long deletedCount = 0;
+        try {
+            for (String isbn : event.getIsbns()) {
+                for (int source : BOOK_SOURCES) {
+                    keys.add(key(isbn, source));
+                }
+                if (keys.size() >= DELETE_BATCH_SIZE) {
+                    deletedCount += delete(keys);
+                    keys.clear();
+                }
+            }
+            if (!keys.isEmpty()) {
+                deletedCount += delete(keys);
+            }
+            logger.info("图书详情缓存已失效 - ISBN数：{}，删除缓存：{}", event.getIsbns().size(), deletedCount);
+        } catch (Exception e) {
+            // 删除失败时缓存最迟在有效期后更新
+            logger.error("删除图书详情缓存失败，ISBN数：{}，错误详情：{}", event.getIsbns().size(), e.getMessage(), e);
+        }
+    }
+    
+    private long delete(List<String> keys) {
+        Long deleted = redisTemplate.delete(keys);
+        return deleted == null ? 0 : deleted;
+    }
+    
+    /**
+     * 缓存键，ISBN统一转为大写，与MySQL不区分大小写的比较保持一致
+     */
+    private static String key(String isbn, Integer source) {
+        return KEY_PREFIX + isbn.toUpperCase(Locale.ROOT) + ":" + source;
+    }
+}
@@ -0,0 +1,233 @@
+package com.gdufe.readingonline.service.search.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdufe.readingonline.controller.admin.vo.ApiResponseVO;
+import com.gdufe.readingonline.service.excelUploadAndPrase.EbookImportedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 搜索结果两级缓存
+ * L1为进程内的Caffeine缓存（W-TinyLFU淘汰，按条数限制大小），L2为各节点共享的Redis缓存；
+ * 查询依次读取L1、L2，都未命中时查询数据库并写入两级缓存
+ * 
+ * 缓存键带有全局版本号（保存在Redis中），导入完成后版本号加1并通过Redis发布/订阅通知所有节点清空L1，
+ * 旧版本的L2缓存不再被读取，到期后自动删除，不需要逐个删除键；
+ * 发布/订阅不保证送达（如订阅连接重连期间的通知会丢失），各节点还定时从Redis重新读取版本号，
+ * 错过通知的节点最迟在一个检查间隔后切换到新版本
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Component
+public class SearchResultCache implements MessageListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCache.class);
+    
+    private static final String KEY_PREFIX = "gdufe:search:result:";
+    private static final String VERSION_KEY = "gdufe:search:version";
+    private static final String INVALIDATE_CHANNEL = "gdufe:search:invalidate";
+    
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+    
+    @Value("${gdufe.cache.search-result.enabled:true}")
+    private boolean enabled;
+    
+    /**
+     * L1缓存的最大条数
+     */
+    @Value("${gdufe.cache.search-result.l1-max-size:10000}")
+    private long l1MaxSize;
+    
+    /**
+     * L1缓存的有效期（秒），Redis不可用时L1过期后直接查询数据库，最迟在有效期后更新
+     */
+    @Value("${gdufe.cache.search-result.l1-ttl-seconds:60}")
+    private long l1TtlSeconds;
+    
+    /**
+     * L2缓存的有效期（秒）
+     */
+    @Value("${gdufe.cache.search-result.l2-ttl-seconds:600}")
+    private long l2TtlSeconds;
+    
+    /**
+     * 只缓存前几页，深度翻页的访问很分散，缓存命中率低
+     */
+    @Value("${gdufe.cache.search-result.max-cached-page:5}")
+    private int maxCachedPage;
+    
+    private Cache<String, ApiResponseVO<?>> localCache;
+    
+    /**
+     * 当前缓存版本号，由失效通知和定时检查更新，错过通知时最多使用旧版本一个检查间隔
+     */
+    private volatile long version;
+    
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+            .maximumSize(l1MaxSize)
+            .expireAfterWrite(Duration.ofSeconds(l1TtlSeconds))
+            .build();
+        if (!enabled) {
+            return;
+        }
+        
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+        try {
+            String currentVersion = redisTemplate.opsForValue().get(VERSION_KEY);
+            version = currentVersion == null ? 0 : Long.parseLong(currentVersion);
+        } catch (Exception e) {
+            logger.warn("读取搜索结果缓存版本号失败，使用版本号0：{}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 定时从Redis读取版本号，补上错过的失效通知
+     */
+    @Scheduled(fixedDelayString = "${gdufe.cache.search-result.version-check-interval-millis:5000}",
+               initialDelayString = "${gdufe.cache.search-result.version-check-interval-millis:5000}")
+    public void checkVersion() {
+        if (!enabled) {
+            return;
+        }
+        
+        try {
+            String currentVersion = redisTemplate.opsForValue().get(VERSION_KEY);
+            if (currentVersion != null && advanceVersion(Long.parseLong(currentVersion))) {
+                logger.info("定时检查发现搜索结果缓存版本号已更新，新版本号：{}", currentVersion);
+            }
+        } catch (Exception e) {
+            logger.warn("定时读取搜索结果缓存版本号失败：{}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 是否缓存该页
+     * 
+     * @param page 页码（从1开始）
+     */
+    public boolean isCacheable(int page) {
+        return enabled && page <= maxCachedPage;
+    }
+    
+    /**
+     * 读取搜索结果，依次查询L1、L2，都未命中时调用loader并写入缓存（只缓存成功的结果）
+     * 
+     * @param key 缓存键（查询条件）
+     * @param type 结果类型，用于反序列化L2中的JSON
+     * @param loader 查询数据库
+     * @return 搜索结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ApiResponseVO<T> get(String key, TypeReference<ApiResponseVO<T>> type, Supplier<ApiResponseVO<T>> loader) {
+        String versionedKey = KEY_PREFIX + version + ":" + key;
+        
+        // 同一个键只会写入同一类型的结果
+        ApiResponseVO<T> result = (ApiResponseVO<T>) localCache.getIfPresent(versionedKey);
+        if (result != null) {
+            return result;
+        }
+        
+        try {
+            String cached = redisTemplate.opsForValue().get(versionedKey);
+            if (cached != null) {
+                result = objectMapper.readValue(cached, type);
+                localCache.put(versionedKey, result);
+                return result;
+            }
+        } catch (Exception e) {
+            logger.warn("读取搜索结果缓存失败，键：{}，错误详情：{}", versionedKey, e.getMessage());
+        }
+        
+        result = loader.get();
+        if (!result.isSuccess()) {
+            return result;
+        }
+        localCache.put(versionedKey, result);
+        try {
+            redisTemplate.opsForValue().set(versionedKey, objectMapper.writeValueAsString(result), Duration.ofSeconds(l2TtlSeconds));
+        } catch (Exception e) {
+            logger.warn("写入搜索结果缓存失败，键：{}，错误详情：{}", versionedKey, e.getMessage());
+        }
+        return result;
+    }
+    
+    /**
+     * 导入完成后增加版本号，并通知所有节点（包括本节点）清空L1
+     */
+    @EventListener
+    public void onEbookImported(EbookImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        
+        // 先清空本节点，Redis不可用时也能保证本节点不再返回旧结果
+        localCache.invalidateAll();
+        try {
+            Long newVersion = redisTemplate.opsForValue().increment(VERSION_KEY);
+            if (newVersion != null) {
+                version = Math.max(version, newVersion);
+                redisTemplate.convertAndSend(INVALIDATE_CHANNEL, String.valueOf(newVersion));
+            }
+            logger.info("搜索结果缓存已失效，新版本号：{}", newVersion);
+        } catch (Exception e) {
+            logger.error("发布搜索结果缓存失效通知失败：{}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 收到其他节点的失效通知
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            long newVersion = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (advanceVersion(newVersion)) {
+                logger.info("收到搜索结果缓存失效通知，新版本号：{}", newVersion);
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("搜索结果缓存失效通知格式错误：{}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 版本号只增不减，更新后清空L1
+     * 
+     * @return 版本号是否更新
+     */
+    private synchronized boolean advanceVersion(long newVersion) {
+        if (newVersion <= version) {
+            return false;
+        }
+        version = newVersion;
+        localCache.invalidateAll();
+        return true;
+    }
+}
@@ -3,16 +3,32 @@ package com.gdufe.readingonline.service.search.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.gdufe.readingonline.controller.admin.vo.ApiResponseVO;
+import com.gdufe.readingonline.controller.admin.vo.BookDetailVO;
+import com.gdufe.readingonline.controller.admin.vo.BookListItemVO;
+import com.gdufe.readingonline.controller.admin.vo.CategoryBookItemVO;
+import com.gdufe.readingonline.controller.admin.vo.CursorPageInfoVO;
+import com.gdufe.readingonline.controller.admin.vo.FullTextBookItemVO;
+import com.gdufe.readingonline.controller.admin.vo.PageDataVO;
+import com.gdufe.readingonline.controller.admin.vo.PageInfoVO;
+import com.gdufe.readingonline.controller.admin.vo.RandomBookItemVO;
 import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
 import com.gdufe.readingonline.dal.mysqlmapper.GdufeLibraryEbookMapper;
 import com.gdufe.readingonline.service.search.BookSearchService;
+import com.gdufe.readingonline.service.search.cache.BookDetailCache;
+import com.gdufe.readingonline.service.search.cache.SearchResultCache;
+import com.gdufe.readingonline.service.search.lucene.BookSearchIndex;
+import com.gdufe.readingonline.service.search.random.RandomBookSampler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * 图书搜索服务实现类
@@ -26,181 +42,185 @@ public class BookSearchServiceImpl implements BookSearchService {
     @Autowired
     private GdufeLibraryEbookMapper gdufeLibraryEbookMapper;
     
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+    
+    @Autowired
+    private RandomBookSampler randomBookSampler;
+    
+    @Autowired
+    private BookDetailCache bookDetailCache;
+    
+    @Autowired
+    private SearchResultCache searchResultCache;
+    
+    /**
+     * 书名搜索方式
+     * fulltext：使用book_name上的ngram全文索引（默认）
+     * like：LIKE模糊匹配，用于尚未创建全文索引的数据库
+     */
+    @Value("${gdufe.search.name-mode:fulltext}")
+    private String nameSearchMode;
+    
+    /**
+     * ngram分词长度，需与MySQL的ngram_token_size一致，短于该长度的关键字无法命中全文索引
+     */
+    @Value("${gdufe.search.ngram-token-size:2}")
+    private int ngramTokenSize;
+    
+    /**
+     * 游标分页估算总数时，总数缓存的有效期（秒）
+     */
+    @Value("${gdufe.search.count-cache-seconds:300}")
+    private long countCacheSeconds;
+    
+    /**
+     * 默认随机抽取的图书数量
+     */
+    @Value("${gdufe.search.random.sample-size:4}")
+    private int randomSampleSize;
+    
+    /**
+     * 总数统计方式：exact每次精确统计，estimate使用缓存的总数，其他值不统计
+     */
+    private static final String COUNT_MODE_EXACT = "exact";
+    private static final String COUNT_MODE_ESTIMATE = "estimate";
+    
+    /**
+     * 总数缓存的最大条数，超出后清空，避免大量不同关键字占用内存
+     */
+    private static final int COUNT_CACHE_MAX_ENTRIES = 10000;
+    
+    private final Map<String, CachedCount> countCache = new ConcurrentHashMap<>();
+    
+    /**
+     * 缓存结果的反序列化类型
+     */
+    private static final TypeReference<ApiResponseVO<PageDataVO<BookListItemVO, PageInfoVO>>> NAME_RESULT_TYPE = 
+        new TypeReference<>() {};
+    private static final TypeReference<ApiResponseVO<PageDataVO<CategoryBookItemVO, PageInfoVO>>> CATEGORY_RESULT_TYPE = 
+        new TypeReference<>() {};
+    
     @Override
-    public Map<String, Object> searchBooksByName(String name, Integer page, Integer size) {
-        Map<String, Object> result = new HashMap<>();
-        
+    public ApiResponseVO<PageDataVO<BookListItemVO, PageInfoVO>> searchBooksByName(String name, Integer page, Integer size) {
+        if (!searchResultCache.isCacheable(page)) {
+            return doSearchBooksByName(name, page, size);
+        }
+        String keyword = name == null ? "" : name.trim();
+        String cacheKey = "name:" + (useFulltextSearch(keyword) ? "fulltext:" : "like:") + page + ":" + size + ":" + keyword;
+        return searchResultCache.get(cacheKey, NAME_RESULT_TYPE, () -> doSearchBooksByName(name, page, size));
+    }
+    
+    /**
+     * 按书名搜索图书（查询数据库）
+     */
+    private ApiResponseVO<PageDataVO<BookListItemVO, PageInfoVO>> doSearchBooksByName(String name, Integer page, Integer size) {
         try {
             // 创建分页对象
             Page<GdufeLibraryEbookDO> pageParam = new Page<>(page, size);
             
-            // 构建查询条件：书名模糊匹配，且未删除，只查询需要的5个字段
-            LambdaQueryWrapper<GdufeLibraryEbookDO> queryWrapper = new LambdaQueryWrapper<>();
-            queryWrapper.select(GdufeLibraryEbookDO::getBookName, 
-                              GdufeLibraryEbookDO::getBookIsbn,
-                              GdufeLibraryEbookDO::getBookAuthor,
-                              GdufeLibraryEbookDO::getBookPress,
-                              GdufeLibraryEbookDO::getBookUrl,
-                              GdufeLibraryEbookDO::getBookSource,
-                              GdufeLibraryEbookDO::getBookPictureUrl)
-                       .like(GdufeLibraryEbookDO::getBookName, name)
-                       .eq(GdufeLibraryEbookDO::getIsDeleted, 0);
-            
-            // 执行分页查询
-            IPage<GdufeLibraryEbookDO> pageResult = gdufeLibraryEbookMapper.selectPage(pageParam, queryWrapper);
+            IPage<GdufeLibraryEbookDO> pageResult;
+            String keyword = name == null ? "" : name.trim();
+            if (useFulltextSearch(keyword)) {
+                // 全文索引检索：按相关度排序，查询和计数都走ngram全文索引，不再全表扫描
+                String phrase = toFulltextPhrase(keyword);
+                long total = gdufeLibraryEbookMapper.countBooksByNameFulltext(phrase);
+                pageParam.setTotal(total);
+                if (total > 0 && pageParam.offset() < total) {
+                    pageParam.setRecords(gdufeLibraryEbookMapper.searchBooksByNameFulltext(
+                        phrase, pageParam.offset(), pageParam.getSize()));
+                }
+                pageResult = pageParam;
+            } else {
+                // 构建查询条件：书名模糊匹配，且未删除，只查询需要的5个字段
+                LambdaQueryWrapper<GdufeLibraryEbookDO> queryWrapper = new LambdaQueryWrapper<>();
+                queryWrapper.select(GdufeLibraryEbookDO::getBookName, 
+                                  GdufeLibraryEbookDO::getBookIsbn,
+                                  GdufeLibraryEbookDO::getBookAuthor,
+                                  GdufeLibraryEbookDO::getBookPress,
+                                  GdufeLibraryEbookDO::getBookUrl,
+                                  GdufeLibraryEbookDO::getBookSource,
+                                  GdufeLibraryEbookDO::getBookPictureUrl)
+                           .like(GdufeLibraryEbookDO::getBookName, name)
+                           .eq(GdufeLibraryEbookDO::getIsDeleted, 0);
+                
+                // 执行分页查询
+                pageResult = gdufeLibraryEbookMapper.selectPage(pageParam, queryWrapper);
+            }
             
             // 构建返回数据，只包含书名、ISBN、作者、来源平台、封面图片URL
-            List<Map<String, Object>> bookList = new ArrayList<>();
+            List<BookListItemVO> bookList = new ArrayList<>(pageResult.getRecords().size());
             for (GdufeLibraryEbookDO book : pageResult.getRecords()) {
-                Map<String, Object> bookInfo = new HashMap<>();
-                bookInfo.put("bookName", book.getBookName());
-                bookInfo.put("bookIsbn", book.getBookIsbn());
-                bookInfo.put("bookAuthor", book.getBookAuthor());
-                bookInfo.put("bookPress", book.getBookPress());
-                bookInfo.put("bookUrl", book.getBookUrl());
-                // 来源平台：0-畅想之星, 1-京东
-                String bookSource = book.getBookSource() == 0 ? "畅想之星" : "京东";
-                bookInfo.put("bookSource", bookSource);
-                bookInfo.put("bookPictureUrl", book.getBookPictureUrl());
-                bookList.add(bookInfo);
+                bookList.add(toNameSearchBookInfo(book));
             }
             
-            // 构建返回结果
-            result.put("code", 200);
-            result.put("message", "搜索成功");
-            
-            // 分页信息
-            Map<String, Object> pageInfo = new HashMap<>();
-            pageInfo.put("current", pageResult.getCurrent());        // 当前页
-            pageInfo.put("size", pageResult.getSize());              // 每页大小
-            pageInfo.put("total", pageResult.getTotal());            // 总记录数
-            pageInfo.put("pages", pageResult.getPages());            // 总页数
-            pageInfo.put("hasNext", pageResult.getCurrent() < pageResult.getPages());           // 是否有下一页
-            pageInfo.put("hasPrevious", pageResult.getCurrent() > 1);   // 是否有上一页
-            
-            // 数据信息
-            Map<String, Object> data = new HashMap<>();
-            data.put("list", bookList);                              // 数据列表（只包含4个字段）
-            data.put("pageInfo", pageInfo);                          // 分页信息
-            
-            result.put("data", data);
+            return ApiResponseVO.success("搜索成功", new PageDataVO<>(bookList, toPageInfo(pageResult)));
             
         } catch (Exception e) {
-            result.put("code", 500);
-            result.put("message", "搜索失败：" + e.getMessage());
-            result.put("data", null);
+            return ApiResponseVO.error(500, "搜索失败：" + e.getMessage());
         }
-        
-        return result;
     }
     
     @Override
-    public Map<String, Object> getRandomBooks() {
-        Map<String, Object> result = new HashMap<>();
-        
+    public ApiResponseVO<List<RandomBookItemVO>> getRandomBooks() {
+        return getRandomBooks(null, randomSampleSize);
+    }
+    
+    @Override
+    public ApiResponseVO<List<RandomBookItemVO>> getRandomBooks(Integer category, Integer size) {
         try {
-            // 使用 QueryWrapper 从数据库随机查询4本书
-            LambdaQueryWrapper<GdufeLibraryEbookDO> queryWrapper = new LambdaQueryWrapper<>();
-            queryWrapper.select(GdufeLibraryEbookDO::getBookName,
-                              GdufeLibraryEbookDO::getBookAuthor,
-                              GdufeLibraryEbookDO::getBookIsbn,
-                              GdufeLibraryEbookDO::getBookPress,
-                              GdufeLibraryEbookDO::getBookUrl,
-                              GdufeLibraryEbookDO::getBookSource,
-                              GdufeLibraryEbookDO::getBookPictureUrl)
-                       .eq(GdufeLibraryEbookDO::getIsDeleted, 0)
-                       .last("ORDER BY RAND() LIMIT 4");
-            
-            List<GdufeLibraryEbookDO> randomBooks = gdufeLibraryEbookMapper.selectList(queryWrapper);
+            // 从内存中的主键快照随机抽取，再按主键查询，代替ORDER BY RAND()的全表排序
+            int sampleSize = size == null ? randomSampleSize : size;
+            List<GdufeLibraryEbookDO> randomBooks = randomBookSampler.sample(category, sampleSize);
             
             // 构建返回数据，只包含书名、作者、ISBN、出版社、链接、来源、封面图片URL
-            List<Map<String, Object>> bookList = new ArrayList<>();
+            List<RandomBookItemVO> bookList = new ArrayList<>(randomBooks.size());
             for (GdufeLibraryEbookDO book : randomBooks) {
-                Map<String, Object> bookInfo = new HashMap<>();
-                bookInfo.put("bookName", book.getBookName());
-                bookInfo.put("bookAuthor", book.getBookAuthor());
-                bookInfo.put("bookIsbn", book.getBookIsbn());
-                bookInfo.put("bookPress", book.getBookPress());
-                bookInfo.put("bookUrl", book.getBookUrl());
-                bookInfo.put("bookSource", book.getBookSource());
-                bookInfo.put("bookPictureUrl", book.getBookPictureUrl());
-                bookList.add(bookInfo);
+                bookList.add(new RandomBookItemVO(book.getBookName(), book.getBookAuthor(), book.getBookIsbn(),
+                    book.getBookPress(), book.getBookUrl(), book.getBookSource(), book.getBookPictureUrl()));
             }
             
-            // 构建返回结果
-            result.put("code", 200);
-            result.put("message", "获取成功");
-            result.put("data", bookList);
+            return ApiResponseVO.success("获取成功", bookList);
             
         } catch (Exception e) {
-            result.put("code", 500);
-            result.put("message", "获取失败：" + e.getMessage());
-            result.put("data", null);
+            return ApiResponseVO.error(500, "获取失败：" + e.getMessage());
         }
-        
-        return result;
     }
     
     @Override
-    public Map<String, Object> getBookByIsbnAndSource(String isbn, Integer source) {
-        Map<String, Object> result = new HashMap<>();
-        
+    public ApiResponseVO<BookDetailVO> getBookByIsbnAndSource(String isbn, Integer source) {
         try {
-            // 构建查询条件：ISBN精确匹配、来源匹配、未删除
-            LambdaQueryWrapper<GdufeLibraryEbookDO> queryWrapper = new LambdaQueryWrapper<>();
-            queryWrapper.select(GdufeLibraryEbookDO::getBookName,
-                              GdufeLibraryEbookDO::getBookIsbn,
-                              GdufeLibraryEbookDO::getBookAuthor,
-                              GdufeLibraryEbookDO::getBookPress,
-                              GdufeLibraryEbookDO::getBookPublicationTime,
-                              GdufeLibraryEbookDO::getBookUrl,
-                              GdufeLibraryEbookDO::getBookBriefIntroduction,
-                              GdufeLibraryEbookDO::getBookPictureUrl,
-                              GdufeLibraryEbookDO::getBookSource)
-                       .eq(GdufeLibraryEbookDO::getBookIsbn, isbn)
-                       .eq(GdufeLibraryEbookDO::getBookSource, source)
-                       .eq(GdufeLibraryEbookDO::getIsDeleted, 0);
-            
-            // 执行查询
-            GdufeLibraryEbookDO book = gdufeLibraryEbookMapper.selectOne(queryWrapper);
+            // 先查缓存，未命中时查询数据库：ISBN精确匹配、来源匹配、未删除
+            GdufeLibraryEbookDO book = bookDetailCache.get(isbn, source, () -> selectBookDetail(isbn, source));
             
             if (book == null) {
-                result.put("code", 404);
-                result.put("message", "未找到匹配的图书");
-                result.put("data", null);
-            } else {
-                // 构建返回数据
-                Map<String, Object> bookInfo = new HashMap<>();
-                bookInfo.put("bookName", book.getBookName());
-                bookInfo.put("bookIsbn", book.getBookIsbn());
-                bookInfo.put("bookAuthor", book.getBookAuthor());
-                bookInfo.put("bookPress", book.getBookPress());
-                bookInfo.put("bookPublicationTime", book.getBookPublicationTime());
-                bookInfo.put("bookUrl", book.getBookUrl());
-                bookInfo.put("bookBriefIntroduction", book.getBookBriefIntroduction());
-                bookInfo.put("bookPictureUrl", book.getBookPictureUrl());
-                // 来源平台：0-畅想之星, 1-京东
-                String bookSource = book.getBookSource() == 0 ? "畅想之星" : "京东";
-                bookInfo.put("bookSource", bookSource);
-                
-                result.put("code", 200);
-                result.put("message", "查询成功");
-                result.put("data", bookInfo);
+                return ApiResponseVO.error(404, "未找到匹配的图书");
             }
             
+            // 构建返回数据
+            BookDetailVO bookInfo = new BookDetailVO(book.getBookName(), book.getBookIsbn(), book.getBookAuthor(),
+                book.getBookPress(), book.getBookPublicationTime(), book.getBookUrl(), book.getBookBriefIntroduction(),
+                book.getBookPictureUrl(), toSourceName(book.getBookSource()));
+            return ApiResponseVO.success("查询成功", bookInfo);
+            
         } catch (Exception e) {
-            result.put("code", 500);
-            result.put("message", "查询失败：" + e.getMessage());
-            result.put("data", null);
+            return ApiResponseVO.error(500, "查询失败：" + e.getMessage());
         }
-        
-        return result;
     }
     
     @Override
-    public Map<String, Object> searchBooksByCategory(Integer category, Integer page, Integer size) {
-        Map<String, Object> result = new HashMap<>();
-        
+    public ApiResponseVO<PageDataVO<CategoryBookItemVO, PageInfoVO>> searchBooksByCategory(Integer category, Integer page, Integer size) {
+        if (!searchResultCache.isCacheable(page)) {
+            return doSearchBooksByCategory(category, page, size);
+        }
+        String cacheKey = "category:" + category + ":" + page + ":" + size;
+        return searchResultCache.get(cacheKey, CATEGORY_RESULT_TYPE, () -> doSearchBooksByCategory(category, page, size));
+    }
+    
+    /**
+     * 按分类查询图书（查询数据库）
+     */
+    private ApiResponseVO<PageDataVO<CategoryBookItemVO, PageInfoVO>> doSearchBooksByCategory(Integer category, Integer page, Integer size) {
         try {
             // 创建分页对象
             Page<GdufeLibraryEbookDO> pageParam = new Page<>(page, size);
@@ -221,45 +241,286 @@ public class BookSearchServiceImpl implements BookSearchService {
             IPage<GdufeLibraryEbookDO> pageResult = gdufeLibraryEbookMapper.selectPage(pageParam, queryWrapper);
             
             // 构建返回数据
-            List<Map<String, Object>> bookList = new ArrayList<>();
+            List<CategoryBookItemVO> bookList = new ArrayList<>(pageResult.getRecords().size());
             for (GdufeLibraryEbookDO book : pageResult.getRecords()) {
-                Map<String, Object> bookInfo = new HashMap<>();
-                bookInfo.put("bookName", book.getBookName());
-                bookInfo.put("bookIsbn", book.getBookIsbn());
-                bookInfo.put("bookAuthor", book.getBookAuthor());
-                bookInfo.put("bookPress", book.getBookPress());
-                bookInfo.put("bookUrl", book.getBookUrl());
-                bookInfo.put("bookPictureUrl", book.getBookPictureUrl());
-                bookInfo.put("bookBriefIntroduction", book.getBookBriefIntroduction()); // 简介
-                bookList.add(bookInfo);
+                bookList.add(toCategoryBookInfo(book));
+            }
+            
+            return ApiResponseVO.success("查询成功", new PageDataVO<>(bookList, toPageInfo(pageResult)));
+            
+        } catch (Exception e) {
+            return ApiResponseVO.error(500, "查询失败：" + e.getMessage());
+        }
+    }
+    
+    @Override
+    public ApiResponseVO<PageDataVO<BookListItemVO, CursorPageInfoVO>> searchBooksByNameCursor(String name, String cursor, 
+                                                                                              Integer size, String countMode) {
+        try {
+            SearchCursor after = SearchCursor.decode(cursor);
+            String keyword = name == null ? "" : name.trim();
+            boolean fulltext = useFulltextSearch(keyword);
+            
+            // 多查一条用于判断是否还有下一页
+            List<GdufeLibraryEbookDO> records;
+            Supplier<Long> totalQuery;
+            if (fulltext) {
+                // 全文索引检索：按(相关度, 主键)定位，不再扫描并丢弃前面的页
+                if (after != null && !after.isRelevanceCursor()) {
+                    throw new IllegalArgumentException("游标无效：" + cursor);
+                }
+                String phrase = toFulltextPhrase(keyword);
+                records = gdufeLibraryEbookMapper.searchBooksByNameFulltextAfter(phrase, 
+                    after == null ? null : after.getRelevance(), after == null ? 0 : after.getId(), size + 1);
+                totalQuery = () -> gdufeLibraryEbookMapper.countBooksByNameFulltext(phrase);
+            } else {
+                // LIKE模糊匹配：按主键定位
+                if (after != null && after.isRelevanceCursor()) {
+                    throw new IllegalArgumentException("游标无效：" + cursor);
+                }
+                LambdaQueryWrapper<GdufeLibraryEbookDO> queryWrapper = new LambdaQueryWrapper<>();
+                queryWrapper.select(GdufeLibraryEbookDO::getId,
+                                  GdufeLibraryEbookDO::getBookName, 
+                                  GdufeLibraryEbookDO::getBookIsbn,
+                                  GdufeLibraryEbookDO::getBookAuthor,
+                                  GdufeLibraryEbookDO::getBookPress,
+                                  GdufeLibraryEbookDO::getBookUrl,
+                                  GdufeLibraryEbookDO::getBookSource,
+                                  GdufeLibraryEbookDO::getBookPictureUrl)
+                           .like(GdufeLibraryEbookDO::getBookName, keyword)
+                           .eq(GdufeLibraryEbookDO::getIsDeleted, 0)
+                           .gt(after != null, GdufeLibraryEbookDO::getId, after == null ? 0 : after.getId())
+                           .orderByAsc(GdufeLibraryEbookDO::getId)
+                           .last("LIMIT " + (size + 1));
+                records = gdufeLibraryEbookMapper.selectList(queryWrapper);
+                totalQuery = () -> gdufeLibraryEbookMapper.selectCount(new LambdaQueryWrapper<GdufeLibraryEbookDO>()
+                    .like(GdufeLibraryEbookDO::getBookName, keyword)
+                    .eq(GdufeLibraryEbookDO::getIsDeleted, 0));
             }
             
-            // 构建返回结果
-            result.put("code", 200);
-            result.put("message", "查询成功");
+            boolean hasNext = records.size() > size;
+            if (hasNext) {
+                records = records.subList(0, size);
+            }
+            String nextCursor = null;
+            if (hasNext) {
+                GdufeLibraryEbookDO last = records.get(records.size() - 1);
+                nextCursor = fulltext
+                    ? SearchCursor.afterRelevance(last.getRelevance(), last.getId()).encode()
+                    : SearchCursor.afterId(last.getId()).encode();
+            }
             
-            // 分页信息
-            Map<String, Object> pageInfo = new HashMap<>();
-            pageInfo.put("current", pageResult.getCurrent());        // 当前页
-            pageInfo.put("size", pageResult.getSize());              // 每页大小
-            pageInfo.put("total", pageResult.getTotal());            // 总记录数
-            pageInfo.put("pages", pageResult.getPages());            // 总页数
-            pageInfo.put("hasNext", pageResult.getCurrent() < pageResult.getPages());           // 是否有下一页
-            pageInfo.put("hasPrevious", pageResult.getCurrent() > 1);   // 是否有上一页
+            List<BookListItemVO> bookList = new ArrayList<>(records.size());
+            for (GdufeLibraryEbookDO book : records) {
+                bookList.add(toNameSearchBookInfo(book));
+            }
             
-            // 数据信息
-            Map<String, Object> data = new HashMap<>();
-            data.put("list", bookList);                              // 数据列表
-            data.put("pageInfo", pageInfo);                          // 分页信息
+            return ApiResponseVO.success("搜索成功", buildCursorData(bookList, size, hasNext, nextCursor, 
+                "name:" + (fulltext ? "fulltext:" : "like:") + keyword, countMode, totalQuery));
             
-            result.put("data", data);
+        } catch (IllegalArgumentException e) {
+            return ApiResponseVO.error(400, e.getMessage());
+        } catch (Exception e) {
+            return ApiResponseVO.error(500, "搜索失败：" + e.getMessage());
+        }
+    }
+    
+    @Override
+    public ApiResponseVO<PageDataVO<CategoryBookItemVO, CursorPageInfoVO>> searchBooksByCategoryCursor(Integer category, String cursor, 
+                                                                                                      Integer size, String countMode) {
+        try {
+            SearchCursor after = SearchCursor.decode(cursor);
+            if (after != null && after.isRelevanceCursor()) {
+                throw new IllegalArgumentException("游标无效：" + cursor);
+            }
             
+            // 按(主分类, 主键)定位，走idx_book_category_id索引范围扫描，多查一条用于判断是否还有下一页
+            LambdaQueryWrapper<GdufeLibraryEbookDO> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.select(GdufeLibraryEbookDO::getId,
+                              GdufeLibraryEbookDO::getBookName, 
+                              GdufeLibraryEbookDO::getBookIsbn,
+                              GdufeLibraryEbookDO::getBookAuthor,
+                              GdufeLibraryEbookDO::getBookPress,
+                              GdufeLibraryEbookDO::getBookUrl,
+                              GdufeLibraryEbookDO::getBookPictureUrl,
+                              GdufeLibraryEbookDO::getBookBriefIntroduction)
+                       .eq(GdufeLibraryEbookDO::getBookPrimaryClassification, category)
+                       .eq(GdufeLibraryEbookDO::getIsDeleted, 0)
+                       .gt(after != null, GdufeLibraryEbookDO::getId, after == null ? 0 : after.getId())
+                       .orderByAsc(GdufeLibraryEbookDO::getId)
+                       .last("LIMIT " + (size + 1));
+            List<GdufeLibraryEbookDO> records = gdufeLibraryEbookMapper.selectList(queryWrapper);
+            
+            boolean hasNext = records.size() > size;
+            if (hasNext) {
+                records = records.subList(0, size);
+            }
+            String nextCursor = hasNext ? SearchCursor.afterId(records.get(records.size() - 1).getId()).encode() : null;
+            
+            List<CategoryBookItemVO> bookList = new ArrayList<>(records.size());
+            for (GdufeLibraryEbookDO book : records) {
+                bookList.add(toCategoryBookInfo(book));
+            }
+            
+            return ApiResponseVO.success("查询成功", buildCursorData(bookList, size, hasNext, nextCursor, "category:" + category, countMode,
+                () -> gdufeLibraryEbookMapper.selectCount(new LambdaQueryWrapper<GdufeLibraryEbookDO>()
+                    .eq(GdufeLibraryEbookDO::getBookPrimaryClassification, category)
+                    .eq(GdufeLibraryEbookDO::getIsDeleted, 0))));
+            
+        } catch (IllegalArgumentException e) {
+            return ApiResponseVO.error(400, e.getMessage());
         } catch (Exception e) {
-            result.put("code", 500);
-            result.put("message", "查询失败：" + e.getMessage());
-            result.put("data", null);
+            return ApiResponseVO.error(500, "查询失败：" + e.getMessage());
         }
+    }
+    
+    /**
+     * 查询图书详情（缓存未命中时调用）
+     */
+    private GdufeLibraryEbookDO selectBookDetail(String isbn, Integer source) {
+        LambdaQueryWrapper<GdufeLibraryEbookDO> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(GdufeLibraryEbookDO::getBookName,
+                          GdufeLibraryEbookDO::getBookIsbn,
+                          GdufeLibraryEbookDO::getBookAuthor,
+                          GdufeLibraryEbookDO::getBookPress,
+                          GdufeLibraryEbookDO::getBookPublicationTime,
+                          GdufeLibraryEbookDO::getBookUrl,
+                          GdufeLibraryEbookDO::getBookBriefIntroduction,
+                          GdufeLibraryEbookDO::getBookPictureUrl,
+                          GdufeLibraryEbookDO::getBookSource)
+                   .eq(GdufeLibraryEbookDO::getBookIsbn, isbn)
+                   .eq(GdufeLibraryEbookDO::getBookSource, source)
+                   .eq(GdufeLibraryEbookDO::getIsDeleted, 0);
+        return gdufeLibraryEbookMapper.selectOne(queryWrapper);
+    }
+    
+    /**
+     * 构建游标分页的返回数据
+     * 
+     * @param bookList 当前页数据
+     * @param size 每页大小
+     * @param hasNext 是否有下一页
+     * @param nextCursor 下一页游标（没有下一页时为null）
+     * @param countKey 总数缓存的键
+     * @param countMode 总数统计方式
+     * @param totalQuery 精确统计总数的查询
+     * @return 返回数据
+     */
+    private <T> PageDataVO<T, CursorPageInfoVO> buildCursorData(List<T> bookList, Integer size, boolean hasNext, 
+                                                                String nextCursor, String countKey, String countMode, 
+                                                                Supplier<Long> totalQuery) {
+        Long total = null;
+        Boolean totalEstimated = null;
+        if (COUNT_MODE_EXACT.equalsIgnoreCase(countMode)) {
+            total = totalQuery.get();
+            totalEstimated = false;
+        } else if (COUNT_MODE_ESTIMATE.equalsIgnoreCase(countMode)) {
+            total = getCachedTotal(countKey, totalQuery); // 可能略有滞后
+            totalEstimated = true;
+        }
+        return new PageDataVO<>(bookList, new CursorPageInfoVO(size, hasNext, nextCursor, total, totalEstimated));
+    }
+    
+    /**
+     * 获取缓存的总数，过期后重新统计
+     * 游标分页的每一页都不需要精确总数，缓存后同一查询在有效期内只统计一次
+     */
+    private long getCachedTotal(String countKey, Supplier<Long> totalQuery) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = countCache.get(countKey);
+        if (cached != null && cached.expireAt > now) {
+            return cached.total;
+        }
+        
+        long total = totalQuery.get();
+        if (countCache.size() >= COUNT_CACHE_MAX_ENTRIES) {
+            countCache.clear();
+        }
+        countCache.put(countKey, new CachedCount(total, now + countCacheSeconds * 1000));
+        return total;
+    }
+    
+    /**
+     * 按书名搜索结果中的单本图书：书名、ISBN、作者、出版社、链接、来源平台、封面图片URL
+     */
+    private static BookListItemVO toNameSearchBookInfo(GdufeLibraryEbookDO book) {
+        return new BookListItemVO(book.getBookName(), book.getBookIsbn(), book.getBookAuthor(), book.getBookPress(),
+            book.getBookUrl(), toSourceName(book.getBookSource()), book.getBookPictureUrl());
+    }
+    
+    /**
+     * 按分类查询结果中的单本图书：书名、ISBN、作者、出版社、链接、封面图片URL、简介
+     */
+    private static CategoryBookItemVO toCategoryBookInfo(GdufeLibraryEbookDO book) {
+        return new CategoryBookItemVO(book.getBookName(), book.getBookIsbn(), book.getBookAuthor(), book.getBookPress(),
+            book.getBookUrl(), book.getBookPictureUrl(), book.getBookBriefIntroduction());
+    }
+    
+    /**
+     * 来源平台名称：0-畅想之星, 1-京东
+     */
+    private static String toSourceName(Integer bookSource) {
+        return bookSource != null && bookSource == 0 ? "畅想之星" : "京东";
+    }
+    
+    /**
+     * 页码分页信息
+     */
+    private static PageInfoVO toPageInfo(IPage<?> pageResult) {
+        return new PageInfoVO(pageResult.getCurrent(), pageResult.getSize(), pageResult.getTotal(), pageResult.getPages(),
+            pageResult.getCurrent() < pageResult.getPages(), pageResult.getCurrent() > 1);
+    }
+    
+    /**
+     * 判断是否使用全文索引检索，关键字短于ngram分词长度时回退到LIKE
+     */
+    private boolean useFulltextSearch(String keyword) {
+        return "fulltext".equalsIgnoreCase(nameSearchMode) && keyword.codePointCount(0, keyword.length()) >= ngramTokenSize;
+    }
+    
+    /**
+     * 把关键字转换为布尔模式下的短语查询，要求书名中按顺序连续出现关键字切分出的全部ngram词元
+     * 去掉关键字中的双引号，避免破坏短语语法
+     * 
+     * 只是近似LIKE '%关键字%'，以下情况结果不同：
+     * ngram分词器不生成跨越空白和标点的词元，含空格或标点的关键字可能匹配到空白、标点不同的书名；
+     * 全文索引必须在关闭停用词的情况下建立（见V4__rebuild_book_name_fulltext_without_stopwords.sql），
+     * 否则包含停用词字母的词元（如"Java"中的ja、av、va）不在索引中，这类关键字查不到结果
+     */
+    private static String toFulltextPhrase(String keyword) {
+        return "\"" + keyword.replace("\"", " ") + "\"";
+    }
+    
+    @Override
+    public ApiResponseVO<PageDataVO<FullTextBookItemVO, PageInfoVO>> searchBooksFullText(String keyword, Integer page, Integer size) {
+        try {
+            BookSearchIndex.SearchPage searchPage = bookSearchIndex.search(keyword, page, size);
+            
+            // 构建返回数据，字段与按书名搜索一致，另外返回相关度和高亮片段
+            List<FullTextBookItemVO> bookList = new ArrayList<>(searchPage.getHits().size());
+            for (BookSearchIndex.SearchHit hit : searchPage.getHits()) {
+                bookList.add(new FullTextBookItemVO(hit.getBookName(), hit.getBookIsbn(), hit.getBookAuthor(),
+                    hit.getBookPress(), hit.getBookUrl(), toSourceName(hit.getBookSource()), hit.getBookPictureUrl(),
+                    hit.getScore(), hit.getHighlights()));
+            }
+            
+            return ApiResponseVO.success("搜索成功", new PageDataVO<>(bookList, PageInfoVO.of(page, size, searchPage.getTotal())));
+            
+        } catch (Exception e) {
+            return ApiResponseVO.error(500, "搜索失败：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 缓存的总数
+     */
+    private static class CachedCount {
+        private final long total;
+        private final long expireAt;
         
-        return result;
+        CachedCount(long total, long expireAt) {
+            this.total = total;
+            this.expireAt = expireAt;
+        }
     }
 }
@@ -0,0 +1,93 @@
+package com.gdufe.readingonline.service.search.impl;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 游标分页的位置
+ * 记录上一页最后一条记录的排序键（相关度、主键），编码成对前端不透明的字符串
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+final class SearchCursor {
+    
+    private static final String ID_PREFIX = "i";
+    private static final String RELEVANCE_PREFIX = "r";
+    private static final String SEPARATOR = "|";
+    
+    /**
+     * 相关度（按主键排序时为null）
+     */
+    private final BigDecimal relevance;
+    
+    /**
+     * 主键
+     */
+    private final long id;
+    
+    private SearchCursor(BigDecimal relevance, long id) {
+        this.relevance = relevance;
+        this.id = id;
+    }
+    
+    /**
+     * 按主键排序的游标
+     */
+    static SearchCursor afterId(long id) {
+        return new SearchCursor(null, id);
+    }
+    
+    /**
+     * 按相关度降序、主键升序排序的游标
+     */
+    static SearchCursor afterRelevance(BigDecimal relevance, long id) {
+        return new SearchCursor(relevance, id);
+    }
+    
+    /**
+     * 解析游标，空字符串表示第一页
+     * 
+     * @param cursor 游标字符串
+     * @return 游标位置，第一页返回null
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\" + SEPARATOR);
+            if (parts.length == 2 && ID_PREFIX.equals(parts[0])) {
+                return afterId(Long.parseLong(parts[1]));
+            }
+            if (parts.length == 3 && RELEVANCE_PREFIX.equals(parts[0])) {
+                return afterRelevance(new BigDecimal(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64或数字格式错误，统一按游标无效处理
+        }
+        throw new IllegalArgumentException("游标无效：" + cursor);
+    }
+    
+    String encode() {
+        String value = relevance == null
+            ? ID_PREFIX + SEPARATOR + id
+            : RELEVANCE_PREFIX + SEPARATOR + relevance.toPlainString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    BigDecimal getRelevance() {
+        return relevance;
+    }
+    
+    long getId() {
+        return id;
+    }
+    
+    boolean isRelevanceCursor() {
+        return relevance != null;
+    }
+}
@@ -0,0 +1,707 @@
+package com.gdufe.readingonline.service.search.lucene;
+
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.dal.mysqlmapper.GdufeLibraryEbookMapper;
+import com.gdufe.readingonline.service.excelUploadAndPrase.EbookImportedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cn.smart.SmartChineseAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.queryparser.classic.QueryParserBase;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.NullFragmenter;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleFragmenter;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 图书全文搜索索引
+ * 使用Lucene在本地磁盘（MMapDirectory）维护书名、作者、出版社、简介的倒排索引，中文使用smartcn分词；
+ * 启动时索引为空则从gdufe_library_ebook全量构建，之后在每次导入完成后按ISBN增量更新
+ * 
+ * 索引在每个节点上各有一份，导入只发生在其中一个节点上。导入完成后，导入节点把本次写入的ISBN追加到Redis中的索引变更日志（Stream），
+ * 每条记录带有连续的序号，并通过Redis发布/订阅通知所有节点；各节点按序号顺序应用变更，已应用的最后一个序号作为检查点
+ * 与索引一起提交。错过通知（订阅断开）的节点在定时同步时补齐，重启的节点从检查点继续；
+ * 检查点之后的记录已被裁剪或Redis中的序号被重置时，该节点从数据库全量重建
+ * 
+ * 索引的写入都在单独的索引线程中串行执行，不阻塞导入和查询
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Component
+public class BookSearchIndex implements MessageListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchIndex.class);
+    
+    static final String FIELD_ISBN = "bookIsbn";
+    static final String FIELD_NAME = "bookName";
+    static final String FIELD_AUTHOR = "bookAuthor";
+    static final String FIELD_PRESS = "bookPress";
+    static final String FIELD_INTRO = "bookBriefIntroduction";
+    static final String FIELD_URL = "bookUrl";
+    static final String FIELD_PICTURE_URL = "bookPictureUrl";
+    static final String FIELD_SOURCE = "bookSource";
+    
+    /**
+     * 参与全文检索的字段
+     */
+    private static final String[] SEARCH_FIELDS = {FIELD_NAME, FIELD_AUTHOR, FIELD_PRESS, FIELD_INTRO};
+    
+    /**
+     * 各字段的权重：书名命中比简介命中更相关
+     */
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+        FIELD_NAME, 3.0f,
+        FIELD_AUTHOR, 2.0f,
+        FIELD_PRESS, 1.0f,
+        FIELD_INTRO, 0.5f);
+    
+    /**
+     * ISBN精确命中时的权重
+     */
+    private static final float ISBN_BOOST = 10.0f;
+    
+    /**
+     * 全量重建和增量更新时每次查询数据库的记录数，也是变更日志中每条记录的最大ISBN数
+     */
+    private static final int LOAD_BATCH_SIZE = 1000;
+    
+    /**
+     * 索引变更日志（Redis Stream），记录ID为"序号-0"，字段isbns为逗号分隔的ISBN
+     */
+    private static final String CHANGE_LOG_KEY = "gdufe:search:index:changes";
+    
+    /**
+     * 变更日志的序号计数器
+     */
+    private static final String CHANGE_SEQ_KEY = "gdufe:search:index:seq";
+    
+    /**
+     * 有新的变更记录时通知各节点同步，消息内容为最新序号
+     */
+    private static final String CHANGE_CHANNEL = "gdufe:search:index:changed";
+    
+    private static final String CHANGE_FIELD_ISBNS = "isbns";
+    
+    /**
+     * 索引提交数据中保存检查点（已应用的最后一个变更序号）的键
+     */
+    private static final String COMMIT_CHANGE_SEQ = "changeSeq";
+    
+    /**
+     * 每次从变更日志读取的记录数
+     */
+    private static final int SYNC_BATCH_RECORDS = 100;
+    
+    /**
+     * 分配序号并追加变更记录，两步在同一个脚本中执行，保证记录的序号连续且按序号顺序写入
+     */
+    private static final RedisScript<Long> APPEND_CHANGE_SCRIPT = new DefaultRedisScript<>(
+        "local seq = redis.call('INCR', KEYS[2]) "
+            + "redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], seq .. '-0', '" + CHANGE_FIELD_ISBNS + "', ARGV[2]) "
+            + "return seq",
+        Long.class);
+    
+    @Autowired
+    private GdufeLibraryEbookMapper ebookMapper;
+    
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+    
+    /**
+     * 索引目录
+     */
+    @Value("${gdufe.search.lucene.index-dir:data/book-index}")
+    private String indexDir;
+    
+    /**
+     * 最多可以翻到的结果条数，避免深度翻页时收集过多结果
+     */
+    @Value("${gdufe.search.lucene.max-result-window:10000}")
+    private int maxResultWindow;
+    
+    /**
+     * 简介高亮片段的长度（字符数）
+     */
+    @Value("${gdufe.search.lucene.fragment-size:100}")
+    private int fragmentSize;
+    
+    /**
+     * 变更日志保留的记录数（近似值），停机期间的变更超出该数量时节点启动后全量重建
+     */
+    @Value("${gdufe.search.lucene.change-log-max-length:10000}")
+    private long changeLogMaxLength;
+    
+    private final Analyzer analyzer = new SmartChineseAnalyzer();
+    
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    private ExecutorService indexExecutor;
+    
+    /**
+     * 已应用的最后一个变更序号，没有检查点时为null；只在索引线程中修改
+     */
+    private volatile Long appliedChangeSeq;
+    
+    /**
+     * 已提交但还未执行的同步任务，多次通知合并为一次同步
+     */
+    private final AtomicBoolean syncPending = new AtomicBoolean();
+    
+    /**
+     * Redis不可用时未能写入变更日志的ISBN，定时同步时重试
+     */
+    private final Queue<List<String>> unpublishedChanges = new ConcurrentLinkedQueue<>();
+    
+    @PostConstruct
+    public void open() throws IOException {
+        Path indexPath = Paths.get(indexDir).toAbsolutePath();
+        Files.createDirectories(indexPath);
+        directory = new MMapDirectory(indexPath);
+        
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        indexWriter = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(indexWriter, null);
+        appliedChangeSeq = readCommittedChangeSeq();
+        
+        indexExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "book-search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+        logger.info("图书搜索索引已打开，目录：{}，文档数：{}，变更检查点：{}", 
+            indexPath, indexWriter.getDocStats().numDocs, appliedChangeSeq);
+    }
+    
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        indexExecutor.shutdown();
+        if (!indexExecutor.awaitTermination(60, TimeUnit.SECONDS)) {
+            logger.warn("等待索引线程结束超时，未应用的变更保留在Redis变更日志中，下次启动时从检查点{}继续同步", appliedChangeSeq);
+            indexExecutor.shutdownNow();
+        }
+        if (!unpublishedChanges.isEmpty()) {
+            logger.error("有{}批ISBN未能写入Redis变更日志，其他节点的索引不会包含这些变更，需要删除其索引目录后重启以全量重建", 
+                unpublishedChanges.size());
+        }
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+        analyzer.close();
+    }
+    
+    /**
+     * 启动完成后索引为空时全量构建，否则从检查点同步停机期间的变更（没有检查点时全量重建）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (indexWriter.getDocStats().numDocs == 0) {
+            indexExecutor.execute(this::rebuildQuietly);
+        } else {
+            requestSync();
+        }
+    }
+    
+    /**
+     * 导入完成后把本次写入的ISBN追加到变更日志并通知所有节点，本节点直接同步，不等待通知
+     */
+    @EventListener
+    public void onEbookImported(EbookImportedEvent event) {
+        if (event.getIsbns().isEmpty()) {
+            return;
+        }
+        
+        List<String> isbns = new ArrayList<>(event.getIsbns());
+        try {
+            publishChanges(isbns);
+            requestSync();
+        } catch (Exception e) {
+            // Redis不可用：本节点直接更新，ISBN留待重试写入变更日志后再通知其他节点
+            logger.error("写入索引变更日志失败，ISBN数：{}，本节点直接更新索引，错误详情：{}", isbns.size(), e.getMessage());
+            unpublishedChanges.add(isbns);
+            submit(() -> {
+                applyDocuments(isbns);
+                commit(null);
+            }, "增量更新图书搜索索引失败");
+        }
+    }
+    
+    /**
+     * 收到其他节点的变更通知
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        requestSync();
+    }
+    
+    /**
+     * 定时同步：重试之前未能写入变更日志的ISBN，并补齐错过通知的变更
+     */
+    @Scheduled(fixedDelayString = "${gdufe.search.lucene.sync-interval-millis:30000}",
+               initialDelayString = "${gdufe.search.lucene.sync-interval-millis:30000}")
+    public void syncPeriodically() {
+        List<String> isbns;
+        while ((isbns = unpublishedChanges.peek()) != null) {
+            try {
+                publishChanges(isbns);
+            } catch (Exception e) {
+                logger.warn("重试写入索引变更日志失败，待写入批次：{}，错误详情：{}", unpublishedChanges.size(), e.getMessage());
+                break;
+            }
+            unpublishedChanges.poll();
+        }
+        requestSync();
+    }
+    
+    /**
+     * 按每条记录不超过{@link #LOAD_BATCH_SIZE}个ISBN追加到变更日志，再通知所有节点
+     */
+    private void publishChanges(List<String> isbns) {
+        Long lastSeq = null;
+        for (int from = 0; from < isbns.size(); from += LOAD_BATCH_SIZE) {
+            String chunk = String.join(",", isbns.subList(from, Math.min(from + LOAD_BATCH_SIZE, isbns.size())));
+            lastSeq = redisTemplate.execute(APPEND_CHANGE_SCRIPT, List.of(CHANGE_LOG_KEY, CHANGE_SEQ_KEY),
+                String.valueOf(changeLogMaxLength), chunk);
+        }
+        redisTemplate.convertAndSend(CHANGE_CHANNEL, String.valueOf(lastSeq));
+    }
+    
+    /**
+     * 提交一次同步任务，已有任务在排队时不再重复提交
+     */
+    private void requestSync() {
+        if (syncPending.compareAndSet(false, true)) {
+            submit(() -> {
+                syncPending.set(false);
+                syncChanges();
+            }, "同步图书搜索索引变更失败");
+        }
+    }
+    
+    private void submit(IndexTask task, String errorMessage) {
+        try {
+            indexExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    logger.error("{}：{}", errorMessage, e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 正在关闭，未应用的变更在下次启动时从检查点继续同步
+            syncPending.set(false);
+        }
+    }
+    
+    /**
+     * 从检查点开始按序号顺序应用变更日志，每批记录应用后与新的检查点一起提交
+     */
+    private void syncChanges() throws IOException {
+        Long fromSeq = appliedChangeSeq;
+        long latestSeq = readLatestChangeSeq();
+        if (fromSeq == null || latestSeq < fromSeq) {
+            // 没有检查点（旧版本的索引或重建时Redis不可用），或Redis中的序号被重置
+            logger.warn("图书搜索索引的变更检查点无效（检查点：{}，最新序号：{}），全量重建", fromSeq, latestSeq);
+            rebuild(latestSeq);
+            return;
+        }
+        
+        while (appliedChangeSeq < latestSeq) {
+            long expectedSeq = appliedChangeSeq + 1;
+            List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().range(CHANGE_LOG_KEY,
+                Range.rightUnbounded(Range.Bound.exclusive(appliedChangeSeq + "-0")), Limit.limit().count(SYNC_BATCH_RECORDS));
+            if (records == null || records.isEmpty() || records.get(0).getId().getTimestamp() != expectedSeq) {
+                // 检查点之后的记录已被裁剪，无法补齐
+                logger.warn("图书搜索索引的变更日志不连续（检查点：{}，最新序号：{}），全量重建", appliedChangeSeq, latestSeq);
+                rebuild(latestSeq);
+                return;
+            }
+            
+            long startNanos = System.nanoTime();
+            Set<String> isbns = new LinkedHashSet<>();
+            long lastSeq = appliedChangeSeq;
+            for (MapRecord<String, Object, Object> record : records) {
+                if (record.getId().getTimestamp() != lastSeq + 1) {
+                    break;
+                }
+                lastSeq = record.getId().getTimestamp();
+                Object value = record.getValue().get(CHANGE_FIELD_ISBNS);
+                if (value != null) {
+                    isbns.addAll(Arrays.asList(value.toString().split(",")));
+                }
+            }
+            applyDocuments(new ArrayList<>(isbns));
+            commit(lastSeq);
+            logger.info("图书搜索索引已同步变更 - 序号：{}-{}，ISBN数：{}，耗时：{}ms",
+                expectedSeq, lastSeq, isbns.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        }
+    }
+    
+    private void rebuildQuietly() {
+        try {
+            rebuild(readLatestChangeSeqOrNull());
+        } catch (Exception e) {
+            logger.error("重建图书搜索索引失败：{}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 从数据库全量重建索引，提交前查询仍然使用旧索引
+     * 
+     * @param changeSeq 开始读取数据库前变更日志的最新序号，作为重建后的检查点；Redis不可用时为null，之后Redis可用时再重建一次
+     */
+    private void rebuild(Long changeSeq) throws IOException {
+        long startNanos = System.nanoTime();
+        logger.info("=== 开始重建图书搜索索引 ===");
+        
+        indexWriter.deleteAll();
+        long afterId = 0;
+        int indexedCount = 0;
+        while (true) {
+            List<GdufeLibraryEbookDO> ebooks = ebookMapper.selectIndexDocumentsAfterId(afterId, LOAD_BATCH_SIZE);
+            for (GdufeLibraryEbookDO ebook : ebooks) {
+                indexWriter.addDocument(toDocument(ebook));
+            }
+            indexedCount += ebooks.size();
+            if (ebooks.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+            afterId = ebooks.get(ebooks.size() - 1).getId();
+        }
+        commit(changeSeq);
+        
+        logger.info("=== 图书搜索索引重建完成 === 文档数：{}，变更检查点：{}，耗时：{}ms",
+            indexedCount, changeSeq, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+    
+    /**
+     * 提交索引并刷新查询
+     * 
+     * @param changeSeq 新的检查点，为null时不修改检查点
+     */
+    private void commit(Long changeSeq) throws IOException {
+        if (changeSeq != null) {
+            indexWriter.setLiveCommitData(Map.of(COMMIT_CHANGE_SEQ, String.valueOf(changeSeq)).entrySet());
+        }
+        indexWriter.commit();
+        searcherManager.maybeRefresh();
+        if (changeSeq != null) {
+            appliedChangeSeq = changeSeq;
+        }
+    }
+    
+    /**
+     * 读取上一次提交的检查点
+     */
+    private Long readCommittedChangeSeq() {
+        Iterable<Map.Entry<String, String>> commitData = indexWriter.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (COMMIT_CHANGE_SEQ.equals(entry.getKey())) {
+                    return Long.parseLong(entry.getValue());
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 变更日志的最新序号，还没有变更时为0
+     */
+    private long readLatestChangeSeq() {
+        String seq = redisTemplate.opsForValue().get(CHANGE_SEQ_KEY);
+        return seq == null ? 0 : Long.parseLong(seq);
+    }
+    
+    private Long readLatestChangeSeqOrNull() {
+        try {
+            return readLatestChangeSeq();
+        } catch (Exception e) {
+            logger.warn("读取索引变更日志序号失败，重建后不记录检查点：{}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 按ISBN从数据库重新读取并更新索引，已删除或不存在的图书从索引中移除（由调用方提交）
+     */
+    private void applyDocuments(List<String> isbns) throws IOException {
+        int updatedCount = 0;
+        int deletedCount = 0;
+        
+        for (int from = 0; from < isbns.size(); from += LOAD_BATCH_SIZE) {
+            List<String> chunk = isbns.subList(from, Math.min(from + LOAD_BATCH_SIZE, isbns.size()));
+            
+            // MySQL默认排序规则不区分大小写，ISBN末位的X/x按同一个处理
+            Set<String> missingIsbns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            missingIsbns.addAll(chunk);
+            for (GdufeLibraryEbookDO ebook : ebookMapper.selectIndexDocumentsByIsbns(chunk)) {
+                missingIsbns.remove(ebook.getBookIsbn());
+                Term isbnTerm = new Term(FIELD_ISBN, ebook.getBookIsbn());
+                if (ebook.getIsDeleted() != null && ebook.getIsDeleted() == 1) {
+                    indexWriter.deleteDocuments(isbnTerm);
+                    deletedCount++;
+                } else {
+                    indexWriter.updateDocument(isbnTerm, toDocument(ebook));
+                    updatedCount++;
+                }
+            }
+            for (String isbn : missingIsbns) {
+                indexWriter.deleteDocuments(new Term(FIELD_ISBN, isbn));
+                deletedCount++;
+            }
+        }
+        logger.debug("图书搜索索引增量更新 - 更新：{}，移除：{}", updatedCount, deletedCount);
+    }
+    
+    /**
+     * 在索引线程中执行的任务
+     */
+    @FunctionalInterface
+    private interface IndexTask {
+        void run() throws Exception;
+    }
+    
+    private static Document toDocument(GdufeLibraryEbookDO ebook) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ISBN, ebook.getBookIsbn(), Field.Store.YES));
+        addText(document, FIELD_NAME, ebook.getBookName());
+        addText(document, FIELD_AUTHOR, ebook.getBookAuthor());
+        addText(document, FIELD_PRESS, ebook.getBookPress());
+        addText(document, FIELD_INTRO, ebook.getBookBriefIntroduction());
+        if (ebook.getBookUrl() != null) {
+            document.add(new StoredField(FIELD_URL, ebook.getBookUrl()));
+        }
+        if (ebook.getBookPictureUrl() != null) {
+            document.add(new StoredField(FIELD_PICTURE_URL, ebook.getBookPictureUrl()));
+        }
+        if (ebook.getBookSource() != null) {
+            document.add(new StoredField(FIELD_SOURCE, ebook.getBookSource()));
+        }
+        return document;
+    }
+    
+    private static void addText(Document document, String field, String value) {
+        if (value != null && !value.isEmpty()) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+    
+    /**
+     * 多字段全文检索，按相关度分页返回，命中的词用&lt;em&gt;标签高亮
+     * 
+     * @param keyword 搜索关键词（按普通文本处理，不支持查询语法）
+     * @param page 页码（从1开始）
+     * @param size 每页大小
+     * @return 检索结果
+     */
+    public SearchPage search(String keyword, int page, int size) throws IOException {
+        Query query = buildQuery(keyword);
+        
+        // 最多收集到maxResultWindow条，超出部分不再翻页
+        int from = (page - 1) * size;
+        int windowSize = Math.min(from + size, maxResultWindow);
+        
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            List<SearchHit> hits = new ArrayList<>();
+            long total;
+            if (windowSize <= from) {
+                total = searcher.count(query);
+            } else {
+                TopDocs topDocs = searcher.search(query, windowSize);
+                // 命中数超过统计阈值时totalHits只是下限，需要单独计数
+                total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                    ? topDocs.totalHits.value
+                    : searcher.count(query);
+                
+                Map<String, Highlighter> highlighters = new LinkedHashMap<>();
+                for (String field : SEARCH_FIELDS) {
+                    highlighters.put(field, createHighlighter(query, field));
+                }
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = from; i < scoreDocs.length; i++) {
+                    Document document = searcher.storedFields().document(scoreDocs[i].doc);
+                    hits.add(toHit(document, scoreDocs[i].score, highlighters));
+                }
+            }
+            return new SearchPage(total, hits);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+    
+    /**
+     * 构建查询：关键词分词后在各字段中检索（每个词都要命中），另外ISBN精确匹配时排在最前
+     */
+    private Query buildQuery(String keyword) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer, FIELD_BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        try {
+            builder.add(parser.parse(QueryParserBase.escape(keyword)), BooleanClause.Occur.SHOULD);
+        } catch (ParseException e) {
+            // 关键词已转义，只有全部是停用词等情况才会解析失败
+            logger.debug("全文检索关键词解析失败：{}，原因：{}", keyword, e.getMessage());
+            builder.add(new MatchNoDocsQuery(), BooleanClause.Occur.SHOULD);
+        }
+        builder.add(new BoostQuery(new TermQuery(new Term(FIELD_ISBN, keyword)), ISBN_BOOST), BooleanClause.Occur.SHOULD);
+        return builder.build();
+    }
+    
+    private Highlighter createHighlighter(Query query, String field) {
+        Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"),
+            new SimpleHTMLEncoder(), new QueryScorer(query, field));
+        // 简介较长只取最相关的片段，其余字段整体高亮
+        highlighter.setTextFragmenter(FIELD_INTRO.equals(field) ? new SimpleFragmenter(fragmentSize) : new NullFragmenter());
+        return highlighter;
+    }
+    
+    private SearchHit toHit(Document document, float score, Map<String, Highlighter> highlighters) throws IOException {
+        SearchHit hit = new SearchHit();
+        hit.bookIsbn = document.get(FIELD_ISBN);
+        hit.bookName = document.get(FIELD_NAME);
+        hit.bookAuthor = document.get(FIELD_AUTHOR);
+        hit.bookPress = document.get(FIELD_PRESS);
+        hit.bookUrl = document.get(FIELD_URL);
+        hit.bookPictureUrl = document.get(FIELD_PICTURE_URL);
+        Number source = document.getField(FIELD_SOURCE) == null ? null : document.getField(FIELD_SOURCE).numericValue();
+        hit.bookSource = source == null ? null : source.intValue();
+        hit.score = score;
+        
+        for (Map.Entry<String, Highlighter> entry : highlighters.entrySet()) {
+            String text = document.get(entry.getKey());
+            if (text == null) {
+                continue;
+            }
+            try {
+                String fragment = entry.getValue().getBestFragment(analyzer, entry.getKey(), text);
+                if (fragment != null) {
+                    hit.highlights.put(entry.getKey(), fragment);
+                }
+            } catch (InvalidTokenOffsetsException e) {
+                logger.debug("生成高亮片段失败 - ISBN：{}，字段：{}", hit.bookIsbn, entry.getKey(), e);
+            }
+        }
+        return hit;
+    }
+    
+    /**
+     * 检索结果
+     */
+    public static class SearchPage {
+        private final long total;
+        private final List<SearchHit> hits;
+        
+        SearchPage(long total, List<SearchHit> hits) {
+            this.total = total;
+            this.hits = hits;
+        }
+        
+        public long getTotal() {
+            return total;
+        }
+        
+        public List<SearchHit> getHits() {
+            return hits;
+        }
+    }
+    
+    /**
+     * 单条命中结果
+     */
+    public static class SearchHit {
+        private String bookIsbn;
+        private String bookName;
+        private String bookAuthor;
+        private String bookPress;
+        private String bookUrl;
+        private String bookPictureUrl;
+        private Integer bookSource;
+        private float score;
+        // 字段名 -> 高亮片段（HTML转义后用<em>标记命中的词）
+        private final Map<String, String> highlights = new LinkedHashMap<>();
+        
+        public String getBookIsbn() { return bookIsbn; }
+        public String getBookName() { return bookName; }
+        public String getBookAuthor() { return bookAuthor; }
+        public String getBookPress() { return bookPress; }
+        public String getBookUrl() { return bookUrl; }
+        public String getBookPictureUrl() { return bookPictureUrl; }
+        public Integer getBookSource() { return bookSource; }
+        public float getScore() { return score; }
+        public Map<String, String> getHighlights() { return highlights; }
+    }
+}
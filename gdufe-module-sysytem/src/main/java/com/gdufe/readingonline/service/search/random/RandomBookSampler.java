@@ -0,0 +1,257 @@
+package com.gdufe.readingonline.service.search.random;
+
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.dal.mysqlmapper.GdufeLibraryEbookMapper;
+import com.gdufe.readingonline.service.excelUploadAndPrase.EbookImportedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 随机图书抽样器
+ * 在内存中保存所有未删除图书的主键（总表和按主分类分组），抽样时用ThreadLocalRandom随机选取主键，
+ * 再按主键查询图书，每次抽样只需一次主键查询，代替对整张表排序的ORDER BY RAND()
+ * 
+ * 主键快照定时刷新，导入新数据后在下一次检查时刷新
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Component
+public class RandomBookSampler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RandomBookSampler.class);
+    
+    /**
+     * 加载主键快照时每次查询的记录数
+     */
+    private static final int LOAD_BATCH_SIZE = 10000;
+    
+    /**
+     * 多抽取的比例，用于补足快照刷新前已被删除的图书
+     */
+    private static final int OVERSAMPLE_FACTOR = 2;
+    
+    @Autowired
+    private GdufeLibraryEbookMapper ebookMapper;
+    
+    /**
+     * 主键快照的刷新间隔（秒）
+     */
+    @Value("${gdufe.search.random.refresh-seconds:600}")
+    private long refreshSeconds;
+    
+    private volatile IdSnapshot snapshot;
+    
+    /**
+     * 导入新数据后置为true，下一次检查时刷新
+     */
+    private volatile boolean stale;
+    
+    /**
+     * 保证同一时间只有一个线程加载快照；加载时需要查询数据库，用ReentrantLock代替synchronized，避免虚拟线程占住载体线程
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+    
+    /**
+     * 随机抽取图书
+     * 
+     * @param category 图书主分类（为null时从全部图书中抽取）
+     * @param sampleSize 抽取数量
+     * @return 随机图书列表（只包含列表展示需要的字段），图书不足时返回全部
+     */
+    public List<GdufeLibraryEbookDO> sample(Integer category, int sampleSize) {
+        IdSnapshot current = snapshot;
+        if (current == null) {
+            current = loadIfAbsent();
+        }
+        
+        long[] ids = category == null ? current.allIds : current.idsByCategory.getOrDefault(category, new long[0]);
+        List<Long> sampledIds = pickDistinct(ids, sampleSize * OVERSAMPLE_FACTOR);
+        if (sampledIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // IN查询不保证顺序，按抽取顺序排列，使多抽取的部分随机地被截掉
+        Map<Long, GdufeLibraryEbookDO> booksById = new HashMap<>();
+        for (GdufeLibraryEbookDO book : ebookMapper.selectRandomSampleByIds(sampledIds)) {
+            booksById.put(book.getId(), book);
+        }
+        List<GdufeLibraryEbookDO> books = new ArrayList<>(sampleSize);
+        for (Long id : sampledIds) {
+            GdufeLibraryEbookDO book = booksById.get(id);
+            if (book != null) {
+                books.add(book);
+                if (books.size() >= sampleSize) {
+                    break;
+                }
+            }
+        }
+        return books;
+    }
+    
+    /**
+     * 从数组中不重复地随机选取count个元素（数组元素不足时全部返回，顺序随机）
+     */
+    private static List<Long> pickDistinct(long[] ids, int count) {
+        int n = ids.length;
+        if (n == 0) {
+            return new ArrayList<>();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> picked = new ArrayList<>(Math.min(n, count));
+        if (count >= n / 2) {
+            // 抽取数量接近总数时复制后部分洗牌
+            long[] copy = Arrays.copyOf(ids, n);
+            int limit = Math.min(n, count);
+            for (int i = 0; i < limit; i++) {
+                int j = random.nextInt(i, n);
+                long tmp = copy[i];
+                copy[i] = copy[j];
+                copy[j] = tmp;
+                picked.add(copy[i]);
+            }
+            return picked;
+        }
+        // 抽取数量远小于总数时随机下标去重，期望只需count次左右
+        Set<Integer> usedIndexes = new HashSet<>();
+        while (picked.size() < count) {
+            int index = random.nextInt(n);
+            if (usedIndexes.add(index)) {
+                picked.add(ids[index]);
+            }
+        }
+        return picked;
+    }
+    
+    /**
+     * 导入新数据后标记快照过期（只更新封面图时不影响主键集合）
+     */
+    @EventListener
+    public void onEbookImported(EbookImportedEvent event) {
+        if (!event.isCoverOnly()) {
+            stale = true;
+        }
+    }
+    
+    /**
+     * 定时检查快照，过期或超过刷新间隔时重新加载
+     */
+    @Scheduled(fixedDelayString = "${gdufe.search.random.check-interval-millis:30000}",
+               initialDelayString = "${gdufe.search.random.check-interval-millis:30000}")
+    public void refreshIfNeeded() {
+        IdSnapshot current = snapshot;
+        if (current == null || stale || System.currentTimeMillis() - current.loadedAt >= refreshSeconds * 1000) {
+            try {
+                refresh();
+            } catch (Exception e) {
+                logger.error("刷新随机抽样主键快照失败：{}", e.getMessage(), e);
+            }
+        }
+    }
+    
+    /**
+     * 首次抽样时同步加载快照，并发请求只加载一次
+     */
+    private IdSnapshot loadIfAbsent() {
+        loadLock.lock();
+        try {
+            IdSnapshot current = snapshot;
+            return current != null ? current : refresh();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+    
+    /**
+     * 按主键顺序分批加载所有未删除图书的主键和主分类
+     */
+    private IdSnapshot refresh() {
+        loadLock.lock();
+        try {
+            return doRefresh();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+    
+    private IdSnapshot doRefresh() {
+        long startNanos = System.nanoTime();
+        stale = false;
+        
+        LongArrayBuilder allIds = new LongArrayBuilder();
+        Map<Integer, LongArrayBuilder> idsByCategory = new HashMap<>();
+        long afterId = 0;
+        while (true) {
+            List<GdufeLibraryEbookDO> rows = ebookMapper.selectLiveIdsAfterId(afterId, LOAD_BATCH_SIZE);
+            for (GdufeLibraryEbookDO row : rows) {
+                allIds.add(row.getId());
+                if (row.getBookPrimaryClassification() != null) {
+                    idsByCategory.computeIfAbsent(row.getBookPrimaryClassification(), key -> new LongArrayBuilder())
+                        .add(row.getId());
+                }
+            }
+            if (rows.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+        
+        Map<Integer, long[]> categoryIds = new HashMap<>();
+        idsByCategory.forEach((category, builder) -> categoryIds.put(category, builder.toArray()));
+        IdSnapshot loaded = new IdSnapshot(allIds.toArray(), categoryIds, System.currentTimeMillis());
+        snapshot = loaded;
+        
+        logger.info("随机抽样主键快照已刷新 - 图书数：{}，分类数：{}，耗时：{}ms",
+            loaded.allIds.length, categoryIds.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        return loaded;
+    }
+    
+    /**
+     * 主键快照，创建后不再修改
+     */
+    private static class IdSnapshot {
+        private final long[] allIds;
+        private final Map<Integer, long[]> idsByCategory;
+        private final long loadedAt;
+        
+        IdSnapshot(long[] allIds, Map<Integer, long[]> idsByCategory, long loadedAt) {
+            this.allIds = allIds;
+            this.idsByCategory = idsByCategory;
+            this.loadedAt = loadedAt;
+        }
+    }
+    
+    /**
+     * long数组构建器，避免加载时装箱
+     */
+    private static class LongArrayBuilder {
+        private long[] values = new long[1024];
+        private int size;
+        
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.gdufe.readingonline.service.topic;
+
+/**
+ * 图书专题变更事件
+ * 创建或更新专题时发布，事务提交后刷新最近专题列表
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+public class TopicChangedEvent {
+    
+    /**
+     * 变更的专题ID
+     */
+    private final Long topicId;
+    
+    public TopicChangedEvent(Long topicId) {
+        this.topicId = topicId;
+    }
+    
+    public Long getTopicId() {
+        return topicId;
+    }
+}
@@ -1,5 +1,6 @@
 package com.gdufe.readingonline.service.topic;
 
+import com.gdufe.readingonline.controller.admin.vo.TopicBriefVO;
 import com.gdufe.readingonline.controller.admin.vo.TopicCreateRequestVO;
 import com.gdufe.readingonline.controller.admin.vo.TopicCreateResponseVO;
 import com.gdufe.readingonline.controller.admin.vo.TopicDetailResponseVO;
@@ -39,6 +40,13 @@ public interface TopicService {
      */
     List<TopicListItemVO> getRecentTopics();
     
+    /**
+     * 获取最近发布的专题精简列表（不包含HTML文本，用于列表页）
+     * 
+     * @return 专题精简列表
+     */
+    List<TopicBriefVO> getRecentTopicBriefs();
+    
     /**
      * 更新图书专题
      * 
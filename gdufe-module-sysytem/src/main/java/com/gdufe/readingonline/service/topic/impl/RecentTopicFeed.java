@@ -0,0 +1,230 @@
+package com.gdufe.readingonline.service.topic.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdufe.readingonline.controller.admin.vo.TopicBriefVO;
+import com.gdufe.readingonline.controller.admin.vo.TopicListItemVO;
+import com.gdufe.readingonline.dal.dataobject.GdufeTopicEbookDO;
+import com.gdufe.readingonline.dal.mysqlmapper.GdufeTopicEbookMapper;
+import com.gdufe.readingonline.service.topic.TopicChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 最近专题列表
+ * 预先生成最近发布的专题列表，保存在内存和Redis中，查询时不访问数据库；
+ * 只在创建或更新专题的事务提交后重新生成，并通过Redis发布/订阅通知其他节点从Redis重新加载
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Component
+public class RecentTopicFeed implements MessageListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RecentTopicFeed.class);
+    
+    private static final String FEED_KEY = "gdufe:topic:recent";
+    private static final String REFRESH_CHANNEL = "gdufe:topic:recent:refresh";
+    
+    private static final TypeReference<List<TopicListItemVO>> FEED_TYPE = new TypeReference<>() {};
+    
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    @Autowired
+    private GdufeTopicEbookMapper topicEbookMapper;
+    
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+    
+    /**
+     * 最近专题列表的条数
+     */
+    @Value("${gdufe.topic.recent-size:4}")
+    private int recentSize;
+    
+    /**
+     * 当前列表快照，为null时在下一次查询时加载
+     */
+    private volatile Feed feed;
+    
+    /**
+     * 加载和重新生成列表时加锁；锁内要访问Redis和数据库，用ReentrantLock代替synchronized，避免虚拟线程占住载体线程
+     */
+    private final ReentrantLock feedLock = new ReentrantLock();
+    
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(REFRESH_CHANNEL));
+    }
+    
+    /**
+     * 获取最近专题列表（包含HTML文本）
+     */
+    public List<TopicListItemVO> getTopics() {
+        return currentFeed().topics;
+    }
+    
+    /**
+     * 获取最近专题精简列表（不包含HTML文本）
+     */
+    public List<TopicBriefVO> getBriefs() {
+        return currentFeed().briefs;
+    }
+    
+    private Feed currentFeed() {
+        Feed current = feed;
+        return current != null ? current : load();
+    }
+    
+    /**
+     * 首次查询时加载：优先从Redis读取，Redis中没有时从数据库生成
+     */
+    private Feed load() {
+        feedLock.lock();
+        try {
+            if (feed != null) {
+                return feed;
+            }
+            Feed loaded = readFromRedis();
+            if (loaded == null) {
+                loaded = rebuild();
+            } else {
+                feed = loaded;
+            }
+            return loaded;
+        } finally {
+            feedLock.unlock();
+        }
+    }
+    
+    /**
+     * 专题创建或更新的事务提交后重新生成
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTopicChanged(TopicChangedEvent event) {
+        try {
+            rebuild();
+            redisTemplate.convertAndSend(REFRESH_CHANNEL, String.valueOf(event.getTopicId()));
+        } catch (Exception e) {
+            // 生成失败时清空快照，下一次查询时重新加载
+            feed = null;
+            logger.error("刷新最近专题列表失败，专题ID：{}，错误详情：{}", event.getTopicId(), e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 收到其他节点的刷新通知，从Redis重新加载
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        // 读取失败时清空快照，下一次查询时重新加载
+        feed = readFromRedis();
+    }
+    
+    /**
+     * 从数据库生成列表，并写入内存和Redis
+     */
+    private Feed rebuild() {
+        feedLock.lock();
+        try {
+            return doRebuild();
+        } finally {
+            feedLock.unlock();
+        }
+    }
+    
+    private Feed doRebuild() {
+        // 只查询未删除的专题，按创建时间倒序排序
+        QueryWrapper<GdufeTopicEbookDO> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("is_deleted", 0)
+                   .orderByDesc("create_time")
+                   .last("LIMIT " + recentSize);
+        List<GdufeTopicEbookDO> topicDOList = topicEbookMapper.selectList(queryWrapper);
+        
+        List<TopicListItemVO> topics = new ArrayList<>();
+        for (GdufeTopicEbookDO topicDO : topicDOList) {
+            TopicListItemVO itemVO = new TopicListItemVO();
+            itemVO.setTopicId(topicDO.getId());
+            itemVO.setTopicTitle(topicDO.getBookTopicTitle());
+            itemVO.setTopicBriefIntroduction(topicDO.getBookTopicBriefIntroduction());
+            itemVO.setTopicCategory(topicDO.getBookTopicCatagory());
+            itemVO.setHtmlContent(topicDO.getBookTopicHtml());
+            // 使用创建时间作为发布时间
+            if (topicDO.getCreateTime() != null) {
+                itemVO.setPublishTime(topicDO.getCreateTime().format(TIME_FORMATTER));
+            }
+            if (topicDO.getEndTime() != null) {
+                itemVO.setEndTime(topicDO.getEndTime().format(TIME_FORMATTER));
+            }
+            topics.add(itemVO);
+        }
+        
+        Feed rebuilt = new Feed(topics);
+        feed = rebuilt;
+        try {
+            redisTemplate.opsForValue().set(FEED_KEY, objectMapper.writeValueAsString(topics));
+        } catch (Exception e) {
+            logger.warn("写入最近专题列表缓存失败：{}", e.getMessage());
+        }
+        logger.info("最近专题列表已重新生成，共{}条", topics.size());
+        return rebuilt;
+    }
+    
+    private Feed readFromRedis() {
+        try {
+            String cached = redisTemplate.opsForValue().get(FEED_KEY);
+            return cached == null ? null : new Feed(objectMapper.readValue(cached, FEED_TYPE));
+        } catch (Exception e) {
+            logger.warn("读取最近专题列表缓存失败：{}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 列表快照，创建后不再修改
+     */
+    private static class Feed {
+        private final List<TopicListItemVO> topics;
+        private final List<TopicBriefVO> briefs;
+        
+        Feed(List<TopicListItemVO> topics) {
+            List<TopicBriefVO> briefList = new ArrayList<>(topics.size());
+            for (TopicListItemVO topic : topics) {
+                TopicBriefVO brief = new TopicBriefVO();
+                brief.setTopicId(topic.getTopicId());
+                brief.setTopicTitle(topic.getTopicTitle());
+                brief.setTopicBriefIntroduction(topic.getTopicBriefIntroduction());
+                brief.setTopicCategory(topic.getTopicCategory());
+                brief.setPublishTime(topic.getPublishTime());
+                brief.setEndTime(topic.getEndTime());
+                briefList.add(brief);
+            }
+            this.topics = Collections.unmodifiableList(topics);
+            this.briefs = Collections.unmodifiableList(briefList);
+        }
+    }
+}
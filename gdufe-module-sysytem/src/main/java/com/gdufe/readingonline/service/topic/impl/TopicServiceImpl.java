@@ -2,6 +2,7 @@ package com.gdufe.readingonline.service.topic.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.gdufe.readingonline.controller.admin.vo.TopicBriefVO;
 import com.gdufe.readingonline.controller.admin.vo.TopicCreateRequestVO;
 import com.gdufe.readingonline.controller.admin.vo.TopicCreateResponseVO;
 import com.gdufe.readingonline.controller.admin.vo.TopicDetailResponseVO;
@@ -9,16 +10,17 @@ import com.gdufe.readingonline.controller.admin.vo.TopicListItemVO;
 import com.gdufe.readingonline.controller.admin.vo.TopicUpdateRequestVO;
 import com.gdufe.readingonline.dal.dataobject.GdufeTopicEbookDO;
 import com.gdufe.readingonline.dal.mysqlmapper.GdufeTopicEbookMapper;
+import com.gdufe.readingonline.service.topic.TopicChangedEvent;
 import com.gdufe.readingonline.service.topic.TopicService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -35,6 +37,12 @@ public class TopicServiceImpl implements TopicService {
     @Autowired
     private GdufeTopicEbookMapper topicEbookMapper;
     
+    @Autowired
+    private RecentTopicFeed recentTopicFeed;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * 创建图书专题
      * 
@@ -64,6 +72,7 @@ public class TopicServiceImpl implements TopicService {
             
             if (insertResult > 0) {
                 logger.info("图书专题创建成功，专题ID：{}", topicDO.getId());
+                eventPublisher.publishEvent(new TopicChangedEvent(topicDO.getId()));
                 
                 // 构建响应对象
                 TopicCreateResponseVO responseVO = new TopicCreateResponseVO();
@@ -141,54 +150,18 @@ public class TopicServiceImpl implements TopicService {
      */
     @Override
     public List<TopicListItemVO> getRecentTopics() {
-        try {
-            logger.info("开始查询最近发布的专题列表");
-            
-            // 构建查询条件：只查询未删除的专题，按创建时间倒序排序，限制4条
-            QueryWrapper<GdufeTopicEbookDO> queryWrapper = new QueryWrapper<>();
-            queryWrapper.eq("is_deleted", 0) // 只查询未删除的专题
-                       .orderByDesc("create_time") // 按创建时间倒序排序
-                       .last("LIMIT 4"); // 限制返回4条记录
-            
-            // 查询数据库
-            List<GdufeTopicEbookDO> topicDOList = topicEbookMapper.selectList(queryWrapper);
-            
-            logger.info("查询到{}条专题记录", topicDOList != null ? topicDOList.size() : 0);
-            
-            // 转换为VO列表
-            List<TopicListItemVO> resultList = new ArrayList<>();
-            if (topicDOList != null && !topicDOList.isEmpty()) {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-                
-                for (GdufeTopicEbookDO topicDO : topicDOList) {
-                    TopicListItemVO itemVO = new TopicListItemVO();
-                    itemVO.setTopicId(topicDO.getId());
-                    itemVO.setTopicTitle(topicDO.getBookTopicTitle());
-                    itemVO.setTopicBriefIntroduction(topicDO.getBookTopicBriefIntroduction());
-                    itemVO.setTopicCategory(topicDO.getBookTopicCatagory());
-                    itemVO.setHtmlContent(topicDO.getBookTopicHtml());
-                    
-                    // 格式化发布时间（使用创建时间作为发布时间）
-                    if (topicDO.getCreateTime() != null) {
-                        itemVO.setPublishTime(topicDO.getCreateTime().format(formatter));
-                    }
-                    
-                    // 格式化结束时间
-                    if (topicDO.getEndTime() != null) {
-                        itemVO.setEndTime(topicDO.getEndTime().format(formatter));
-                    }
-                    
-                    resultList.add(itemVO);
-                }
-            }
-            
-            logger.info("最近专题列表查询成功，返回{}条记录", resultList.size());
-            return resultList;
-            
-        } catch (Exception e) {
-            logger.error("查询最近专题列表时发生异常：{}", e.getMessage(), e);
-            throw new RuntimeException("查询最近专题列表失败：" + e.getMessage());
-        }
+        // 列表在专题创建或更新后预先生成，查询时不访问数据库
+        return recentTopicFeed.getTopics();
+    }
+    
+    /**
+     * 获取最近发布的专题精简列表（不包含HTML文本）
+     * 
+     * @return 专题精简列表
+     */
+    @Override
+    public List<TopicBriefVO> getRecentTopicBriefs() {
+        return recentTopicFeed.getBriefs();
     }
     
     /**
@@ -233,6 +206,7 @@ public class TopicServiceImpl implements TopicService {
             
             if (updateResult > 0) {
                 logger.info("图书专题更新成功，专题ID：{}", requestVO.getTopicId());
+                eventPublisher.publishEvent(new TopicChangedEvent(requestVO.getTopicId()));
                 return true;
             } else {
                 logger.error("图书专题更新失败，数据库更新返回0，专题ID：{}", requestVO.getTopicId());
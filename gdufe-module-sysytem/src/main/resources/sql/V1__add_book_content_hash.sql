@@ -0,0 +1,4 @@
+-- 电子书内容指纹：导入内容字段的MD5，重复导入时跳过内容未变化的记录
+-- 已有数据的指纹为空，下一次导入时按内容有变化处理并补齐指纹
+ALTER TABLE gdufe_library_ebook
+    ADD COLUMN book_content_hash CHAR(32) NULL COMMENT '内容指纹（导入内容字段的MD5）' AFTER book_source;
@@ -0,0 +1,5 @@
+-- 书名全文索引：使用ngram分词器支持中文书名检索，替代LIKE '%关键字%'的全表扫描
+-- ngram_token_size默认为2，需与配置项gdufe.search.ngram-token-size一致
+-- 该索引在启用停用词时会丢失包含停用词的英文词元，由V4关闭停用词后重建
+ALTER TABLE gdufe_library_ebook
+    ADD FULLTEXT INDEX ft_book_name (book_name) WITH PARSER ngram;
@@ -0,0 +1,3 @@
+-- 分类浏览的游标分页索引：按(主分类, 是否删除, 主键)顺序扫描，每页只需一次索引范围扫描，不再随页码增大而变慢
+ALTER TABLE gdufe_library_ebook
+    ADD INDEX idx_book_category_id (book_primary_classification, is_deleted, id);
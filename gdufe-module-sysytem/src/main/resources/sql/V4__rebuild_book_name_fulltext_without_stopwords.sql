@@ -0,0 +1,12 @@
+-- 关闭停用词后重建书名全文索引
+-- ngram分词器会丢弃包含停用词的词元：InnoDB默认停用词表中有a、i、in、on、to等短单词，ngram_token_size=2时
+-- "Java"切分出的ja、av、va都包含停用词a而全部被丢弃，英文书名和包含英文的关键字查不到结果
+-- 停用词设置在建立全文索引时与索引绑定，因此先在当前会话关闭停用词，再删除并重新建立索引
+-- 以后重建该索引时同样需要先关闭停用词，建议在MySQL配置中设置innodb_ft_enable_stopword=OFF
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+ALTER TABLE gdufe_library_ebook
+    DROP INDEX ft_book_name;
+
+ALTER TABLE gdufe_library_ebook
+    ADD FULLTEXT INDEX ft_book_name (book_name) WITH PARSER ngram;
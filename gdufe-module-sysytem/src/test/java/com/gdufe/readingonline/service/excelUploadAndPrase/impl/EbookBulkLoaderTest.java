@@ -0,0 +1,159 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 电子书批量装载器测试
+ * 在真实的MySQL上验证LOAD DATA LOCAL装入临时表、按ISBN合并、同一ISBN以最后一行为准、装入警告的处理，
+ * 以及驱动只允许读取上传临时目录下的文件
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class EbookBulkLoaderTest {
+    
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+        .withCommand("--local-infile=1")
+        .withInitScript("sql/gdufe_library_ebook.sql");
+    
+    @TempDir
+    Path spoolDirectory;
+    
+    private EbookBulkLoader loader;
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+        Properties connectionProperties = new Properties();
+        connectionProperties.setProperty("allowLoadLocalInfileInPath", spoolDirectory.toString());
+        dataSource.setConnectionProperties(connectionProperties);
+        loader = new EbookBulkLoader();
+        ReflectionTestUtils.setField(loader, "dataSource", dataSource);
+        ReflectionTestUtils.setField(loader, "uploadSpoolDirectory", spoolDirectory);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE TABLE gdufe_library_ebook");
+    }
+    
+    @Test
+    void loadsStagingFileAndMergesByIsbn() throws Exception {
+        jdbcTemplate.update("INSERT INTO gdufe_library_ebook (book_name, book_ISBN, is_deleted) VALUES ('旧书名', '9787111111111', 0)");
+        
+        GdufeLibraryEbookDO updated = ebook("9787111111111", "新书名");
+        updated.setBookBriefIntroduction("第一行\n第二行\t制表符\\反斜杠");
+        updated.setBookPublicationTime(LocalDate.of(2024, 2, 29));
+        updated.setBookPrimaryClassification(9);
+        GdufeLibraryEbookDO inserted = ebook("9787222222222", "另一本书");
+        inserted.setBookAuthor(null);
+        
+        EbookBulkLoader.BulkLoadResult result = load(updated, inserted);
+        
+        assertThat(result.getLoadedRows()).isEqualTo(2);
+        // 新增记1，更新记2
+        assertThat(result.getAffectedRows()).isEqualTo(3);
+        assertThat(result.getRejectedRows()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM gdufe_library_ebook", Integer.class)).isEqualTo(2);
+        
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+            "SELECT book_name, book_brief_introduction, book_publication_time, book_primary_classification "
+                + "FROM gdufe_library_ebook WHERE book_ISBN = '9787111111111'");
+        assertThat(row.get("book_name")).isEqualTo("新书名");
+        assertThat(row.get("book_brief_introduction")).isEqualTo("第一行\n第二行\t制表符\\反斜杠");
+        assertThat(row.get("book_publication_time").toString()).isEqualTo("2024-02-29");
+        assertThat(row.get("book_primary_classification")).isEqualTo(9);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT book_author FROM gdufe_library_ebook WHERE book_ISBN = '9787222222222'", String.class)).isNull();
+    }
+    
+    @Test
+    void lastDuplicateIsbnWins() throws Exception {
+        jdbcTemplate.update("INSERT INTO gdufe_library_ebook (book_name, book_ISBN, is_deleted) VALUES ('已有', '978711111111X', 0)");
+        
+        // ISBN末位大小写不同也是同一条记录（默认排序规则不区分大小写）
+        EbookBulkLoader.BulkLoadResult result = load(
+            ebook("978711111111X", "第一次"),
+            ebook("9787333333333", "只出现一次"),
+            ebook("978711111111x", "第二次"),
+            ebook("978711111111X", "第三次"));
+        
+        assertThat(result.getLoadedRows()).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT book_name FROM gdufe_library_ebook WHERE book_ISBN = '978711111111X'", String.class))
+            .containsExactly("第三次");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM gdufe_library_ebook", Integer.class)).isEqualTo(2);
+    }
+    
+    @Test
+    void rejectsRowsWithLoadWarnings() throws Exception {
+        // 书名超过VARCHAR(500)，LOAD DATA LOCAL截断后照常装入并产生警告
+        EbookBulkLoader.BulkLoadResult result = load(
+            ebook("9787111111111", "正常的书"),
+            ebook("9787222222222", "长".repeat(600)),
+            ebook("9787333333333", "另一本正常的书"));
+        
+        assertThat(result.getLoadedRows()).isEqualTo(2);
+        List<EbookBulkLoader.RejectedRow> rejectedRows = result.getRejectedRows();
+        assertThat(rejectedRows).hasSize(1);
+        assertThat(rejectedRows.get(0).fileRow()).isEqualTo(2);
+        assertThat(rejectedRows.get(0).isbn()).isEqualTo("9787222222222");
+        assertThat(rejectedRows.get(0).warning()).contains("book_name");
+        assertThat(jdbcTemplate.queryForList("SELECT book_ISBN FROM gdufe_library_ebook ORDER BY book_ISBN", String.class))
+            .containsExactly("9787111111111", "9787333333333");
+    }
+    
+    @Test
+    void refusesFilesOutsideSpoolDirectory(@TempDir Path otherDirectory) throws Exception {
+        ReflectionTestUtils.setField(loader, "uploadSpoolDirectory", otherDirectory);
+        
+        assertThatThrownBy(() -> load(ebook("9787111111111", "书名"))).isInstanceOf(SQLException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM gdufe_library_ebook", Integer.class)).isZero();
+    }
+    
+    private EbookBulkLoader.BulkLoadResult load(GdufeLibraryEbookDO... ebooks) throws Exception {
+        EbookBulkLoader.StagingFile stagingFile = loader.createStagingFile();
+        try {
+            for (GdufeLibraryEbookDO ebook : ebooks) {
+                stagingFile.append(ebook);
+            }
+            return loader.load(stagingFile);
+        } finally {
+            stagingFile.delete();
+        }
+    }
+    
+    private static GdufeLibraryEbookDO ebook(String isbn, String name) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        GdufeLibraryEbookDO ebook = new GdufeLibraryEbookDO();
+        ebook.setBookIsbn(isbn);
+        ebook.setBookName(name);
+        ebook.setBookAuthor("作者");
+        ebook.setBookPress("出版社");
+        ebook.setBookSource(1);
+        ebook.setIsDeleted(0);
+        ebook.setCreateTime(now);
+        ebook.setUpdateTime(now);
+        return ebook;
+    }
+}
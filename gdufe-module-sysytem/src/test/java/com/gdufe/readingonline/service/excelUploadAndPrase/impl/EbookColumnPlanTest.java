@@ -0,0 +1,139 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportMetrics;
+import com.gdufe.readingonline.service.excelUploadAndPrase.reader.ExcelSheetRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 电子书表格列计划测试
+ * 按畅想之星和京东两种表格格式编译列顺序打乱、缺少部分列的标题行，验证各字段的列号和解析出的电子书字段
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+class EbookColumnPlanTest {
+    
+    private final ExcelParseServiceImpl parser = new ExcelParseServiceImpl();
+    private final List<String> issues = new ArrayList<>();
+    private final EbookColumnPlan.FieldIssueListener issueListener =
+        (rowNumber, reason, detail) -> issues.add(rowNumber + ":" + reason + ":" + detail);
+    
+    @Test
+    void compilesReorderedChangxiangHeaderWithMissingColumns() {
+        // 缺少中图法分类、URL、学科分类，多出一列备注
+        EbookColumnPlan plan = parser.parseChangxiangHeaderRow(
+            row(0, "出版时间", "ISBN", "简介", "备注", "主题名", "第二责任者", "出版社", "第一责任者"));
+        
+        assertThat(plan.getIsbnColumn()).isEqualTo(1);
+        assertThat(plan.hasBookNameColumn()).isTrue();
+        // 按表格格式中声明字段的顺序排列
+        assertThat(headers(plan)).containsExactly("第一责任者", "第二责任者", "出版社", "简介", "出版时间");
+        assertThat(columns(plan)).containsExactly(7, 5, 6, 2, 0);
+        
+        GdufeLibraryEbookDO ebook = parser.parseEbookRow(
+            row(3, "2024年3月5日", "9787111111111", "一本书的简介", "忽略", "经济学原理", "李四", "出版社甲", "张三"),
+            "9787111111111", plan, issueListener);
+        
+        assertThat(ebook.getBookName()).isEqualTo("经济学原理");
+        assertThat(ebook.getBookIsbn()).isEqualTo("9787111111111");
+        // 第二责任者声明在第一责任者之后，合并到作者
+        assertThat(ebook.getBookAuthor()).isEqualTo("张三;李四");
+        assertThat(ebook.getBookPress()).isEqualTo("出版社甲");
+        assertThat(ebook.getBookBriefIntroduction()).isEqualTo("一本书的简介");
+        assertThat(ebook.getBookPublicationTime()).isEqualTo(LocalDate.of(2024, 3, 5));
+        assertThat(ebook.getBookChineseLibraryClassification()).isNull();
+        assertThat(ebook.getBookUrl()).isNull();
+        assertThat(ebook.getBookSubjectClassification()).isNull();
+        assertThat(ebook.getBookSource()).isZero();
+        assertThat(ebook.getBookContentHash()).hasSize(32);
+        assertThat(issues).isEmpty();
+    }
+    
+    @Test
+    void mapsChangxiangRowWithEmptyCells() {
+        EbookColumnPlan plan = parser.parseChangxiangHeaderRow(row(0, "主题名", "ISBN", "第一责任者", "第二责任者", "出版时间"));
+        
+        GdufeLibraryEbookDO ebook = parser.parseEbookRow(row(1, "书名", "9787111111111", " ", "李四", "不详"),
+            "9787111111111", plan, issueListener);
+        
+        // 第一责任者为空时第二责任者作为作者，无法解析的出版时间忽略
+        assertThat(ebook.getBookAuthor()).isEqualTo("李四");
+        assertThat(ebook.getBookPublicationTime()).isNull();
+        assertThat(parser.parseEbookRow(row(2, null, "9787222222222"), "9787222222222", plan, issueListener)).isNull();
+    }
+    
+    @Test
+    void compilesReorderedJingdongHeaderWithMissingColumns() throws IOException {
+        // 缺少出版社、二级分类、URL链接，没有ISBN列
+        EbookColumnPlan plan = parser.parseJingdongHeaderRow(row(0, "简介", "一级分类", "书名", "出版时间", "著者"));
+        
+        assertThat(plan.getIsbnColumn()).isEqualTo(EbookColumnPlan.MISSING);
+        assertThat(headers(plan)).containsExactly("著者", "一级分类", "出版时间", "简介");
+        assertThat(columns(plan)).containsExactly(4, 1, 3, 0);
+        
+        GdufeLibraryEbookDO known = parser.parseEbookRow(row(1, "简介内容", "计算机", "算法导论", "2024/2/29", "作者甲"),
+            "9787111111111", plan, issueListener);
+        GdufeLibraryEbookDO unknown = parser.parseEbookRow(row(2, null, "未知分类", "另一本书", "45292", null),
+            "9787222222222", plan, issueListener);
+        
+        assertThat(known.getBookName()).isEqualTo("算法导论");
+        assertThat(known.getBookAuthor()).isEqualTo("作者甲");
+        assertThat(known.getBookPrimaryClassification()).isEqualTo(9);
+        assertThat(known.getBookPublicationTime()).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(known.getBookBriefIntroduction()).isEqualTo("简介内容");
+        assertThat(known.getBookPress()).isNull();
+        assertThat(known.getBookSecondaryClassification()).isNull();
+        assertThat(known.getBookUrl()).isNull();
+        assertThat(known.getBookSource()).isEqualTo(1);
+        
+        assertThat(unknown.getBookPrimaryClassification()).isZero();
+        assertThat(unknown.getBookPublicationTime()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(unknown.getBookAuthor()).isNull();
+        // Excel行号从1开始
+        assertThat(issues).containsExactly("3:" + ImportMetrics.REASON_CATEGORY_UNKNOWN + ":一级分类=未知分类");
+    }
+    
+    @Test
+    void usesLastColumnWhenJingdongHeaderRepeats() throws IOException {
+        EbookColumnPlan plan = parser.parseJingdongHeaderRow(row(0, "ISBN", "书名", "出版社", "二级分类", "出版社"));
+        
+        assertThat(plan.getIsbnColumn()).isZero();
+        assertThat(headers(plan)).containsExactly("出版社", "二级分类");
+        assertThat(columns(plan)).containsExactly(4, 3);
+        
+        GdufeLibraryEbookDO ebook = parser.parseEbookRow(row(1, "9787111111111", "书名", "旧出版社", "数据库", "新出版社"),
+            "9787111111111", plan, issueListener);
+        assertThat(ebook.getBookPress()).isEqualTo("新出版社");
+        assertThat(ebook.getBookSecondaryClassification()).isEqualTo("数据库");
+    }
+    
+    @Test
+    void rejectsHeaderWithoutBookName() {
+        assertThatThrownBy(() -> parser.parseChangxiangHeaderRow(row(0, "ISBN", "书名", "出版社")))
+            .isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> parser.parseJingdongHeaderRow(row(0, "ISBN", "主题名", "出版社")))
+            .isInstanceOf(IOException.class);
+    }
+    
+    private static ExcelSheetRow row(int rowNum, String... cellValues) {
+        return new ExcelSheetRow(rowNum, cellValues);
+    }
+    
+    private static String[] headers(EbookColumnPlan plan) {
+        return (String[]) ReflectionTestUtils.getField(plan, "headers");
+    }
+    
+    private static int[] columns(EbookColumnPlan plan) {
+        return (int[]) ReflectionTestUtils.getField(plan, "columns");
+    }
+}
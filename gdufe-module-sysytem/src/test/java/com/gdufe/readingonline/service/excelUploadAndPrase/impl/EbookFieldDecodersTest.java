@@ -0,0 +1,128 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 电子书字段解码函数测试
+ * 验证各种日期格式和Excel序列号的解析、不存在的日期、分类名称和带符号的分类数字，
+ * 以及无法解析的输入返回null或UNKNOWN_CATEGORY而不抛出异常
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+class EbookFieldDecodersTest {
+    
+    @Test
+    void parsesSupportedDateFormats() {
+        assertThat(EbookFieldDecoders.parseDate("2024-3-5")).isEqualTo(LocalDate.of(2024, 3, 5));
+        assertThat(EbookFieldDecoders.parseDate("2024-03-05")).isEqualTo(LocalDate.of(2024, 3, 5));
+        assertThat(EbookFieldDecoders.parseDate("2024/3/5")).isEqualTo(LocalDate.of(2024, 3, 5));
+        assertThat(EbookFieldDecoders.parseDate("2024/12/31")).isEqualTo(LocalDate.of(2024, 12, 31));
+        assertThat(EbookFieldDecoders.parseDate("2024.3.5")).isEqualTo(LocalDate.of(2024, 3, 5));
+        assertThat(EbookFieldDecoders.parseDate("2024.03.15")).isEqualTo(LocalDate.of(2024, 3, 15));
+        assertThat(EbookFieldDecoders.parseDate("2024年3月5日")).isEqualTo(LocalDate.of(2024, 3, 5));
+        assertThat(EbookFieldDecoders.parseDate("2024年11月25日")).isEqualTo(LocalDate.of(2024, 11, 25));
+    }
+    
+    @Test
+    void rejectsDatesThatDoNotExist() {
+        assertThat(EbookFieldDecoders.parseDate("2024-2-29")).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(EbookFieldDecoders.parseDate("2023-2-29")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024-2-30")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024/4/31")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024年13月1日")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024.0.10")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024-1-0")).isNull();
+    }
+    
+    @Test
+    void parsesExcelSerialsWithinBounds() {
+        assertThat(EbookFieldDecoders.parseDate("45292")).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(EbookFieldDecoders.parseDate("45292.5")).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(EbookFieldDecoders.parseDate("10000")).isEqualTo(LocalDate.of(1927, 5, 18));
+        assertThat(EbookFieldDecoders.parseDate("2958465")).isEqualTo(LocalDate.of(9999, 12, 31));
+        
+        assertThat(EbookFieldDecoders.parseDate("9999")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2958466")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("99999999")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("45292.5x")).isNull();
+    }
+    
+    @Test
+    void returnsNullForGarbageOrEmptyDates() {
+        assertThat(EbookFieldDecoders.parseDate(null)).isNull();
+        assertThat(EbookFieldDecoders.parseDate("")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("未知")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024-")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024-3")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024-3/5")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024-3-5 10:00")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024年3月5")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("24-3-5")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("2024-123-5")).isNull();
+        assertThat(EbookFieldDecoders.parseDate("２０２４-3-5")).isNull();
+    }
+    
+    @Test
+    void ignoresUnparseablePublishDate() {
+        GdufeLibraryEbookDO ebook = new GdufeLibraryEbookDO();
+        
+        EbookFieldDecoders.decodePublishDate(ebook, "2024年3月5日");
+        EbookFieldDecoders.decodePublishDate(ebook, "不详");
+        
+        assertThat(ebook.getBookPublicationTime()).isEqualTo(LocalDate.of(2024, 3, 5));
+    }
+    
+    @Test
+    void convertsNumericCategoriesWithSign() {
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("9")).isEqualTo(9);
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("+9")).isEqualTo(9);
+        assertThat(EbookFieldDecoders.convertCategoryToInteger(" 22 ")).isEqualTo(22);
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("0")).isZero();
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("-0")).isZero();
+        
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("-3")).isEqualTo(EbookFieldDecoders.UNKNOWN_CATEGORY);
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("23")).isEqualTo(EbookFieldDecoders.UNKNOWN_CATEGORY);
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("+")).isEqualTo(EbookFieldDecoders.UNKNOWN_CATEGORY);
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("9.0")).isEqualTo(EbookFieldDecoders.UNKNOWN_CATEGORY);
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("99999999999")).isEqualTo(EbookFieldDecoders.UNKNOWN_CATEGORY);
+    }
+    
+    @Test
+    void convertsCategoryNames() {
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("空白")).isZero();
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("计算机")).isEqualTo(9);
+        assertThat(EbookFieldDecoders.convertCategoryToInteger(" 经济管理 ")).isEqualTo(6);
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("互联网+")).isEqualTo(21);
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("影视原著")).isEqualTo(22);
+        
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("不存在的分类")).isEqualTo(EbookFieldDecoders.UNKNOWN_CATEGORY);
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("计算机类")).isEqualTo(EbookFieldDecoders.UNKNOWN_CATEGORY);
+    }
+    
+    @Test
+    void treatsEmptyCategoryAsBlank() {
+        assertThat(EbookFieldDecoders.convertCategoryToInteger(null)).isZero();
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("")).isZero();
+        assertThat(EbookFieldDecoders.convertCategoryToInteger("   ")).isZero();
+    }
+    
+    @Test
+    void decodesUnknownPrimaryCategoryAsBlankWithReason() {
+        GdufeLibraryEbookDO known = new GdufeLibraryEbookDO();
+        GdufeLibraryEbookDO unknown = new GdufeLibraryEbookDO();
+        
+        assertThat(EbookFieldDecoders.decodePrimaryCategory(known, "计算机")).isNull();
+        assertThat(EbookFieldDecoders.decodePrimaryCategory(unknown, "???")).isEqualTo(ImportMetrics.REASON_CATEGORY_UNKNOWN);
+        
+        assertThat(known.getBookPrimaryClassification()).isEqualTo(9);
+        assertThat(unknown.getBookPrimaryClassification()).isZero();
+    }
+}
@@ -0,0 +1,46 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportProgress;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 电子书导入流水线测试
+ * 验证写入线程池中途拒绝任务时，已启动的写入线程能够退出
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+class EbookImportPipelineTest {
+    
+    @Test
+    void stopsStartedWritersWhenExecutorRejects() throws InterruptedException {
+        List<Thread> writers = new ArrayList<>();
+        // 只接受前两个写入任务
+        Executor executor = task -> {
+            if (writers.size() == 2) {
+                throw new RejectedExecutionException("写入线程池已满");
+            }
+            Thread writer = new Thread(task);
+            writers.add(writer);
+            writer.start();
+        };
+        
+        assertThatThrownBy(() -> new EbookImportPipeline(executor, 3, 1, 10,
+            (batch, batchNo) -> new EbookImportPipeline.BatchWriteResult(batch.size(), 0), new ImportProgress()))
+            .isInstanceOf(RejectedExecutionException.class);
+        
+        assertThat(writers).hasSize(2);
+        for (Thread writer : writers) {
+            writer.join(5000);
+            assertThat(writer.isAlive()).isFalse();
+        }
+    }
+}
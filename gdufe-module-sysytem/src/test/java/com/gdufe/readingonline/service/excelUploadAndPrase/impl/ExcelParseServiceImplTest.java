@@ -0,0 +1,108 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.impl;
+
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.dal.mysqlmapper.GdufeLibraryEbookMapper;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportDiagnostics;
+import com.gdufe.readingonline.service.excelUploadAndPrase.ImportMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Excel导入服务测试
+ * 验证批次写入时按内容指纹区分新增、变化和未变化的记录
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@ExtendWith(MockitoExtension.class)
+class ExcelParseServiceImplTest {
+    
+    @Mock
+    private GdufeLibraryEbookMapper ebookMapper;
+    
+    @Mock
+    private ImportMetrics importMetrics;
+    
+    @InjectMocks
+    private ExcelParseServiceImpl excelParseService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(excelParseService, "writeMode", "multi-values");
+    }
+    
+    @Test
+    void skipsActiveBookWithUnchangedContent() {
+        when(ebookMapper.selectContentHashes(any())).thenReturn(List.of(existing("9787111111111", "hash", 0)));
+        
+        EbookImportPipeline.BatchWriteResult result = writeBatch(ebook("9787111111111", "hash"));
+        
+        assertThat(result.getUnchangedCount()).isEqualTo(1);
+        assertThat(result.getUpdatedCount()).isZero();
+        verify(ebookMapper, never()).batchInsertOrUpdate(anyList());
+    }
+    
+    @Test
+    void restoresSoftDeletedBookWithUnchangedContent() {
+        when(ebookMapper.selectContentHashes(any())).thenReturn(List.of(existing("9787111111111", "hash", 1)));
+        GdufeLibraryEbookDO ebook = ebook("9787111111111", "hash");
+        
+        EbookImportPipeline.BatchWriteResult result = writeBatch(ebook);
+        
+        assertThat(result.getUnchangedCount()).isZero();
+        assertThat(result.getUpdatedCount()).isEqualTo(1);
+        assertThat(result.getWrittenIsbns()).containsExactly("9787111111111");
+        verify(ebookMapper).batchInsertOrUpdate(List.of(ebook));
+    }
+    
+    @Test
+    void comparesHashesRegardlessOfIsbnCase() {
+        when(ebookMapper.selectContentHashes(any())).thenReturn(List.of(
+            existing("978711111111X", "hash", 0),
+            existing("9787222222222", "old", 0)));
+        GdufeLibraryEbookDO changed = ebook("9787222222222", "new");
+        GdufeLibraryEbookDO created = ebook("9787333333333", "hash");
+        
+        EbookImportPipeline.BatchWriteResult result = writeBatch(ebook("978711111111x", "hash"), changed, created);
+        
+        assertThat(result.getUnchangedCount()).isEqualTo(1);
+        assertThat(result.getUpdatedCount()).isEqualTo(1);
+        assertThat(result.getCreatedCount()).isEqualTo(1);
+        verify(ebookMapper).batchInsertOrUpdate(List.of(changed, created));
+    }
+    
+    private EbookImportPipeline.BatchWriteResult writeBatch(GdufeLibraryEbookDO... ebooks) {
+        return ReflectionTestUtils.invokeMethod(excelParseService, "writeEbookBatch", List.of(ebooks), 1, new ImportDiagnostics());
+    }
+    
+    private static GdufeLibraryEbookDO existing(String isbn, String contentHash, int isDeleted) {
+        GdufeLibraryEbookDO existing = new GdufeLibraryEbookDO();
+        existing.setBookIsbn(isbn);
+        existing.setBookContentHash(contentHash);
+        existing.setIsDeleted(isDeleted);
+        return existing;
+    }
+    
+    private static GdufeLibraryEbookDO ebook(String isbn, String contentHash) {
+        GdufeLibraryEbookDO ebook = new GdufeLibraryEbookDO();
+        ebook.setBookIsbn(isbn);
+        ebook.setBookName("书名");
+        ebook.setBookContentHash(contentHash);
+        ebook.setIsDeleted(0);
+        return ebook;
+    }
+}
@@ -0,0 +1,90 @@
+package com.gdufe.readingonline.service.excelUploadAndPrase.reader;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 临时文件存储的共享字符串表测试
+ * 验证读出的字符串与POI的ReadOnlySharedStringsTable一致，以及通过ExcelWorkbook按行读取的结果
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+class FileBackedSharedStringsTest {
+    
+    private static final String LONG_TEXT = "简介".repeat(16000);
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void matchesPoiReadOnlyTable() throws Exception {
+        Path path = writeWorkbook();
+        
+        try (OPCPackage pkg = OPCPackage.open(path.toFile(), PackageAccess.READ);
+             FileBackedSharedStrings sharedStrings = new FileBackedSharedStrings(pkg)) {
+            ReadOnlySharedStringsTable expected = new ReadOnlySharedStringsTable(pkg);
+            
+            assertThat(sharedStrings.getCount()).isEqualTo(expected.getCount());
+            assertThat(sharedStrings.getUniqueCount()).isEqualTo(expected.getUniqueCount());
+            for (int i = 0; i < expected.getUniqueCount(); i++) {
+                assertThat(sharedStrings.getItemAt(i).getString()).isEqualTo(expected.getItemAt(i).getString());
+            }
+            assertThatThrownBy(() -> sharedStrings.getItemAt(expected.getUniqueCount()))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+    
+    @Test
+    void readsSheetRowsThroughWorkbook() throws Exception {
+        Path path = writeWorkbook();
+        List<ExcelSheetRow> rows = new ArrayList<>();
+        
+        try (ExcelWorkbook workbook = new ExcelWorkbook(path, "books.xlsx", null)) {
+            workbook.readSheet(0, rows::add);
+        }
+        
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).getCellValue(0)).isEqualTo("书名");
+        assertThat(rows.get(0).getCellValue(1)).isEqualTo("ISBN");
+        assertThat(rows.get(1).getCellValue(0)).isEqualTo("经济学原理");
+        assertThat(rows.get(1).getCellValue(1)).isEqualTo("9787111111111");
+        assertThat(rows.get(1).getCellValue(2)).isEqualTo(LONG_TEXT);
+        assertThat(rows.get(2).getCellValue(0)).isEqualTo("经济学原理");
+        assertThat(rows.get(2).getCellValue(1)).isEqualTo("Economics");
+    }
+    
+    private Path writeWorkbook() throws Exception {
+        Path path = directory.resolve("books.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream output = Files.newOutputStream(path)) {
+            Sheet sheet = workbook.createSheet("图书");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("书名");
+            header.createCell(1).setCellValue("ISBN");
+            Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue("经济学原理");
+            first.createCell(1).setCellValue("9787111111111");
+            first.createCell(2).setCellValue(LONG_TEXT);
+            Row second = sheet.createRow(2);
+            second.createCell(0).setCellValue("经济学原理");
+            second.createCell(1).setCellValue("Economics");
+            workbook.write(output);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,186 @@
+package com.gdufe.readingonline.service.search.cache;
+
+import com.gdufe.readingonline.dal.dataobject.GdufeLibraryEbookDO;
+import com.gdufe.readingonline.service.excelUploadAndPrase.EbookImportedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * 图书详情缓存测试
+ * 在真实的Redis上验证read-through、空标记及其有效期、导入后按ISBN（不区分大小写）失效，以及Redis不可用时直接查询数据库
+ * 
+ * @author gdufe
+ * @date 2025
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BookDetailCacheTest {
+    
+    private static final long TTL_SECONDS = 3600;
+    private static final long NEGATIVE_TTL_SECONDS = 1;
+    
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+    
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private BookDetailCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        connectionFactory = connectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        cache = cache(redisTemplate);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+    
+    @Test
+    void readsThroughAndServesLaterReadsFromRedis() {
+        CountingLoader loader = new CountingLoader(book("9787111111111", 0));
+        
+        GdufeLibraryEbookDO first = cache.get("9787111111111", 0, loader);
+        GdufeLibraryEbookDO second = cache.get("9787111111111", 0, loader);
+        
+        assertThat(loader.calls.get()).isEqualTo(1);
+        assertThat(first.getBookName()).isEqualTo("书名");
+        assertThat(second.getBookName()).isEqualTo("书名");
+        assertThat(second.getBookPublicationTime()).isEqualTo(LocalDate.of(2024, 2, 29));
+        // 有效期随机增加最多10%
+        assertThat(redisTemplate.getExpire("gdufe:book:detail:9787111111111:0", TimeUnit.SECONDS))
+            .isBetween(TTL_SECONDS - 5, TTL_SECONDS + TTL_SECONDS / 10);
+    }
+    
+    @Test
+    void cachesNotFoundMarkerUntilItExpires() throws InterruptedException {
+        CountingLoader loader = new CountingLoader(null);
+        
+        assertThat(cache.get("9787000000000", 1, loader)).isNull();
+        assertThat(cache.get("9787000000000", 1, loader)).isNull();
+        assertThat(loader.calls.get()).isEqualTo(1);
+        assertThat(redisTemplate.opsForValue().get("gdufe:book:detail:9787000000000:1")).isEmpty();
+        assertThat(redisTemplate.getExpire("gdufe:book:detail:9787000000000:1", TimeUnit.MILLISECONDS))
+            .isBetween(1L, NEGATIVE_TTL_SECONDS * 1000);
+        
+        Thread.sleep(NEGATIVE_TTL_SECONDS * 1000 + 500);
+        assertThat(cache.get("9787000000000", 1, loader)).isNull();
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+    
+    @Test
+    void invalidatesImportedIsbnsRegardlessOfCaseAndSource() {
+        CountingLoader lowerCaseLoader = new CountingLoader(book("978711111111X", 0));
+        CountingLoader otherSourceLoader = new CountingLoader(null);
+        CountingLoader untouchedLoader = new CountingLoader(book("9787222222222", 0));
+        cache.get("978711111111x", 0, lowerCaseLoader);
+        cache.get("978711111111X", 1, otherSourceLoader);
+        cache.get("9787222222222", 0, untouchedLoader);
+        
+        cache.onEbookImported(new EbookImportedEvent(List.of("978711111111X"), false));
+        
+        cache.get("978711111111x", 0, lowerCaseLoader);
+        cache.get("978711111111X", 1, otherSourceLoader);
+        cache.get("9787222222222", 0, untouchedLoader);
+        assertThat(lowerCaseLoader.calls.get()).isEqualTo(2);
+        assertThat(otherSourceLoader.calls.get()).isEqualTo(2);
+        assertThat(untouchedLoader.calls.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void fallsBackToDatabaseWhenRedisIsDown() throws IOException {
+        LettuceConnectionFactory unreachable = connectionFactory("127.0.0.1", unusedPort());
+        try {
+            BookDetailCache unreachableCache = cache(new StringRedisTemplate(unreachable));
+            CountingLoader loader = new CountingLoader(book("9787111111111", 0));
+            
+            assertThat(unreachableCache.get("9787111111111", 0, loader).getBookName()).isEqualTo("书名");
+            assertThat(unreachableCache.get("9787111111111", 0, loader).getBookName()).isEqualTo("书名");
+            assertThat(loader.calls.get()).isEqualTo(2);
+            assertThatCode(() -> unreachableCache.onEbookImported(new EbookImportedEvent(List.of("9787111111111"), false)))
+                .doesNotThrowAnyException();
+        } finally {
+            unreachable.destroy();
+        }
+    }
+    
+    private static BookDetailCache cache(StringRedisTemplate redisTemplate) {
+        BookDetailCache cache = new BookDetailCache();
+        ReflectionTestUtils.setField(cache, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(cache, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", TTL_SECONDS);
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", NEGATIVE_TTL_SECONDS);
+        return cache;
+    }
+    
+    private static LettuceConnectionFactory connectionFactory(String host, int port) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port),
+            LettuceClientConfiguration.builder().commandTimeout(Duration.ofSeconds(2)).build());
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+    
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+    
+    private static GdufeLibraryEbookDO book(String isbn, int source) {
+        GdufeLibraryEbookDO book = new GdufeLibraryEbookDO();
+        book.setId(1L);
+        book.setBookIsbn(isbn);
+        book.setBookName("书名");
+        book.setBookSource(source);
+        book.setBookPublicationTime(LocalDate.of(2024, 2, 29));
+        return book;
+    }
+    
+    /**
+     * 记录查询数据库次数的加载函数
+     */
+    private static class CountingLoader implements Supplier<GdufeLibraryEbookDO> {
+        private final GdufeLibraryEbookDO book;
+        private final AtomicInteger calls = new AtomicInteger();
+        
+        CountingLoader(GdufeLibraryEbookDO book) {
+            this.book = book;
+        }
+        
+        @Override
+        public GdufeLibraryEbookDO get() {
+            calls.incrementAndGet();
+            return book;
+        }
+    }
+}
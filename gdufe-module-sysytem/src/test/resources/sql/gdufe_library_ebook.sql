@@ -0,0 +1,22 @@
+-- 测试用电子书表：与线上表结构一致，包含V1新增的内容指纹列
+CREATE TABLE gdufe_library_ebook (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    book_name VARCHAR(500),
+    book_ISBN VARCHAR(64) NOT NULL,
+    book_author VARCHAR(500),
+    book_press VARCHAR(255),
+    book_publication_time DATE,
+    book_url VARCHAR(1000),
+    book_brief_introduction TEXT,
+    book_chinese_library_classification VARCHAR(255),
+    book_subject_classification VARCHAR(255),
+    book_primary_classification INT DEFAULT 0,
+    book_secondary_classification VARCHAR(255),
+    book_picture_url VARCHAR(1000),
+    book_source INT,
+    book_content_hash CHAR(32) NULL,
+    is_deleted INT DEFAULT 0,
+    update_time DATETIME,
+    create_time DATETIME,
+    UNIQUE KEY uk_book_isbn (book_ISBN)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;